@@ -34,6 +34,7 @@ export interface Submission {
   points: number;
   submittedAt: Date;
   code?: string;
+  hasCode?: boolean; // List endpoints only report whether a code was assigned
   status?: string; // PENDING, COMPLETED, etc.
 }
 
@@ -110,11 +111,12 @@ function mapApiResolutionToSubmission(apiResolution: ApiResolution): Submission
   return {
     id: apiResolution.id.toString(),
     studentId: apiResolution.studentId.toString(),
-    activityId: apiResolution.exercise?.activityId?.toString() || '',
+    activityId: (apiResolution.activityId ?? apiResolution.exercise?.activityId)?.toString() || '',
     exerciseId: apiResolution.exerciseId.toString(),
     points: apiResolution.pointsAwarded || 0,
     submittedAt: new Date(apiResolution.submittedAt),
     code: apiResolution.code,
+    hasCode: apiResolution.hasCode ?? !!apiResolution.code,
     status: apiResolution.status || 'PENDING', // Default to PENDING if status is missing
   };
 }
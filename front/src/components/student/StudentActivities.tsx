@@ -26,7 +26,7 @@ export function StudentActivities() {
   
   // Find pending resolutions with codes assigned by professor
   const pendingResolutionsWithCode = mySubmissions.filter(s => 
-    s.code && s.code.length > 0 && s.points > 0 && 
+    s.hasCode && s.points > 0 && 
     !mySubmissions.some(sub => 
       sub.exerciseId === s.exerciseId && 
       sub.activityId === s.activityId && 
@@ -53,8 +53,7 @@ export function StudentActivities() {
         return s.exerciseId === selectedExerciseId && 
                activityMatches &&
                s.status === 'PENDING' &&
-               s.code &&
-               s.code.length > 0 &&
+               s.hasCode &&
                s.points > 0;
       });
 
@@ -189,7 +188,7 @@ export function StudentActivities() {
       
       // Also check if exercise matches and has code
       const exerciseMatches = s.exerciseId === exerciseId;
-      const hasCode = s.code && s.code.length > 0;
+      const hasCode = s.hasCode;
       const hasPoints = s.points > 0;
       const isPending = s.status === 'PENDING';
       
@@ -282,8 +281,7 @@ export function StudentActivities() {
                         return activityMatches &&
                           s.exerciseId === exercise.id &&
                           s.status === 'PENDING' &&
-                          s.code && 
-                          s.code.length > 0 && 
+                          s.hasCode && 
                           s.points > 0;
                       }) : null;
 
@@ -379,8 +377,7 @@ export function StudentActivities() {
                   return activityMatches &&
                     s.exerciseId === selectedExerciseId &&
                     s.status === 'PENDING' &&
-                    s.code && 
-                    s.code.length > 0 && 
+                    s.hasCode && 
                     s.points > 0;
                 });
                 return pending ? "Validar Código" : "Entregar Ejercicio";
@@ -397,8 +394,7 @@ export function StudentActivities() {
                   return activityMatches &&
                     s.exerciseId === selectedExerciseId &&
                     s.status === 'PENDING' &&
-                    s.code && 
-                    s.code.length > 0 && 
+                    s.hasCode && 
                     s.points > 0;
                 });
                 return pending ? (
@@ -439,8 +435,7 @@ export function StudentActivities() {
                     return activityMatches &&
                       s.exerciseId === selectedExerciseId &&
                       s.status === 'PENDING' &&
-                      s.code && 
-                      s.code.length > 0 && 
+                      s.hasCode && 
                       s.points > 0;
                   });
                   return pending ? (
@@ -463,8 +458,7 @@ export function StudentActivities() {
                     return activityMatches &&
                       s.exerciseId === selectedExerciseId &&
                       s.status === 'PENDING' &&
-                      s.code && 
-                      s.code.length > 0 && 
+                      s.hasCode && 
                       s.points > 0;
                   });
                   return pending ? handleValidateCode : handleSubmitCode;
@@ -482,8 +476,7 @@ export function StudentActivities() {
                   return activityMatches &&
                     s.exerciseId === selectedExerciseId &&
                     s.status === 'PENDING' &&
-                    s.code && 
-                    s.code.length > 0 && 
+                    s.hasCode && 
                     s.points > 0;
                 });
                 return pending ? "Validar Código" : "Confirmar Entrega";
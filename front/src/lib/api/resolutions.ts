@@ -10,6 +10,8 @@ export interface Resolution {
   attemptNo: number;
   submittedAt: string;
   code?: string;
+  hasCode?: boolean;
+  activityId?: number;
   student?: any;
   exercise?: any;
   awardedByProfessor?: any;
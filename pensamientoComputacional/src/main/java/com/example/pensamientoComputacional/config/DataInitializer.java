@@ -6,6 +6,7 @@ import com.example.pensamientoComputacional.model.entities.User;
 import com.example.pensamientoComputacional.repository.ProfessorRepository;
 import com.example.pensamientoComputacional.repository.RoleRepository;
 import com.example.pensamientoComputacional.repository.UserRepository;
+import com.example.pensamientoComputacional.service.IResolutionService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +45,12 @@ public class DataInitializer {
         };
     }
 
+    @Bean
+    public CommandLineRunner backfillResolutionCodeHashes(IResolutionService resolutionService) {
+        // Rows stored before code_hash existed cannot be redeemed by code until hashed
+        return args -> resolutionService.backfillCodeHashes();
+    }
+
     private void setPasswordAndRole(UserRepository userRepository,
                                     RoleRepository roleRepository,
                                     ProfessorRepository professorRepository,
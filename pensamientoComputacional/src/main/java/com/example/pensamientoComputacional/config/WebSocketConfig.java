@@ -1,19 +1,70 @@
 package com.example.pensamientoComputacional.config;
 
+import com.example.pensamientoComputacional.security.StompAuthChannelInterceptor;
+import com.example.pensamientoComputacional.service.ScoreboardEncoding;
+import com.example.pensamientoComputacional.service.WebSocketMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private WebSocketMetrics webSocketMetrics;
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Autowired
+    private ScoreboardEncoding scoreboardEncoding;
+
+    @Value("${app.websocket.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${app.websocket.inbound.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+
+    @Value("${app.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
+        // Delivers to this node's sessions only; ScoreboardFanout shares scoreboard topics across nodes
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        // The outbound channel runs on a pool: keep each session's frames in publish order so
+        // clients do not see sequence gaps that are only reorderings
+        config.setPreservePublishOrder(true);
     }
 
     @Override
@@ -22,5 +73,40 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "ws-inbound-", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity);
+        registration.interceptors(stompAuthChannelInterceptor, scoreboardEncoding.inboundInterceptor(),
+                webSocketMetrics.inboundInterceptor());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "ws-outbound-", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity);
+        registration.interceptors(scoreboardEncoding.outboundInterceptor(), webSocketMetrics.outboundInterceptor());
+    }
+
+    // A session whose sends block longer than the time limit, or whose buffer outgrows the
+    // size limit, is closed so one slow client cannot hold up a broadcast to everyone else
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(webSocketMetrics::decorate)
+                .addDecoratorFactory(scoreboardEncoding::decorate);
+    }
+
+    private void configureExecutor(ChannelRegistration registration, String threadNamePrefix,
+                                   int corePoolSize, int maxPoolSize, int queueCapacity) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor(threadNamePrefix));
+            return;
+        }
+        registration.taskExecutor()
+                .corePoolSize(corePoolSize)
+                .maxPoolSize(maxPoolSize)
+                .queueCapacity(queueCapacity);
+    }
+}
@@ -9,6 +9,8 @@ import com.example.pensamientoComputacional.model.entities.User;
 import com.example.pensamientoComputacional.repository.ActivityRepository;
 import com.example.pensamientoComputacional.repository.GroupRepository;
 import com.example.pensamientoComputacional.repository.ProfessorRepository;
+import com.example.pensamientoComputacional.service.ActivityGroupCache;
+import com.example.pensamientoComputacional.service.ActivityLeaderboardService;
 import com.example.pensamientoComputacional.service.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -50,6 +52,12 @@ public class ActivityRestController {
     @Autowired
     private IUserService userService;
 
+    @Autowired
+    private ActivityLeaderboardService activityLeaderboardService;
+
+    @Autowired
+    private ActivityGroupCache activityGroupCache;
+
     @GetMapping
     @Operation(summary = "Obtener todas las actividades", description = "Retorna una lista de todas las actividades")
     @ApiResponses(value = {
@@ -189,6 +197,8 @@ public class ActivityRestController {
                     }
 
                     Activity updatedActivity = activityRepository.save(existingActivity);
+                    activityLeaderboardService.onActivityUpdated(updatedActivity);
+                    activityGroupCache.evict(updatedActivity.getId());
                     return ResponseEntity.ok(activityMapper.entityToDto(updatedActivity));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -208,6 +218,8 @@ public class ActivityRestController {
             return ResponseEntity.notFound().build();
         }
         activityRepository.deleteById(id);
+        activityLeaderboardService.evict(id);
+        activityGroupCache.evict(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -28,6 +28,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -85,7 +86,7 @@ public class AuthRestController {
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             User user = userService.findByEmail(loginRequest.getEmail());
-            String token = tokenProvider.generateToken(user);
+            String token = tokenProvider.generateToken(user, findGroupIds(user));
 
             String refreshToken = tokenProvider.generateRefreshToken(user);
 
@@ -175,7 +176,7 @@ public class AuthRestController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            String newAccessToken = tokenProvider.generateToken(user);
+            String newAccessToken = tokenProvider.generateToken(user, findGroupIds(user));
             String newRefreshToken = tokenProvider.generateRefreshToken(user);
 
             TokenRefreshResponse response = new TokenRefreshResponse(
@@ -211,6 +212,16 @@ public class AuthRestController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
     
+    /**
+     * Ids of the groups the user is actively enrolled in or assigned to teach, carried in the
+     * access token so WebSocket subscriptions can be authorized without a database lookup
+     */
+    private List<Long> findGroupIds(User user) {
+        List<Long> groupIds = new ArrayList<>(studentEnrollmentRepository.findActiveGroupIdsByStudentId(user.getId()));
+        groupIds.addAll(professorAssignmentRepository.findGroupIdsByProfessorId(user.getId()));
+        return groupIds.stream().distinct().toList();
+    }
+
     /**
      * Enriches UserDto with group information from StudentEnrollment or ProfessorAssignment
      */
@@ -1,109 +1,186 @@
 package com.example.pensamientoComputacional.controller.rest;
 
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardDto;
+import com.example.pensamientoComputacional.model.dto.RankHistoryDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardSnapshotDto;
 import com.example.pensamientoComputacional.model.dto.StudentDto;
-import com.example.pensamientoComputacional.model.entities.Resolution;
-import com.example.pensamientoComputacional.model.entities.Student;
-import com.example.pensamientoComputacional.mapper.StudentMapper;
-import com.example.pensamientoComputacional.repository.ResolutionRepository;
-import com.example.pensamientoComputacional.repository.StudentRepository;
+import com.example.pensamientoComputacional.model.dto.StudentRankDto;
+import com.example.pensamientoComputacional.service.ActivityAccessService;
+import com.example.pensamientoComputacional.service.ActivityLeaderboardService;
+import com.example.pensamientoComputacional.service.LeaderboardResponseCache;
+import com.example.pensamientoComputacional.service.LeaderboardService;
+import com.example.pensamientoComputacional.service.RankHistoryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/leaderboard")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED})
 @Tag(name = "Leaderboard", description = "Tablero de clasificación")
 @SecurityRequirement(name = "bearerAuth")
 public class LeaderboardRestController {
 
     @Autowired
-    private StudentRepository studentRepository;
+    private LeaderboardService leaderboardService;
 
     @Autowired
-    private StudentMapper studentMapper;
+    private ActivityLeaderboardService activityLeaderboardService;
 
     @Autowired
-    private ResolutionRepository resolutionRepository;
+    private RankHistoryService rankHistoryService;
 
-    @GetMapping("/group/{groupName}")
-    @Operation(summary = "Obtener leaderboard por grupo", description = "Retorna el top 5 de estudiantes de un grupo específico")
+    @Autowired
+    private LeaderboardResponseCache leaderboardResponseCache;
+
+    @Autowired
+    private ActivityAccessService activityAccessService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping(value = "/group/{groupName}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Obtener leaderboard por grupo", description = "Retorna el top N (por defecto 5) de estudiantes de un grupo específico por sus puntos de los semestres no archivados, o por sus puntos totales con includeArchived=true. Responde 304 si If-None-Match coincide con la versión actual")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Leaderboard obtenido exitosamente"),
+            @ApiResponse(responseCode = "200", description = "Leaderboard obtenido exitosamente",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = StudentDto.class)))),
+            @ApiResponse(responseCode = "304", description = "El leaderboard no cambió desde la versión indicada"),
             @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<List<StudentDto>> getGroupLeaderboard(@PathVariable String groupName) {
-        // Get all students in the group
-        List<Student> students = studentRepository.findAll().stream()
-                .filter(student -> {
-                    String studentGroup = student.getUser().getGroup();
-                    return studentGroup != null && studentGroup.equals(groupName);
-                })
-                .collect(Collectors.toList());
-
-        // Calculate total points for each student
-        Map<Long, Integer> studentPoints = new HashMap<>();
-        List<Resolution> resolutions = resolutionRepository.findAll();
-        
-        for (Resolution resolution : resolutions) {
-            if (resolution.getPointsAwarded() != null && resolution.getStatus().equals("COMPLETED")) {
-                Long studentId = resolution.getStudent().getId();
-                studentPoints.put(studentId, 
-                    studentPoints.getOrDefault(studentId, 0) + resolution.getPointsAwarded());
-            }
+    public ResponseEntity<byte[]> getGroupLeaderboard(
+            @PathVariable String groupName,
+            @Parameter(description = "Cantidad de estudiantes (máximo 100)") @RequestParam(defaultValue = "5") int limit,
+            @Parameter(description = "Incluir puntos de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) throws JsonProcessingException {
+        if (includeArchived) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(leaderboardService.getLifetimeTop(groupName, limit)));
         }
 
-        // Sort students by points (descending) and get top 5
-        List<StudentDto> leaderboard = students.stream()
-                .map(student -> {
-                    StudentDto dto = studentMapper.entityToDto(student);
-                    // Set total points if available (would need to add this to StudentDto or query StudentPerformance)
-                    return dto;
-                })
-                .sorted((s1, s2) -> {
-                    int points1 = studentPoints.getOrDefault(s1.getId(), 0);
-                    int points2 = studentPoints.getOrDefault(s2.getId(), 0);
-                    return Integer.compare(points2, points1);
-                })
-                .limit(5)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(leaderboard);
+        // Standings are versioned in memory: a poll costs one version read, whether it ends in a 304 or a body
+        LeaderboardService.LeaderboardVersion version = leaderboardService.getVersion(groupName);
+        String etag = LeaderboardResponseCache.etag(version, limit);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        LeaderboardResponseCache.CachedBody body = leaderboardResponseCache.getTop(groupName, limit, version);
+        return ResponseEntity.ok()
+                .eTag(body.etag())
+                .lastModified(body.lastModified())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.json());
     }
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
-    @Operation(summary = "Obtener leaderboard de todos los grupos", description = "Retorna el top 5 de estudiantes de todos los grupos (solo profesores)")
+    @Operation(summary = "Obtener leaderboard de todos los grupos", description = "Retorna el top N (por defecto 5) de estudiantes de todos los grupos por sus puntos de los semestres no archivados, o por sus puntos totales con includeArchived=true (solo profesores)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Leaderboard obtenido exitosamente"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
             @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
     })
-    public ResponseEntity<Map<String, List<StudentDto>>> getAllGroupsLeaderboard() {
-        Map<String, List<StudentDto>> allLeaderboards = new HashMap<>();
-        
-        // Get all unique group names
-        Set<String> groupNames = studentRepository.findAll().stream()
-                .map(student -> student.getUser().getGroup())
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        // Calculate leaderboard for each group
-        for (String groupName : groupNames) {
-            ResponseEntity<List<StudentDto>> groupLeaderboard = getGroupLeaderboard(groupName);
-            allLeaderboards.put(groupName, groupLeaderboard.getBody());
+    public ResponseEntity<Map<String, List<StudentDto>>> getAllGroupsLeaderboard(
+            @Parameter(description = "Cantidad de estudiantes por grupo (máximo 100)") @RequestParam(defaultValue = "5") int limit,
+            @Parameter(description = "Incluir puntos de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (includeArchived) {
+            // Every group's top-k in a single window-function query instead of one aggregation per group
+            return ResponseEntity.ok(leaderboardService.getLifetimeTopPerGroup(limit));
         }
 
-        return ResponseEntity.ok(allLeaderboards);
+        return ResponseEntity.ok(leaderboardService.getTopPerGroup(limit));
+    }
+
+    @GetMapping("/group/{groupName}/rank/{studentId}")
+    @Operation(summary = "Obtener posición de un estudiante", description = "Retorna la posición, los puntos y los estudiantes inmediatamente arriba y abajo en el grupo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posición obtenida exitosamente"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "404", description = "Estudiante no encontrado en el grupo")
+    })
+    public ResponseEntity<StudentRankDto> getStudentRank(
+            @PathVariable String groupName,
+            @PathVariable Long studentId,
+            @Parameter(description = "Estudiantes a cada lado (máximo 50)") @RequestParam(defaultValue = "2") int window) {
+        return leaderboardService.getRank(groupName, studentId, window)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/group/{groupName}/history")
+    @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
+    @Operation(summary = "Obtener historial de posiciones de un grupo", description = "Retorna la evolución de puntos y posición de cada estudiante (o de uno) entre dos fechas, reducida a un máximo de puntos por estudiante")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Historial obtenido exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Rango de fechas inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+    })
+    public ResponseEntity<RankHistoryDto> getGroupHistory(
+            @PathVariable String groupName,
+            @Parameter(description = "Inicio del rango (por defecto, 7 días antes del fin)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin del rango (por defecto, ahora)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Limitar a un estudiante") @RequestParam(required = false) Long studentId,
+            @Parameter(description = "Máximo de puntos por estudiante (máximo 1000)") @RequestParam(defaultValue = "200") int maxPoints) {
+        return ResponseEntity.ok(rankHistoryService.getHistory(groupName, from, to, studentId, maxPoints));
     }
-}
 
+    @GetMapping("/activity/{activityId}")
+    @Operation(summary = "Obtener leaderboard de una actividad", description = "Retorna la clasificación de una actividad por puntos y luego por tiempo desde el inicio; en vivo mientras está activa y congelada al terminar")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard obtenido exitosamente"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "No pertenece al grupo de la actividad"),
+            @ApiResponse(responseCode = "404", description = "Actividad no encontrada")
+    })
+    public ResponseEntity<ActivityLeaderboardDto> getActivityLeaderboard(@PathVariable Long activityId) {
+        if (!activityAccessService.canView(SecurityContextHolder.getContext().getAuthentication(), activityId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return activityLeaderboardService.getLeaderboard(activityId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/activity/{activityId}/snapshot")
+    @Operation(summary = "Resincronizar el scoreboard de una actividad", description = "Retorna los mensajes enviados después de la secuencia indicada si aún están en memoria; si no, el tablero completo con la secuencia desde la que continuar")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resincronización obtenida exitosamente"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "No pertenece al grupo de la actividad"),
+            @ApiResponse(responseCode = "404", description = "Actividad no encontrada")
+    })
+    public ResponseEntity<ScoreboardSnapshotDto> getActivitySnapshot(
+            @PathVariable Long activityId,
+            @Parameter(description = "Última secuencia recibida") @RequestParam(required = false) Long since) {
+        if (!activityAccessService.canView(SecurityContextHolder.getContext().getAuthentication(), activityId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return activityLeaderboardService.getSnapshot(activityId, since)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
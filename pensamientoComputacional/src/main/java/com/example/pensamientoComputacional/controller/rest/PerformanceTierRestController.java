@@ -0,0 +1,56 @@
+package com.example.pensamientoComputacional.controller.rest;
+
+import com.example.pensamientoComputacional.model.dto.PerformanceTierDto;
+import com.example.pensamientoComputacional.model.dto.PerformanceTiersDto;
+import com.example.pensamientoComputacional.service.PerformanceTierService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tiers")
+@CrossOrigin(origins = "*")
+@Tag(name = "Performance Tiers", description = "Niveles de rendimiento de los estudiantes")
+@SecurityRequirement(name = "bearerAuth")
+public class PerformanceTierRestController {
+
+    @Autowired
+    private PerformanceTierService performanceTierService;
+
+    @GetMapping
+    @Operation(summary = "Obtener niveles de rendimiento", description = "Sin semestre, retorna los niveles vigentes (del semestre activo o los predeterminados); con semestre, los definidos para ese semestre")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Niveles obtenidos exitosamente"),
+            @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<PerformanceTiersDto> getTiers(
+            @Parameter(description = "Semestre (opcional)") @RequestParam(required = false) Long semesterId) {
+        return ResponseEntity.ok(semesterId != null
+                ? performanceTierService.getTiers(semesterId)
+                : performanceTierService.getEffectiveTiers());
+    }
+
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reemplazar niveles de rendimiento", description = "Reemplaza los niveles de un semestre, o los predeterminados si no se indica semestre, y recalcula la categoría de todos los estudiantes si cambian los niveles vigentes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Niveles guardados exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Niveles inválidos o semestre inexistente"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+    })
+    public ResponseEntity<PerformanceTiersDto> replaceTiers(
+            @Parameter(description = "Semestre (opcional)") @RequestParam(required = false) Long semesterId,
+            @RequestBody List<PerformanceTierDto> tiers) {
+        return ResponseEntity.ok(performanceTierService.replaceTiers(semesterId, tiers));
+    }
+}
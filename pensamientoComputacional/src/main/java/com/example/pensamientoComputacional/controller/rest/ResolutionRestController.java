@@ -1,35 +1,48 @@
 package com.example.pensamientoComputacional.controller.rest;
 
 import com.example.pensamientoComputacional.mapper.ResolutionMapper;
+import com.example.pensamientoComputacional.model.dto.BatchAssignResultDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionCodeDto;
 import com.example.pensamientoComputacional.model.dto.ResolutionDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionPageDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto;
+import com.example.pensamientoComputacional.model.dto.SubmissionTicketDto;
 import com.example.pensamientoComputacional.model.entities.Exercise;
 import com.example.pensamientoComputacional.model.entities.Professor;
 import com.example.pensamientoComputacional.model.entities.Resolution;
 import com.example.pensamientoComputacional.model.entities.Student;
 import com.example.pensamientoComputacional.model.entities.User;
-import com.example.pensamientoComputacional.model.entities.StudentPerformance;
 import com.example.pensamientoComputacional.repository.ExerciseRepository;
 import com.example.pensamientoComputacional.repository.ProfessorRepository;
-import com.example.pensamientoComputacional.repository.ResolutionRepository;
-import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
 import com.example.pensamientoComputacional.repository.StudentRepository;
+import com.example.pensamientoComputacional.service.IResolutionService;
+import com.example.pensamientoComputacional.service.IdempotencyService;
 import com.example.pensamientoComputacional.service.IUserService;
+import com.example.pensamientoComputacional.service.ResolutionCursor;
+import com.example.pensamientoComputacional.service.ResolutionIngestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/resolutions")
@@ -39,7 +52,13 @@ import java.util.stream.Collectors;
 public class ResolutionRestController {
 
     @Autowired
-    private ResolutionRepository resolutionRepository;
+    private IResolutionService resolutionService;
+
+    @Autowired
+    private ResolutionIngestionService ingestionService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     @Autowired
     private ResolutionMapper resolutionMapper;
@@ -57,7 +76,7 @@ public class ResolutionRestController {
     private IUserService userService;
 
     @Autowired
-    private StudentPerformanceRepository studentPerformanceRepository;
+    private ObjectMapper objectMapper;
 
     @GetMapping
     @Operation(summary = "Obtener todas las resoluciones", description = "Retorna todas las resoluciones del sistema")
@@ -65,12 +84,30 @@ public class ResolutionRestController {
             @ApiResponse(responseCode = "200", description = "Lista de resoluciones obtenida exitosamente"),
             @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<List<ResolutionDto>> getAllResolutions() {
-        List<Resolution> resolutions = resolutionRepository.findAll();
-        List<ResolutionDto> resolutionDtos = resolutions.stream()
-                .map(resolutionMapper::entityToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resolutionDtos);
+    public ResponseEntity<List<ResolutionSummaryDto>> getAllResolutions(
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(resolutionService.getAllResolutions(includeArchived));
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Obtener resoluciones paginadas", description = "Retorna una página de resoluciones ordenada por (submittedAt, id) y el cursor de la siguiente página")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de resoluciones obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<ResolutionPageDto> getAllResolutionsPage(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam int limit,
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return toPage(resolutionService.getResolutionWindow(null, null, includeArchived, ResolutionCursor.decode(cursor), limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar resoluciones (NDJSON)", description = "Transmite todas las resoluciones como NDJSON, una por línea, sin cargarlas en memoria")
+    public ResponseEntity<StreamingResponseBody> streamAllResolutions(
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return toNdjson(null, null, includeArchived);
     }
 
     @GetMapping("/me")
@@ -79,7 +116,8 @@ public class ResolutionRestController {
             @ApiResponse(responseCode = "200", description = "Lista de resoluciones obtenida exitosamente"),
             @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<List<ResolutionDto>> getMyResolutions() {
+    public ResponseEntity<List<ResolutionSummaryDto>> getMyResolutions(
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -98,14 +136,7 @@ public class ResolutionRestController {
             return ResponseEntity.ok(List.of());
         }
 
-        List<Resolution> resolutions = resolutionRepository.findAll().stream()
-                .filter(r -> r.getStudent().getId().equals(student.getId()))
-                .collect(Collectors.toList());
-        
-        List<ResolutionDto> resolutionDtos = resolutions.stream()
-                .map(resolutionMapper::entityToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resolutionDtos);
+        return ResponseEntity.ok(resolutionService.getResolutionsByStudent(student.getId(), includeArchived));
     }
 
     @PostMapping
@@ -115,9 +146,17 @@ public class ResolutionRestController {
             @ApiResponse(responseCode = "201", description = "Resolución enviada exitosamente"),
             @ApiResponse(responseCode = "400", description = "Datos inválidos"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
-            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reutilizada con otro cuerpo")
     })
-    public ResponseEntity<ResolutionDto> submitResolution(@Valid @RequestBody ResolutionDto resolutionDto) {
+    public ResponseEntity<ResolutionDto> submitResolution(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ResolutionDto resolutionDto) {
+        return idempotencyService.execute("POST /api/resolutions", idempotencyKey, resolutionDto,
+                () -> submitResolutionOnce(resolutionDto));
+    }
+
+    private ResponseEntity<ResolutionDto> submitResolutionOnce(ResolutionDto resolutionDto) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -135,41 +174,120 @@ public class ResolutionRestController {
         Exercise exercise = exerciseRepository.findById(resolutionDto.getExerciseId())
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        // Count previous attempts
-        long attemptCount = resolutionRepository.findAll().stream()
-                .filter(r -> r.getStudent().getId().equals(student.getId()) 
-                        && r.getExercise().getId().equals(exercise.getId()))
-                .count();
-
         Resolution resolution = resolutionMapper.dtoToEntity(resolutionDto);
         resolution.setStudent(student);
         resolution.setExercise(exercise);
-        resolution.setAttemptNo((int) (attemptCount + 1));
         resolution.setStatus("PENDING");
-        if (resolution.getCode() == null) {
-            resolution.setCode("");
-        }
 
-        Resolution savedResolution = resolutionRepository.save(resolution);
+        Resolution savedResolution = resolutionService.createResolution(resolution);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(resolutionMapper.entityToDto(savedResolution));
     }
 
+    @PostMapping("/async")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
+    @Operation(summary = "Enviar resolución en diferido", description = "Encola la resolución y devuelve un ticket; se guarda en segundo plano por lotes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Resolución encolada"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes"),
+            @ApiResponse(responseCode = "429", description = "Cola llena, reintentar tras Retry-After"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reutilizada con otro cuerpo")
+    })
+    public ResponseEntity<SubmissionTicketDto> submitResolutionAsync(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ResolutionDto resolutionDto) {
+        return idempotencyService.execute("POST /api/resolutions/async", idempotencyKey, resolutionDto,
+                () -> submitResolutionAsyncOnce(resolutionDto));
+    }
+
+    private ResponseEntity<SubmissionTicketDto> submitResolutionAsyncOnce(ResolutionDto resolutionDto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String email = authentication.getName();
+        User user = userService.findByEmail(email);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Student student = studentRepository.findById(user.getId())
+                .orElseThrow(() -> new RuntimeException("Usuario no es un estudiante"));
+
+        if (!exerciseRepository.existsById(resolutionDto.getExerciseId())) {
+            throw new RuntimeException("Ejercicio no encontrado");
+        }
+
+        SubmissionTicketDto ticket = ingestionService.submit(
+                student.getId(), resolutionDto.getExerciseId(), resolutionDto.getCode());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    @Operation(summary = "Consultar ticket de envío", description = "Retorna el estado de una resolución enviada en diferido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del ticket"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "404", description = "Ticket no encontrado, expirado o de otro estudiante")
+    })
+    public ResponseEntity<SubmissionTicketDto> getSubmissionTicket(@PathVariable String ticketId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String email = authentication.getName();
+        User user = userService.findByEmail(email);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+
+        // Another student's ticket answers like a missing one, so ticket ids cannot be probed
+        Optional<SubmissionTicketDto> ticket = admin
+                ? ingestionService.getTicket(ticketId)
+                : ingestionService.getTicket(ticketId, user.getId());
+        return ticket.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/student/{studentId}")
     @Operation(summary = "Obtener resoluciones de un estudiante", description = "Retorna todas las resoluciones de un estudiante específico")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de resoluciones obtenida exitosamente"),
             @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<List<ResolutionDto>> getStudentResolutions(@PathVariable Long studentId) {
-        List<Resolution> resolutions = resolutionRepository.findAll().stream()
-                .filter(r -> r.getStudent().getId().equals(studentId))
-                .collect(Collectors.toList());
-        
-        List<ResolutionDto> resolutionDtos = resolutions.stream()
-                .map(resolutionMapper::entityToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resolutionDtos);
+    public ResponseEntity<List<ResolutionSummaryDto>> getStudentResolutions(
+            @PathVariable Long studentId,
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(resolutionService.getResolutionsByStudent(studentId, includeArchived));
+    }
+
+    @GetMapping(value = "/student/{studentId}", params = "limit")
+    @Operation(summary = "Obtener resoluciones paginadas de un estudiante", description = "Retorna una página de resoluciones del estudiante y el cursor de la siguiente página")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de resoluciones obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<ResolutionPageDto> getStudentResolutionsPage(
+            @PathVariable Long studentId,
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam int limit,
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return toPage(resolutionService.getResolutionWindow(studentId, null, includeArchived, ResolutionCursor.decode(cursor), limit));
+    }
+
+    @GetMapping(value = "/student/{studentId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar resoluciones de un estudiante (NDJSON)", description = "Transmite las resoluciones del estudiante como NDJSON, una por línea")
+    public ResponseEntity<StreamingResponseBody> streamStudentResolutions(
+            @PathVariable Long studentId,
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return toNdjson(studentId, null, includeArchived);
     }
 
     @GetMapping("/activity/{activityId}")
@@ -178,15 +296,33 @@ public class ResolutionRestController {
             @ApiResponse(responseCode = "200", description = "Lista de resoluciones obtenida exitosamente"),
             @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<List<ResolutionDto>> getActivityResolutions(@PathVariable Long activityId) {
-        List<Resolution> resolutions = resolutionRepository.findAll().stream()
-                .filter(r -> r.getExercise().getActivity().getId().equals(activityId))
-                .collect(Collectors.toList());
-        
-        List<ResolutionDto> resolutionDtos = resolutions.stream()
-                .map(resolutionMapper::entityToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resolutionDtos);
+    public ResponseEntity<List<ResolutionSummaryDto>> getActivityResolutions(
+            @PathVariable Long activityId,
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(resolutionService.getResolutionsByActivity(activityId, includeArchived));
+    }
+
+    @GetMapping(value = "/activity/{activityId}", params = "limit")
+    @Operation(summary = "Obtener resoluciones paginadas de una actividad", description = "Retorna una página de resoluciones de la actividad y el cursor de la siguiente página")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de resoluciones obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<ResolutionPageDto> getActivityResolutionsPage(
+            @PathVariable Long activityId,
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam int limit,
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return toPage(resolutionService.getResolutionWindow(null, activityId, includeArchived, ResolutionCursor.decode(cursor), limit));
+    }
+
+    @GetMapping(value = "/activity/{activityId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar resoluciones de una actividad (NDJSON)", description = "Transmite las resoluciones de la actividad como NDJSON, una por línea")
+    public ResponseEntity<StreamingResponseBody> streamActivityResolutions(
+            @PathVariable Long activityId,
+            @Parameter(description = "Incluir resoluciones de semestres archivados") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return toNdjson(null, activityId, includeArchived);
     }
 
     @PostMapping("/assign")
@@ -196,9 +332,17 @@ public class ResolutionRestController {
             @ApiResponse(responseCode = "200", description = "Puntos asignados exitosamente"),
             @ApiResponse(responseCode = "201", description = "Resolución creada exitosamente"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
-            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reutilizada con otro cuerpo")
     })
-    public ResponseEntity<ResolutionDto> assignPointsWithCode(@RequestBody ResolutionDto resolutionDto) {
+    public ResponseEntity<ResolutionDto> assignPointsWithCode(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody ResolutionDto resolutionDto) {
+        return idempotencyService.execute("POST /api/resolutions/assign", idempotencyKey, resolutionDto,
+                () -> assignPointsWithCodeOnce(resolutionDto));
+    }
+
+    private ResponseEntity<ResolutionDto> assignPointsWithCodeOnce(ResolutionDto resolutionDto) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -220,11 +364,8 @@ public class ResolutionRestController {
         Exercise exercise = exerciseRepository.findById(resolutionDto.getExerciseId())
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        Resolution existingResolution = resolutionRepository.findAll().stream()
-                .filter(r -> r.getStudent().getId().equals(student.getId()) 
-                        && r.getExercise().getId().equals(exercise.getId())
-                        && r.getStatus().equals("PENDING"))
-                .findFirst()
+        Resolution existingResolution = resolutionService
+                .findPendingResolution(student.getId(), exercise.getId())
                 .orElse(null);
 
         if (existingResolution != null) {
@@ -238,7 +379,7 @@ public class ResolutionRestController {
             existingResolution.setAwardedBy(professor);
             existingResolution.setStatus("PENDING"); // Keep as PENDING until student validates
 
-            Resolution updatedResolution = resolutionRepository.save(existingResolution);
+            Resolution updatedResolution = resolutionService.saveResolution(existingResolution);
             return ResponseEntity.ok(resolutionMapper.entityToDto(updatedResolution));
         } else {
             // Create new resolution
@@ -249,20 +390,83 @@ public class ResolutionRestController {
             newResolution.setCode(resolutionDto.getCode() != null ? resolutionDto.getCode() : "");
             newResolution.setAwardedBy(professor);
             newResolution.setStatus("PENDING");
-            
-            // Count previous attempts
-            long attemptCount = resolutionRepository.findAll().stream()
-                    .filter(r -> r.getStudent().getId().equals(student.getId()) 
-                            && r.getExercise().getId().equals(exercise.getId()))
-                    .count();
-            newResolution.setAttemptNo((int) (attemptCount + 1));
-
-            Resolution savedResolution = resolutionRepository.save(newResolution);
+
+            Resolution savedResolution = resolutionService.createResolution(newResolution);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(resolutionMapper.entityToDto(savedResolution));
         }
     }
 
+    @PostMapping("/assign/batch")
+    @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
+    @Operation(summary = "Asignar puntos por lotes", description = "Crea o actualiza varias resoluciones en una sola transacción y devuelve el resultado de cada elemento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado"),
+            @ApiResponse(responseCode = "400", description = "Lote demasiado grande"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reutilizada con otro cuerpo")
+    })
+    public ResponseEntity<List<BatchAssignResultDto>> assignPointsBatch(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody List<ResolutionDto> items) {
+        return idempotencyService.execute("POST /api/resolutions/assign/batch", idempotencyKey, items,
+                () -> assignPointsBatchOnce(items));
+    }
+
+    private ResponseEntity<List<BatchAssignResultDto>> assignPointsBatchOnce(List<ResolutionDto> items) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String email = authentication.getName();
+        User user = userService.findByEmail(email);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Professor professor = professorRepository.findById(user.getId())
+                .orElseThrow(() -> new RuntimeException("Usuario no es un profesor"));
+
+        return ResponseEntity.ok(resolutionService.assignPointsBatch(professor, items));
+    }
+
+    @GetMapping("/{id}/code")
+    @Operation(summary = "Obtener código de una resolución", description = "Retorna el código de la resolución; los listados no lo incluyen")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Código obtenido exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Resolución no encontrada"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+    })
+    public ResponseEntity<ResolutionCodeDto> getResolutionCode(@PathVariable Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String email = authentication.getName();
+        User user = userService.findByEmail(email);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        boolean staff = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_PROFESSOR".equals(authority.getAuthority())
+                        || "ROLE_ADMIN".equals(authority.getAuthority()));
+
+        return resolutionService.getResolution(id)
+                .map(resolution -> {
+                    // Students may only read the code of their own resolutions
+                    if (!staff && !resolution.getStudent().getId().equals(user.getId())) {
+                        return ResponseEntity.status(HttpStatus.FORBIDDEN).<ResolutionCodeDto>build();
+                    }
+                    return ResponseEntity.ok(new ResolutionCodeDto(resolution.getId(), resolution.getCode()));
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}/points")
     @PreAuthorize("hasRole('PROFESSOR') or hasRole('ADMIN')")
     @Operation(summary = "Asignar puntos", description = "Asigna puntos a una resolución (solo profesores)")
@@ -289,7 +493,7 @@ public class ResolutionRestController {
         Professor professor = professorRepository.findById(user.getId())
                 .orElseThrow(() -> new RuntimeException("Usuario no es un profesor"));
 
-        return resolutionRepository.findById(id)
+        return resolutionService.getResolution(id)
                 .map(existingResolution -> {
                     if (resolutionDto.getPointsAwarded() != null) {
                         existingResolution.setPointsAwarded(resolutionDto.getPointsAwarded());
@@ -307,12 +511,43 @@ public class ResolutionRestController {
                         existingResolution.setStatus("COMPLETED");
                     }
 
-                    Resolution updatedResolution = resolutionRepository.save(existingResolution);
+                    Resolution updatedResolution = resolutionService.saveResolution(existingResolution);
                     return ResponseEntity.ok(resolutionMapper.entityToDto(updatedResolution));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @PostMapping("/redeem")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
+    @Operation(summary = "Canjear código", description = "Busca la resolución pendiente del estudiante con ese código y la marca como completada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Código canjeado exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Código vacío"),
+            @ApiResponse(responseCode = "404", description = "Ninguna resolución pendiente con ese código"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+    })
+    public ResponseEntity<ResolutionDto> redeemCode(@RequestBody ResolutionDto resolutionDto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String email = authentication.getName();
+        User user = userService.findByEmail(email);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Student student = studentRepository.findById(user.getId())
+                .orElseThrow(() -> new RuntimeException("Usuario no es un estudiante"));
+
+        // The lookup is scoped to the student, so another student's code never matches
+        return resolutionService.redeemCode(student.getId(), resolutionDto.getCode())
+                .map(resolution -> ResponseEntity.ok(resolutionMapper.entityToDto(resolution)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/{id}/validate-code")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
     @Operation(summary = "Validar código", description = "Valida el código de una resolución y la marca como completada (solo estudiantes)")
@@ -340,7 +575,7 @@ public class ResolutionRestController {
         Student student = studentRepository.findById(user.getId())
                 .orElseThrow(() -> new RuntimeException("Usuario no es un estudiante"));
 
-        return resolutionRepository.findById(id)
+        return resolutionService.getResolution(id)
                 .map(existingResolution -> {
                     // Verify that this resolution belongs to the authenticated student
                     if (!existingResolution.getStudent().getId().equals(student.getId())) {
@@ -356,41 +591,39 @@ public class ResolutionRestController {
                         return ResponseEntity.status(HttpStatus.BAD_REQUEST).<ResolutionDto>build();
                     }
                     
-                    // Code is valid, mark as completed
-                    existingResolution.setStatus("COMPLETED");
-                    
-                    Resolution updatedResolution = resolutionRepository.save(existingResolution);
-                    
-                    // Update student's total points
-                    Integer pointsAwarded = existingResolution.getPointsAwarded();
-                    if (pointsAwarded != null && pointsAwarded > 0) {
-                        // Get or create student performance
-                        StudentPerformance performance = studentPerformanceRepository.findByStudent(student);
-                        if (performance == null) {
-                            performance = new StudentPerformance();
-                            performance.setStudent(student);
-                            performance.setTotalPoints(0);
-                            performance.setCategory("principiante");
-                        }
-                        
-                        // Add points
-                        performance.setTotalPoints(performance.getTotalPoints() + pointsAwarded);
-                        
-                        // Update category based on total points
-                        if (performance.getTotalPoints() >= 500) {
-                            performance.setCategory("pro");
-                        } else if (performance.getTotalPoints() >= 250) {
-                            performance.setCategory("killer");
-                        } else {
-                            performance.setCategory("principiante");
-                        }
-                        
-                        studentPerformanceRepository.save(performance);
-                    }
-                    
+                    // Code is valid, mark as completed and credit the student's points
+                    Resolution updatedResolution = resolutionService.completeResolution(existingResolution);
+
                     return ResponseEntity.ok(resolutionMapper.entityToDto(updatedResolution));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
-}
 
+    private ResponseEntity<ResolutionPageDto> toPage(Window<ResolutionSummaryDto> window) {
+        List<ResolutionSummaryDto> items = window.getContent();
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? ResolutionCursor.encode(window.getContent().get(window.size() - 1))
+                : null;
+        return ResponseEntity.ok(new ResolutionPageDto(items, nextCursor));
+    }
+
+    private ResponseEntity<StreamingResponseBody> toNdjson(Long studentId, Long activityId, boolean includeArchived) {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                resolutionService.streamResolutions(studentId, activityId, includeArchived, resolution -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(resolution));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
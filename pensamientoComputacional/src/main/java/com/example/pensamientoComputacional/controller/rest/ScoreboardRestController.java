@@ -0,0 +1,71 @@
+package com.example.pensamientoComputacional.controller.rest;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardEventDto;
+import com.example.pensamientoComputacional.model.dto.WebSocketMetricsDto;
+import com.example.pensamientoComputacional.service.ActivityAccessService;
+import com.example.pensamientoComputacional.service.ScoreboardEventService;
+import com.example.pensamientoComputacional.service.WebSocketMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scoreboard")
+@CrossOrigin(origins = "*")
+@Tag(name = "Scoreboard", description = "Eventos del scoreboard por actividad")
+@SecurityRequirement(name = "bearerAuth")
+public class ScoreboardRestController {
+
+    @Autowired
+    private ScoreboardEventService scoreboardEventService;
+
+    @Autowired
+    private WebSocketMetrics webSocketMetrics;
+
+    @Autowired
+    private ActivityAccessService activityAccessService;
+
+    @GetMapping("/activity/{activityId}/events")
+    @Operation(summary = "Reproducir eventos del scoreboard", description = "Retorna, del más antiguo al más reciente, los eventos de la actividad con id mayor que afterId. Para continuar, se repite la consulta con el id del último evento recibido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos obtenidos exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Límite inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "No pertenece al grupo de la actividad"),
+            @ApiResponse(responseCode = "404", description = "Actividad no encontrada")
+    })
+    public ResponseEntity<List<ScoreboardEventDto>> getEvents(
+            @PathVariable Long activityId,
+            @Parameter(description = "Id del último evento recibido") @RequestParam(defaultValue = "0") long afterId,
+            @Parameter(description = "Cantidad de eventos (máximo 500)") @RequestParam(defaultValue = "100") int limit) {
+        if (!activityAccessService.canView(SecurityContextHolder.getContext().getAuthentication(), activityId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return scoreboardEventService.getEvents(activityId, afterId, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Métricas de WebSocket", description = "Retorna las sesiones activas de este nodo, las suscripciones por destino, las tareas en cola en los ejecutores de los canales, las sesiones desconectadas por lentas y la latencia de entrega")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métricas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+    })
+    public ResponseEntity<WebSocketMetricsDto> getMetrics() {
+        return ResponseEntity.ok(webSocketMetrics.getSnapshot());
+    }
+}
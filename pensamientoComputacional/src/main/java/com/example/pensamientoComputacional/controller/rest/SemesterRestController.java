@@ -1,9 +1,13 @@
 package com.example.pensamientoComputacional.controller.rest;
 
 import com.example.pensamientoComputacional.mapper.SemesterMapper;
+import com.example.pensamientoComputacional.model.dto.SemesterArchiveDto;
 import com.example.pensamientoComputacional.model.dto.SemesterDto;
 import com.example.pensamientoComputacional.model.entities.Semester;
 import com.example.pensamientoComputacional.repository.SemesterRepository;
+import com.example.pensamientoComputacional.service.LeaderboardService;
+import com.example.pensamientoComputacional.service.PerformanceTierService;
+import com.example.pensamientoComputacional.service.SemesterArchiveService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -25,6 +29,15 @@ public class SemesterRestController {
     @Autowired
     private SemesterMapper semesterMapper;
 
+    @Autowired
+    private SemesterArchiveService semesterArchiveService;
+
+    @Autowired
+    private PerformanceTierService performanceTierService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @GetMapping
     @PreAuthorize("hasAuthority('READ_USER') or hasRole('ADMIN')")
     public ResponseEntity<List<SemesterDto>> getAllSemesters() {
@@ -48,6 +61,8 @@ public class SemesterRestController {
     public ResponseEntity<SemesterDto> createSemester(@Valid @RequestBody SemesterDto semesterDto) {
         Semester semester = semesterMapper.dtoToEntity(semesterDto);
         Semester savedSemester = semesterRepository.save(semester);
+        // Activating a semester may switch the effective tiers
+        performanceTierService.reload();
         return ResponseEntity.status(HttpStatus.CREATED).body(semesterMapper.entityToDto(savedSemester));
     }
 
@@ -59,6 +74,7 @@ public class SemesterRestController {
                     semesterDto.setId(id);
                     Semester semester = semesterMapper.dtoToEntity(semesterDto);
                     Semester updatedSemester = semesterRepository.save(semester);
+                    performanceTierService.reload();
                     return ResponseEntity.ok(semesterMapper.entityToDto(updatedSemester));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -70,6 +86,7 @@ public class SemesterRestController {
         if (!semesterRepository.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
+        performanceTierService.deleteTiers(id);
         semesterRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
@@ -83,4 +100,17 @@ public class SemesterRestController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(semesterDtos);
     }
+
+    @PostMapping("/{id}/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SemesterArchiveDto> archiveSemester(@PathVariable Long id) {
+        return semesterRepository.findById(id)
+                .map(semester -> {
+                    SemesterArchiveDto archived = semesterArchiveService.archiveSemester(semester);
+                    // The archived points leave the default group leaderboards
+                    leaderboardService.rebuild();
+                    return ResponseEntity.ok(archived);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
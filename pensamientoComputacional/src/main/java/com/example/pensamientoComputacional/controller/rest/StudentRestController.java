@@ -1,6 +1,8 @@
 package com.example.pensamientoComputacional.controller.rest;
 
 import com.example.pensamientoComputacional.mapper.StudentMapper;
+import com.example.pensamientoComputacional.model.dto.ReconciliationRunDto;
+import com.example.pensamientoComputacional.model.dto.ReconciliationStatsDto;
 import com.example.pensamientoComputacional.model.dto.StudentDto;
 import com.example.pensamientoComputacional.model.entities.Group;
 import com.example.pensamientoComputacional.model.entities.Student;
@@ -8,6 +10,7 @@ import com.example.pensamientoComputacional.model.entities.StudentEnrollment;
 import com.example.pensamientoComputacional.repository.GroupRepository;
 import com.example.pensamientoComputacional.repository.StudentEnrollmentRepository;
 import com.example.pensamientoComputacional.repository.StudentRepository;
+import com.example.pensamientoComputacional.service.StudentPerformanceReconciler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -44,6 +47,9 @@ public class StudentRestController {
     @Autowired
     private StudentEnrollmentRepository studentEnrollmentRepository;
 
+    @Autowired
+    private StudentPerformanceReconciler studentPerformanceReconciler;
+
     @GetMapping
     @PreAuthorize("hasAuthority('READ_USER') or hasRole('ADMIN') or hasRole('PROFESSOR')")
     public ResponseEntity<List<StudentDto>> getAllStudents() {
@@ -134,6 +140,33 @@ public class StudentRestController {
         return ResponseEntity.ok(studentDtos);
     }
 
+    @GetMapping("/performance/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Estado de la reconciliación de puntos", description = "Retorna la marca de agua y las métricas de desviación corregida en student_performance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métricas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes")
+    })
+    public ResponseEntity<ReconciliationStatsDto> getReconciliationStats() {
+        return ResponseEntity.ok(studentPerformanceReconciler.getStats());
+    }
+
+    @PostMapping("/performance/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir el rendimiento de todos los estudiantes", description = "Recalcula los puntos totales de todos los estudiantes por bloques en paralelo y corrige las diferencias")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reconstrucción completada"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "403", description = "Sin permisos suficientes"),
+            @ApiResponse(responseCode = "409", description = "Ya hay una reconstrucción en curso")
+    })
+    public ResponseEntity<ReconciliationRunDto> rebuildPerformance() {
+        return studentPerformanceReconciler.rebuildAll()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('READ_USER') or hasRole('ADMIN')")
     public ResponseEntity<StudentDto> getStudentById(@PathVariable Long id) {
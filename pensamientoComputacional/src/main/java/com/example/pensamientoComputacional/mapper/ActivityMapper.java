@@ -14,5 +14,6 @@ public interface ActivityMapper {
     
     @Mapping(target = "group", ignore = true)
     @Mapping(target = "professor", ignore = true)
+    @Mapping(target = "frozenAt", ignore = true)
     Activity dtoToEntity(ActivityDto activityDto);
 }
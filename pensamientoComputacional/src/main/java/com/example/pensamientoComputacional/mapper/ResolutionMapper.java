@@ -20,6 +20,8 @@ public interface ResolutionMapper {
     @Mapping(target = "exercise", ignore = true)
     @Mapping(target = "awardedBy", ignore = true)
     @Mapping(target = "code", ignore = true)
+    @Mapping(target = "codeHash", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Resolution dtoToEntity(ResolutionDto resolutionDto);
 }
 
@@ -0,0 +1,21 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityLeaderboardDto {
+
+    private Long activityId;
+
+    // true while the activity is running; false once the standings are frozen
+    private boolean live;
+    private LocalDateTime frozenAt;
+    private List<ActivityLeaderboardEntryDto> entries;
+}
@@ -0,0 +1,19 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityLeaderboardEntryDto {
+
+    private int rank;
+    private Long studentId;
+    private String studentName;
+    private int points;
+
+    // Time from the activity start to the student's latest validated submission
+    private long elapsedMs;
+}
@@ -0,0 +1,22 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAssignResultDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String FAILED = "FAILED";
+
+    private int index; // Position of the item in the request
+    private Long studentId;
+    private Long exerciseId;
+    private String outcome;
+    private ResolutionDto resolution;
+    private String error;
+}
@@ -0,0 +1,9 @@
+package com.example.pensamientoComputacional.model.dto;
+
+/**
+ * One ranked row around a student, with the size of the group it was ranked in.
+ */
+public interface GroupNeighbourView extends GroupStandingView {
+
+    Long getGroupSize();
+}
@@ -0,0 +1,15 @@
+package com.example.pensamientoComputacional.model.dto;
+
+/**
+ * One ranked row of the database leaderboard query, mapped straight from the native result set.
+ */
+public interface GroupStandingView {
+
+    String getGroupName();
+
+    Long getStudentId();
+
+    Integer getTotalPoints();
+
+    Integer getStudentRank();
+}
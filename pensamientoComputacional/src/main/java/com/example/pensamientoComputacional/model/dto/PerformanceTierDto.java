@@ -0,0 +1,14 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceTierDto {
+
+    private String name;
+    private Integer minPoints;
+}
@@ -0,0 +1,22 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceTiersDto {
+
+    // Null for the default set
+    private Long semesterId;
+
+    // Ordered by minPoints
+    private List<PerformanceTierDto> tiers;
+
+    // Rows whose category changed when this set was saved
+    private int studentsRetiered;
+}
@@ -0,0 +1,22 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankHistoryDto {
+
+    private String groupName;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // Width of the downsampling buckets; each student keeps at most one point per bucket
+    private long bucketSeconds;
+    private List<RankHistorySeriesDto> series;
+}
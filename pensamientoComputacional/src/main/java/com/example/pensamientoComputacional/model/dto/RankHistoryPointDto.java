@@ -0,0 +1,17 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankHistoryPointDto {
+
+    private LocalDateTime recordedAt;
+    private int points;
+    private int rank;
+}
@@ -0,0 +1,18 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankHistorySeriesDto {
+
+    private Long studentId;
+
+    // Step series: each point holds until the next one
+    private List<RankHistoryPointDto> points;
+}
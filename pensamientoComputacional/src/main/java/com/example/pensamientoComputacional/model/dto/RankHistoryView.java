@@ -0,0 +1,19 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the rank history queries, mapped straight from the native result set.
+ */
+public interface RankHistoryView {
+
+    String getGroupName();
+
+    Long getStudentId();
+
+    Integer getPoints();
+
+    Integer getRankPosition();
+
+    LocalDateTime getRecordedAt();
+}
@@ -0,0 +1,26 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationRunDto {
+
+    public static final String INCREMENTAL = "INCREMENTAL";
+    public static final String FULL = "FULL";
+
+    private String mode;
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private long resolutionsScanned;
+    private long studentsChecked;
+    private long studentsRepaired;
+
+    // Sum of |stored total - recomputed total| over the repaired students
+    private long driftPoints;
+}
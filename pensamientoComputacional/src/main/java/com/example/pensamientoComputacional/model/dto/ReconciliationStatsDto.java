@@ -0,0 +1,24 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationStatsDto {
+
+    private LocalDateTime watermarkAt;
+    private Long watermarkId;
+    private long runs;
+
+    // Cumulative since startup
+    private long studentsRepaired;
+    private long driftPoints;
+
+    private ReconciliationRunDto lastRun;
+    private ReconciliationRunDto lastFullRebuild;
+}
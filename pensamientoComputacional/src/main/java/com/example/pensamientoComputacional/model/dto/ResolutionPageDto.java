@@ -0,0 +1,16 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolutionPageDto {
+
+    private List<ResolutionSummaryDto> items;
+    private String nextCursor; // null when there are no more pages
+}
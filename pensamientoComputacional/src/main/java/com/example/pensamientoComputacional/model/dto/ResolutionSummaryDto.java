@@ -0,0 +1,28 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a resolution. Leaves out the code column, which is only served by
+ * {@code GET /api/resolutions/{id}/code}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolutionSummaryDto {
+
+    private Long id;
+    private Long studentId;
+    private Long exerciseId;
+    private Long activityId;
+    private Integer pointsAwarded;
+    private Long awardedBy;
+    private String status;
+    private Integer attemptNo;
+    private LocalDateTime submittedAt;
+    private Boolean hasCode; // Whether a code has been assigned, without sending it
+}
@@ -0,0 +1,26 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A changed student's absolute standing, so applying the same delta twice is harmless.
+ * Other students keep their values; clients re-sort by points desc, elapsedMs asc, studentId asc.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreboardDeltaDto {
+
+    private Long studentId;
+
+    // Only sent the first time the student appears on the board
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String studentName;
+
+    private int rank;
+    private int points;
+    private long elapsedMs;
+}
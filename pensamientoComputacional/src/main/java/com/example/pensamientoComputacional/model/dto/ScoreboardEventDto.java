@@ -0,0 +1,21 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreboardEventDto {
+
+    private Long id;
+    private Long activityId;
+    private Long studentId;
+    private String studentName;
+    private Long exerciseId;
+    private String message;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resync answer: the missed deltas when they are still buffered, otherwise the full board.
+ * Either way the client continues from {@code seq}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreboardSnapshotDto {
+
+    private Long activityId;
+    private long seq;
+    private boolean live;
+
+    // true: entries holds the whole board; false: deltas holds the updates after the requested seq
+    private boolean full;
+    private List<ActivityLeaderboardEntryDto> entries;
+    private List<ScoreboardUpdateDto> deltas;
+}
@@ -0,0 +1,25 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pushed to /topic/scoreboard/activity/{activityId}: every student whose standing changed
+ * since the previous message. {@code seq} grows by one per message on the topic; a client
+ * that sees a gap resyncs through /api/leaderboard/activity/{activityId}/snapshot?since=.
+ * With the STOMP relay messages are unnumbered ({@code seq} 0) and carry absolute values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreboardUpdateDto {
+
+    private Long activityId;
+    private long seq;
+    private LocalDateTime sentAt;
+    private List<ScoreboardDeltaDto> changes;
+}
@@ -0,0 +1,15 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SemesterArchiveDto {
+
+    private Long semesterId;
+    private int resolutionsArchived;
+    private int scoreboardEventsArchived;
+}
@@ -0,0 +1,23 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentRankDto {
+
+    private String groupName;
+    private Long studentId;
+    private int rank;
+    private int totalPoints;
+    private int groupSize;
+
+    // Neighbours in ranking order: better-ranked students first
+    private List<LeaderboardEntryDto> above;
+    private List<LeaderboardEntryDto> below;
+}
@@ -0,0 +1,26 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionTicketDto {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String STORED = "STORED";
+    public static final String FAILED = "FAILED";
+
+    private String ticketId;
+    private String status;
+    private Long studentId;
+    private Long exerciseId;
+    private Long resolutionId; // Set once stored
+    private Integer attemptNo; // Set once stored
+    private LocalDateTime submittedAt;
+    private String error;
+}
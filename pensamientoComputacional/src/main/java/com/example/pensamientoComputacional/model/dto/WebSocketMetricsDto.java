@@ -0,0 +1,28 @@
+package com.example.pensamientoComputacional.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebSocketMetricsDto {
+
+    private int activeSessions;
+    private Map<String, Integer> subscriptionsByDestination;
+
+    // Handler tasks accepted by each channel and not yet picked up by its executor. Frames still
+    // held in a session's publish-order buffer have not reached the outbound channel yet and
+    // are not counted; Spring keeps that buffer private to the broker
+    private long inboundExecutorQueued;
+    private long outboundExecutorQueued;
+
+    // Cumulative since startup
+    private long evictedSessions;
+    private long messagesDelivered;
+    private double fanOutLatencyAvgMs;
+    private double fanOutLatencyMaxMs;
+}
@@ -36,4 +36,7 @@ public class Activity {
     
     @Column(nullable = false)
     private String status;
+    
+    @Column(name = "frozen_at")
+    private LocalDateTime frozenAt;
 }
@@ -0,0 +1,46 @@
+package com.example.pensamientoComputacional.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Final standing of one student in an activity, written once when the activity
+ * ends so its leaderboard no longer has to be kept in memory or recomputed.
+ */
+@Entity
+@Table(name = "activity_leaderboard_snapshots",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"activity_id", "student_id"}),
+        indexes = @Index(name = "idx_activity_leaderboard_snapshots_activity_rank", columnList = "activity_id, rank_position"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityLeaderboardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "student_name", nullable = false)
+    private String studentName;
+
+    @Column(name = "rank_position", nullable = false)
+    private Integer rankPosition;
+
+    @Column(nullable = false)
+    private Integer points;
+
+    @Column(name = "elapsed_ms", nullable = false)
+    private Long elapsedMs;
+
+    @Column(name = "frozen_at", nullable = false)
+    private LocalDateTime frozenAt;
+}
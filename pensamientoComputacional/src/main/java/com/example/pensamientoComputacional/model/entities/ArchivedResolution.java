@@ -0,0 +1,58 @@
+package com.example.pensamientoComputacional.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Resolution of a closed semester, moved out of {@code resolutions} so the hot
+ * table only holds current data. Keeps the original id; references are plain ids.
+ */
+@Entity
+@Table(name = "resolutions_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedResolution {
+
+    @Id
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "exercise_id", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Column(name = "semester_id", nullable = false)
+    private Long semesterId;
+
+    @Column(name = "points_awarded")
+    private Integer pointsAwarded;
+
+    @Column(name = "awarded_by")
+    private Long awardedBy;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "attempt_no", nullable = false)
+    private Integer attemptNo;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String code;
+
+    @Column(name = "code_hash", length = 64)
+    private String codeHash;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,45 @@
+package com.example.pensamientoComputacional.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Scoreboard event of a closed semester, moved out of {@code scoreboard_events}.
+ */
+@Entity
+@Table(name = "scoreboard_events_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedScoreboardEvent {
+
+    @Id
+    private Long id;
+
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "exercise_id", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "semester_id", nullable = false)
+    private Long semesterId;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,32 @@
+package com.example.pensamientoComputacional.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One performance category and the total points needed to reach it. Tiers without a
+ * semester form the default set; a semester's own set applies while it is active.
+ */
+@Entity
+@Table(name = "performance_tiers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceTier {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "semester_id")
+    private Semester semester;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "min_points", nullable = false)
+    private Integer minPoints;
+}
@@ -0,0 +1,39 @@
+package com.example.pensamientoComputacional.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A student's points and position in a group from {@code recordedAt} until the next
+ * entry for the same student; entries are only written when one of them changes.
+ */
+@Entity
+@Table(name = "leaderboard_rank_history",
+        indexes = @Index(name = "idx_leaderboard_rank_history_group_student_at", columnList = "group_name, student_id, recorded_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankHistoryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_name", nullable = false, length = 100)
+    private String groupName;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private Integer points;
+
+    @Column(name = "rank_position", nullable = false)
+    private Integer rankPosition;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,37 @@
+package com.example.pensamientoComputacional.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Position of an incremental job in the (updated_at, id) order of the rows it scans.
+ */
+@Entity
+@Table(name = "reconciliation_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationWatermark {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "watermark_at", nullable = false)
+    private LocalDateTime watermarkAt;
+
+    @Column(name = "watermark_id", nullable = false)
+    private Long watermarkId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
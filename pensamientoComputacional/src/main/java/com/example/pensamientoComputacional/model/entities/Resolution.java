@@ -1,5 +1,6 @@
 package com.example.pensamientoComputacional.model.entities;
 
+import com.example.pensamientoComputacional.model.util.ResolutionCodeHash;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "resolutions")
+@Table(name = "resolutions", uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "exercise_id", "attempt_no"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,8 +45,22 @@ public class Resolution {
     @Column(columnDefinition = "TEXT")
     private String code; // Student's code submission or QR/alphanumeric code
     
+    @Column(name = "code_hash", length = 64)
+    private String codeHash; // Normalized code digest, indexed for redemption
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt; // Last write; watermark for performance reconciliation
+    
     @PrePersist
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
+        updatedAt = submittedAt;
+        codeHash = ResolutionCodeHash.of(code);
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        codeHash = ResolutionCodeHash.of(code);
     }
 }
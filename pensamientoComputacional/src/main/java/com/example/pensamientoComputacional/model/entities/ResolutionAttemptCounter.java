@@ -0,0 +1,35 @@
+package com.example.pensamientoComputacional.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+
+@Entity
+@Table(name = "resolution_attempt_counters")
+@IdClass(ResolutionAttemptCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolutionAttemptCounter {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Id
+    @Column(name = "exercise_id")
+    private Long exerciseId;
+
+    @Column(name = "last_attempt_no", nullable = false)
+    private Integer lastAttemptNo;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long studentId;
+        private Long exerciseId;
+    }
+}
@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "scoreboard_events")
+@Table(name = "scoreboard_events",
+        indexes = @Index(name = "idx_scoreboard_events_activity_id_id", columnList = "activity_id, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "student_performance")
+@Table(name = "student_performance", uniqueConstraints = @UniqueConstraint(columnNames = "student_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
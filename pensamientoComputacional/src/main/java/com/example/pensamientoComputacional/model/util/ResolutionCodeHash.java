@@ -0,0 +1,42 @@
+package com.example.pensamientoComputacional.model.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * SHA-256 of a validation code after trimming and lower-casing, so a typed code
+ * can be looked up by index with the same leniency as {@code trim().equalsIgnoreCase}.
+ */
+public final class ResolutionCodeHash {
+
+    private ResolutionCodeHash() {
+    }
+
+    public static String normalize(String code) {
+        return code == null ? "" : code.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the hex digest, or null for a blank code (blank codes are never redeemable)
+     */
+    public static String of(String code) {
+        String normalized = normalize(code);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static boolean matches(String storedCode, String providedCode) {
+        String stored = normalize(storedCode);
+        return !stored.isEmpty() && stored.equals(normalize(providedCode));
+    }
+}
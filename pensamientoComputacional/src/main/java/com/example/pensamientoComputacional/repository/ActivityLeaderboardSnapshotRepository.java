@@ -0,0 +1,22 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.entities.ActivityLeaderboardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ActivityLeaderboardSnapshotRepository extends JpaRepository<ActivityLeaderboardSnapshot, Long> {
+
+    List<ActivityLeaderboardSnapshot> findByActivityIdOrderByRankPositionAsc(Long activityId);
+
+    boolean existsByActivityId(Long activityId);
+
+    @Modifying
+    @Query("DELETE FROM ActivityLeaderboardSnapshot s WHERE s.activityId = :activityId")
+    int deleteByActivityId(@Param("activityId") Long activityId);
+}
@@ -1,9 +1,23 @@
 package com.example.pensamientoComputacional.repository;
 
 import com.example.pensamientoComputacional.model.entities.Activity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
+
+    @Query("SELECT a.group.id FROM Activity a WHERE a.id = :activityId")
+    Optional<Long> findGroupIdById(@Param("activityId") Long activityId);
+
+    // Row lock held until commit, so concurrent writers for one activity take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Activity a WHERE a.id = :activityId")
+    Optional<Activity> findForUpdateById(@Param("activityId") Long activityId);
 }
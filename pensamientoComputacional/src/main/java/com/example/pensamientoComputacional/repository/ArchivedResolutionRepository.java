@@ -0,0 +1,86 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto;
+import com.example.pensamientoComputacional.model.entities.ArchivedResolution;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedResolutionRepository extends JpaRepository<ArchivedResolution, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto(" +
+            "a.id, a.studentId, a.exerciseId, a.activityId, a.pointsAwarded, a.awardedBy, a.status, a.attemptNo, " +
+            "a.submittedAt, CASE WHEN LENGTH(a.code) > 0 THEN true ELSE false END) " +
+            "FROM ArchivedResolution a ";
+    String SUMMARY_ORDER = " ORDER BY a.submittedAt ASC, a.id ASC";
+    // Same (submitted_at, id) keyset as ResolutionRepository, so hot and archived pages merge on one cursor
+    String AFTER_KEY = "(a.submittedAt, a.id) > (:submittedAt, :id)";
+
+    // Copies a semester's resolutions in one statement; the caller deletes them from the hot table afterwards
+    @Modifying
+    @Query("INSERT INTO ArchivedResolution (id, studentId, exerciseId, activityId, semesterId, pointsAwarded, " +
+           "awardedBy, status, attemptNo, submittedAt, code, codeHash, archivedAt) " +
+           "SELECT r.id, r.student.id, e.id, act.id, g.semester.id, r.pointsAwarded, r.awardedBy.id, r.status, " +
+           "r.attemptNo, r.submittedAt, r.code, r.codeHash, :archivedAt " +
+           "FROM Resolution r JOIN r.exercise e JOIN e.activity act JOIN act.group g " +
+           "WHERE g.semester.id = :semesterId")
+    int copySemester(@Param("semesterId") Long semesterId, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE a.studentId = :studentId" + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByStudentId(@Param("studentId") Long studentId);
+
+    @Query(SUMMARY_SELECT + "WHERE a.activityId = :activityId" + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByActivityId(@Param("activityId") Long activityId);
+
+    @Query(SUMMARY_SELECT + "WHERE " + AFTER_KEY + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesAfter(@Param("submittedAt") LocalDateTime submittedAt,
+                                                  @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.studentId = :studentId AND " + AFTER_KEY + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByStudentIdAfter(@Param("studentId") Long studentId,
+                                                             @Param("submittedAt") LocalDateTime submittedAt,
+                                                             @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.activityId = :activityId AND " + AFTER_KEY + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByActivityIdAfter(@Param("activityId") Long activityId,
+                                                              @Param("submittedAt") LocalDateTime submittedAt,
+                                                              @Param("id") Long id, Limit limit);
+
+    // Cursor-backed streams for NDJSON export; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    Stream<ResolutionSummaryDto> streamAllSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "WHERE a.studentId = :studentId" + SUMMARY_ORDER)
+    Stream<ResolutionSummaryDto> streamSummariesByStudentId(@Param("studentId") Long studentId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "WHERE a.activityId = :activityId" + SUMMARY_ORDER)
+    Stream<ResolutionSummaryDto> streamSummariesByActivityId(@Param("activityId") Long activityId);
+
+    // Rows of [studentId, total points]
+    @Query("SELECT a.studentId, SUM(a.pointsAwarded) FROM ArchivedResolution a " +
+           "WHERE a.status = 'COMPLETED' AND a.pointsAwarded IS NOT NULL GROUP BY a.studentId")
+    List<Object[]> sumCompletedPointsByStudent();
+
+    // Rows of [studentId, total points]
+    @Query("SELECT a.studentId, SUM(a.pointsAwarded) FROM ArchivedResolution a WHERE a.studentId IN :studentIds " +
+           "AND a.status = 'COMPLETED' AND a.pointsAwarded IS NOT NULL GROUP BY a.studentId")
+    List<Object[]> sumCompletedPointsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,22 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.entities.ArchivedScoreboardEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ArchivedScoreboardEventRepository extends JpaRepository<ArchivedScoreboardEvent, Long> {
+
+    @Modifying
+    @Query("INSERT INTO ArchivedScoreboardEvent (id, activityId, studentId, exerciseId, userId, semesterId, " +
+           "message, createdAt, archivedAt) " +
+           "SELECT s.id, act.id, s.student.id, s.exercise.id, s.user.id, g.semester.id, s.message, s.createdAt, :archivedAt " +
+           "FROM ScoreboardEvent s JOIN s.activity act JOIN act.group g " +
+           "WHERE g.semester.id = :semesterId")
+    int copySemester(@Param("semesterId") Long semesterId, @Param("archivedAt") LocalDateTime archivedAt);
+}
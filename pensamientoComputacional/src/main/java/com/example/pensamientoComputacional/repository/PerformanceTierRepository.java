@@ -0,0 +1,33 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.entities.PerformanceTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PerformanceTierRepository extends JpaRepository<PerformanceTier, Long> {
+
+    List<PerformanceTier> findBySemesterIdOrderByMinPointsAsc(Long semesterId);
+
+    List<PerformanceTier> findBySemesterIsNullOrderByMinPointsAsc();
+
+    // One row of [tier rows, highest tier id, effective semester]: ids only grow, so any replace or delete
+    // changes the first two, and the third is the active semester whose own tiers apply, if any
+    @Query(value = "SELECT COUNT(*), COALESCE(MAX(t.id), 0), (SELECT MIN(s.id) FROM semesters s " +
+                   "WHERE s.is_active = TRUE AND EXISTS (SELECT 1 FROM performance_tiers o WHERE o.semester_id = s.id)) " +
+                   "FROM performance_tiers t", nativeQuery = true)
+    List<Object[]> findVersion();
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM PerformanceTier t WHERE t.semester.id = :semesterId")
+    int deleteBySemesterId(@Param("semesterId") Long semesterId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM PerformanceTier t WHERE t.semester IS NULL")
+    int deleteDefaults();
+}
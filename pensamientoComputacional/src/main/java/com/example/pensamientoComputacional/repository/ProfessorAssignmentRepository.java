@@ -13,6 +13,9 @@ import java.util.List;
 @Repository
 public interface ProfessorAssignmentRepository extends JpaRepository<ProfessorAssignment, Long> {
     List<ProfessorAssignment> findByProfessorId(Long professorId);
+
+    @Query("SELECT pa.group.id FROM ProfessorAssignment pa WHERE pa.professor.id = :professorId")
+    List<Long> findGroupIdsByProfessorId(@Param("professorId") Long professorId);
     
     @Modifying
     @Transactional
@@ -0,0 +1,53 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.dto.RankHistoryView;
+import com.example.pensamientoComputacional.model.entities.RankHistoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RankHistoryRepository extends JpaRepository<RankHistoryEntry, Long> {
+
+    String VIEW_COLUMNS = "SELECT group_name AS groupName, student_id AS studentId, points, " +
+            "rank_position AS rankPosition, recorded_at AS recordedAt FROM (";
+    String NEWEST_FIRST = " ORDER BY h.recorded_at DESC, h.id DESC) AS rn FROM leaderboard_rank_history h ";
+    // Entry in effect when the range starts, per student
+    String LATEST_BEFORE = VIEW_COLUMNS + "SELECT h.*, ROW_NUMBER() OVER (PARTITION BY h.student_id" + NEWEST_FIRST +
+            "WHERE h.group_name = :groupName AND h.recorded_at < :from";
+    // Last entry of each student in each bucket of :bucketSeconds from :from; entries hold until the
+    // next one, so that is the value at the bucket's end. Both epochs come from the database to agree on the zone.
+    String LAST_PER_BUCKET = VIEW_COLUMNS + "SELECT h.*, ROW_NUMBER() OVER (PARTITION BY h.student_id, " +
+            "FLOOR((EXTRACT(EPOCH FROM h.recorded_at) - EXTRACT(EPOCH FROM CAST(:from AS TIMESTAMP))) / :bucketSeconds)" +
+            NEWEST_FIRST + "WHERE h.group_name = :groupName AND h.recorded_at >= :from AND h.recorded_at <= :to";
+    String FIRST_ROW = ") ranked WHERE rn = 1";
+    String IN_TIME_ORDER = FIRST_ROW + " ORDER BY studentId, recordedAt";
+
+    // Served by idx_leaderboard_rank_history_group_student_at
+    @Query(value = VIEW_COLUMNS + "SELECT h.*, ROW_NUMBER() OVER (PARTITION BY h.group_name, h.student_id" +
+                   NEWEST_FIRST + FIRST_ROW, nativeQuery = true)
+    List<RankHistoryView> findLatestPerStudent();
+
+    @Query(value = LATEST_BEFORE + FIRST_ROW, nativeQuery = true)
+    List<RankHistoryView> findLatestBefore(@Param("groupName") String groupName, @Param("from") LocalDateTime from);
+
+    @Query(value = LATEST_BEFORE + " AND h.student_id = :studentId" + FIRST_ROW, nativeQuery = true)
+    List<RankHistoryView> findLatestBeforeForStudent(@Param("groupName") String groupName,
+                                                     @Param("studentId") Long studentId,
+                                                     @Param("from") LocalDateTime from);
+
+    @Query(value = LAST_PER_BUCKET + IN_TIME_ORDER, nativeQuery = true)
+    List<RankHistoryView> findDownsampled(@Param("groupName") String groupName, @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to, @Param("bucketSeconds") long bucketSeconds);
+
+    @Query(value = LAST_PER_BUCKET + " AND h.student_id = :studentId" + IN_TIME_ORDER, nativeQuery = true)
+    List<RankHistoryView> findDownsampledForStudent(@Param("groupName") String groupName,
+                                                    @Param("studentId") Long studentId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("bucketSeconds") long bucketSeconds);
+}
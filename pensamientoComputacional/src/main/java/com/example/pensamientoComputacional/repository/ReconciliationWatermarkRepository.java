@@ -0,0 +1,9 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.entities.ReconciliationWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReconciliationWatermarkRepository extends JpaRepository<ReconciliationWatermark, String> {
+}
@@ -0,0 +1,29 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.entities.ResolutionAttemptCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResolutionAttemptCounterRepository extends JpaRepository<ResolutionAttemptCounter, ResolutionAttemptCounter.Key> {
+
+    // Takes the row lock, so concurrent allocations for the same pair serialize on it
+    @Modifying
+    @Query("UPDATE ResolutionAttemptCounter c SET c.lastAttemptNo = c.lastAttemptNo + :count " +
+           "WHERE c.studentId = :studentId AND c.exerciseId = :exerciseId")
+    int increment(@Param("studentId") Long studentId, @Param("exerciseId") Long exerciseId, @Param("count") int count);
+
+    // Plain INSERT (not merge) so a concurrent creator of the same row fails instead of being overwritten
+    @Modifying
+    @Query(value = "INSERT INTO resolution_attempt_counters (student_id, exercise_id, last_attempt_no) " +
+                   "VALUES (:studentId, :exerciseId, :lastAttemptNo)", nativeQuery = true)
+    int insert(@Param("studentId") Long studentId, @Param("exerciseId") Long exerciseId,
+               @Param("lastAttemptNo") int lastAttemptNo);
+
+    @Query("SELECT c.lastAttemptNo FROM ResolutionAttemptCounter c " +
+           "WHERE c.studentId = :studentId AND c.exerciseId = :exerciseId")
+    Integer findLastAttemptNo(@Param("studentId") Long studentId, @Param("exerciseId") Long exerciseId);
+}
@@ -1,9 +1,149 @@
 package com.example.pensamientoComputacional.repository;
 
+import com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto;
 import com.example.pensamientoComputacional.model.entities.Resolution;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ResolutionRepository extends JpaRepository<Resolution, Long> {
+
+    // Summary rows for list endpoints: only scalar columns, never the code TEXT column
+    String SUMMARY_SELECT = "SELECT new com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto(" +
+            "r.id, r.student.id, e.id, e.activity.id, r.pointsAwarded, r.awardedBy.id, r.status, r.attemptNo, " +
+            "r.submittedAt, CASE WHEN LENGTH(r.code) > 0 THEN true ELSE false END) " +
+            "FROM Resolution r JOIN r.exercise e ";
+    String SUMMARY_ORDER = " ORDER BY r.submittedAt ASC, r.id ASC";
+    // Keyset predicate on (submitted_at, id); matches the composite indexes so each page is a range scan
+    String AFTER_KEY = "(r.submittedAt, r.id) > (:submittedAt, :id)";
+
+    // Exercise -> Activity -> Group -> Semester are EAGER; fetch them in the same statement to avoid N+1 selects
+    @Query("SELECT r FROM Resolution r JOIN FETCH r.exercise e LEFT JOIN FETCH e.activity a " +
+           "LEFT JOIN FETCH a.group g LEFT JOIN FETCH g.semester " +
+           "WHERE r.student.id = :studentId ORDER BY r.submittedAt ASC, r.id ASC")
+    List<Resolution> findByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT r FROM Resolution r JOIN FETCH r.exercise e JOIN FETCH e.activity a " +
+           "LEFT JOIN FETCH a.group g LEFT JOIN FETCH g.semester " +
+           "WHERE a.id = :activityId ORDER BY r.submittedAt ASC, r.id ASC")
+    List<Resolution> findByActivityId(@Param("activityId") Long activityId);
+
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE r.student.id = :studentId" + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByStudentId(@Param("studentId") Long studentId);
+
+    @Query(SUMMARY_SELECT + "WHERE e.activity.id = :activityId" + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByActivityId(@Param("activityId") Long activityId);
+
+    @Query(SUMMARY_SELECT + "WHERE " + AFTER_KEY + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesAfter(@Param("submittedAt") LocalDateTime submittedAt,
+                                                  @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE r.student.id = :studentId AND " + AFTER_KEY + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByStudentIdAfter(@Param("studentId") Long studentId,
+                                                             @Param("submittedAt") LocalDateTime submittedAt,
+                                                             @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE e.activity.id = :activityId AND " + AFTER_KEY + SUMMARY_ORDER)
+    List<ResolutionSummaryDto> findSummariesByActivityIdAfter(@Param("activityId") Long activityId,
+                                                              @Param("submittedAt") LocalDateTime submittedAt,
+                                                              @Param("id") Long id, Limit limit);
+
+    // Cursor-backed streams for NDJSON export; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    Stream<ResolutionSummaryDto> streamAllSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "WHERE r.student.id = :studentId" + SUMMARY_ORDER)
+    Stream<ResolutionSummaryDto> streamSummariesByStudentId(@Param("studentId") Long studentId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "WHERE e.activity.id = :activityId" + SUMMARY_ORDER)
+    Stream<ResolutionSummaryDto> streamSummariesByActivityId(@Param("activityId") Long activityId);
+
+    @Query("SELECT COALESCE(MAX(r.attemptNo), 0) FROM Resolution r " +
+           "WHERE r.student.id = :studentId AND r.exercise.id = :exerciseId")
+    int findMaxAttemptNo(@Param("studentId") Long studentId, @Param("exerciseId") Long exerciseId);
+
+    // Batch grading preload; the IN cross product may return pairs outside the batch, callers filter them
+    @Query("SELECT r FROM Resolution r WHERE r.status = :status " +
+           "AND r.student.id IN :studentIds AND r.exercise.id IN :exerciseIds ORDER BY r.id ASC")
+    List<Resolution> findByStatusAndStudentIdsAndExerciseIds(@Param("status") String status,
+                                                             @Param("studentIds") Collection<Long> studentIds,
+                                                             @Param("exerciseIds") Collection<Long> exerciseIds);
+
+    // Deletes exactly the rows one archive run copied, so a resolution inserted after the copy stays in the hot table
+    @Modifying
+    @Query("DELETE FROM Resolution r WHERE r.id IN (SELECT a.id FROM ArchivedResolution a " +
+           "WHERE a.semesterId = :semesterId AND a.archivedAt = :archivedAt)")
+    int deleteArchived(@Param("semesterId") Long semesterId, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Rows of [studentId, total points]
+    @Query("SELECT r.student.id, SUM(r.pointsAwarded) FROM Resolution r " +
+           "WHERE r.status = 'COMPLETED' AND r.pointsAwarded IS NOT NULL GROUP BY r.student.id")
+    List<Object[]> sumCompletedPointsByStudent();
+
+    // Rows of [resolutionId, studentId, studentName, pointsAwarded, submittedAt] for an activity leaderboard
+    @Query("SELECT r.id, s.id, u.name, r.pointsAwarded, r.submittedAt FROM Resolution r " +
+           "JOIN r.student s JOIN s.user u JOIN r.exercise e " +
+           "WHERE e.activity.id = :activityId AND r.status = 'COMPLETED'")
+    List<Object[]> findCompletedForActivityLeaderboard(@Param("activityId") Long activityId);
+
+    // One row of [studentId, studentName, pointsAwarded, submittedAt] if the resolution is COMPLETED; scalar,
+    // so it reads the database row even when the persistence context holds an older copy of the entity
+    @Query("SELECT s.id, u.name, r.pointsAwarded, r.submittedAt FROM Resolution r " +
+           "JOIN r.student s JOIN s.user u WHERE r.id = :id AND r.status = 'COMPLETED'")
+    List<Object[]> findCompletedForActivityLeaderboardById(@Param("id") Long id);
+
+    // One row of [status, pointsAwarded] as stored; COMMIT flush mode keeps pending changes to the entity out of it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT r.status, r.pointsAwarded FROM Resolution r WHERE r.id = :id")
+    List<Object[]> findStoredGradeById(@Param("id") Long id);
+
+    // Served by idx_resolutions_student_code_hash
+    Optional<Resolution> findFirstByStudentIdAndCodeHashAndStatusOrderByIdAsc(Long studentId, String codeHash, String status);
+
+    // Conditional transition: only one of several concurrent redemptions sees a row count of 1
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Resolution r SET r.status = :newStatus, r.updatedAt = LOCAL DATETIME " +
+           "WHERE r.id = :id AND r.status = :expectedStatus")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("expectedStatus") String expectedStatus,
+                              @Param("newStatus") String newStatus);
+
+    @Query("SELECT r FROM Resolution r WHERE r.id > :afterId AND r.codeHash IS NULL AND LENGTH(r.code) > 0 ORDER BY r.id ASC")
+    List<Resolution> findWithoutCodeHash(@Param("afterId") Long afterId, Limit limit);
+
+    // Reconciliation watermark scan: rows written after (updatedAt, id), up to a settle cutoff
+    @Query("SELECT r.id, r.student.id, r.updatedAt FROM Resolution r " +
+           "WHERE (r.updatedAt, r.id) > (:updatedAt, :id) AND r.updatedAt <= :upTo " +
+           "ORDER BY r.updatedAt ASC, r.id ASC")
+    List<Object[]> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                    @Param("upTo") LocalDateTime upTo, Limit limit);
+
+    // Rows of [studentId, COMPLETED points] over the hot and archive tables for the given students
+    @Query(value = "SELECT student_id, SUM(points_awarded) FROM (" +
+                   "SELECT student_id, points_awarded FROM resolutions " +
+                   "WHERE status = 'COMPLETED' AND student_id IN (:studentIds) " +
+                   "UNION ALL SELECT student_id, points_awarded FROM resolutions_archive " +
+                   "WHERE status = 'COMPLETED' AND student_id IN (:studentIds)" +
+                   ") earned GROUP BY student_id", nativeQuery = true)
+    List<Object[]> sumCompletedPointsForStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    Optional<Resolution> findFirstByStudentIdAndExerciseIdAndStatusOrderByIdAsc(Long studentId, Long exerciseId, String status);
 }
@@ -1,9 +1,31 @@
 package com.example.pensamientoComputacional.repository;
 
+import com.example.pensamientoComputacional.model.dto.ScoreboardEventDto;
 import com.example.pensamientoComputacional.model.entities.ScoreboardEvent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface ScoreboardEventRepository extends JpaRepository<ScoreboardEvent, Long> {
+
+    // Deletes exactly the rows one archive run copied, so an event inserted after the copy stays in the hot table
+    @Modifying
+    @Query("DELETE FROM ScoreboardEvent s WHERE s.id IN (SELECT a.id FROM ArchivedScoreboardEvent a " +
+           "WHERE a.semesterId = :semesterId AND a.archivedAt = :archivedAt)")
+    int deleteArchived(@Param("semesterId") Long semesterId, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Replay page; served by idx_scoreboard_events_activity_id_id as a range scan
+    @Query("SELECT new com.example.pensamientoComputacional.model.dto.ScoreboardEventDto(" +
+           "s.id, s.activity.id, st.id, u.name, s.exercise.id, s.message, s.createdAt) " +
+           "FROM ScoreboardEvent s JOIN s.student st JOIN st.user u " +
+           "WHERE s.activity.id = :activityId AND s.id > :afterId ORDER BY s.id ASC")
+    List<ScoreboardEventDto> findByActivityIdAfter(@Param("activityId") Long activityId,
+                                                   @Param("afterId") Long afterId, Limit limit);
 }
@@ -4,6 +4,8 @@ import com.example.pensamientoComputacional.model.entities.Group;
 import com.example.pensamientoComputacional.model.entities.Student;
 import com.example.pensamientoComputacional.model.entities.StudentEnrollment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +16,7 @@ public interface StudentEnrollmentRepository extends JpaRepository<StudentEnroll
     List<StudentEnrollment> findByGroupAndIsActiveTrue(Group group);
     List<StudentEnrollment> findByStudentAndIsActiveTrue(Student student);
     Optional<StudentEnrollment> findByStudentAndGroupAndIsActiveTrue(Student student, Group group);
+
+    @Query("SELECT e.group.id FROM StudentEnrollment e WHERE e.student.id = :studentId AND e.isActive = true")
+    List<Long> findActiveGroupIdsByStudentId(@Param("studentId") Long studentId);
 }
@@ -2,9 +2,47 @@ package com.example.pensamientoComputacional.repository;
 
 import com.example.pensamientoComputacional.model.entities.StudentPerformance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface StudentPerformanceRepository extends JpaRepository<StudentPerformance, Long> {
     StudentPerformance findByStudent(com.example.pensamientoComputacional.model.entities.Student student);
+
+    @Modifying
+    @Query(value = "UPDATE student_performance SET total_points = total_points + :points, " +
+                   "updated_at = CURRENT_TIMESTAMP WHERE student_id = :studentId", nativeQuery = true)
+    int addPoints(@Param("studentId") Long studentId, @Param("points") int points);
+
+    @Modifying
+    @Query(value = "INSERT INTO student_performance (student_id, total_points, category, updated_at) " +
+                   "SELECT :studentId, 0, :category, CURRENT_TIMESTAMP " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM student_performance WHERE student_id = :studentId)", nativeQuery = true)
+    int insertIfAbsent(@Param("studentId") Long studentId, @Param("category") String category);
+
+    // Rows of [studentId, totalPoints]
+    @Query("SELECT sp.student.id, sp.totalPoints FROM StudentPerformance sp")
+    List<Object[]> findAllTotals();
+
+    // Rows of [studentId, totalPoints]
+    @Query("SELECT sp.student.id, sp.totalPoints FROM StudentPerformance sp WHERE sp.student.id IN :studentIds")
+    List<Object[]> findTotalsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    // One row of [students in the group, latest updated_at, sum of their totals]
+    @Query("SELECT COUNT(s), MAX(sp.updatedAt), COALESCE(SUM(sp.totalPoints), 0) FROM Student s " +
+           "LEFT JOIN StudentPerformance sp ON sp.student = s WHERE s.user.group = :groupName")
+    List<Object[]> findGroupVersion(@Param("groupName") String groupName);
+
+    // Marks the students with points in an archive run, whose unarchived points just changed
+    @Modifying
+    @Query(value = "UPDATE student_performance SET updated_at = CURRENT_TIMESTAMP WHERE student_id IN " +
+                   "(SELECT student_id FROM resolutions_archive WHERE semester_id = :semesterId " +
+                   "AND archived_at = :archivedAt AND status = 'COMPLETED')", nativeQuery = true)
+    int touchArchived(@Param("semesterId") Long semesterId, @Param("archivedAt") LocalDateTime archivedAt);
 }
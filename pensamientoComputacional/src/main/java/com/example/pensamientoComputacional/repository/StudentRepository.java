@@ -1,9 +1,80 @@
 package com.example.pensamientoComputacional.repository;
 
+import com.example.pensamientoComputacional.model.dto.GroupNeighbourView;
+import com.example.pensamientoComputacional.model.dto.GroupStandingView;
 import com.example.pensamientoComputacional.model.entities.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+
+    // COMPLETED points per student across the hot and archive tables. Correlated sums are
+    // index lookups per student (idx_resolutions_student_id, idx_resolutions_archive_student_id),
+    // so a group filter only aggregates that group's rows.
+    String STUDENT_TOTALS =
+            "SELECT u.group_name AS group_name, s.user_id AS student_id, " +
+            "COALESCE((SELECT SUM(r.points_awarded) FROM resolutions r " +
+            "WHERE r.student_id = s.user_id AND r.status = 'COMPLETED'), 0) + " +
+            "COALESCE((SELECT SUM(a.points_awarded) FROM resolutions_archive a " +
+            "WHERE a.student_id = s.user_id AND a.status = 'COMPLETED'), 0) AS total_points " +
+            "FROM students s JOIN users u ON u.id = s.user_id WHERE u.group_name IS NOT NULL";
+    // Points of semesters not yet archived, ranked like the group boards: student_performance total
+    // minus archived COMPLETED points. /all and /group/{g} read the same rows, so they agree even
+    // while the totals drift from resolutions and the reconciler has not repaired them yet.
+    String STUDENT_HOT_TOTALS =
+            "SELECT u.group_name AS group_name, s.user_id AS student_id, " +
+            "COALESCE((SELECT sp.total_points FROM student_performance sp WHERE sp.student_id = s.user_id), 0) - " +
+            "COALESCE((SELECT SUM(a.points_awarded) FROM resolutions_archive a " +
+            "WHERE a.student_id = s.user_id AND a.status = 'COMPLETED'), 0) AS total_points " +
+            "FROM students s JOIN users u ON u.id = s.user_id WHERE u.group_name IS NOT NULL";
+    // The student id tie-break makes RANK() return exactly :limit rows per group
+    String RANKED_STANDINGS = "SELECT group_name, student_id, total_points, " +
+            "RANK() OVER (PARTITION BY group_name ORDER BY total_points DESC, student_id ASC) AS student_rank FROM (";
+    String TOP_STANDINGS = "SELECT group_name AS groupName, student_id AS studentId, " +
+            "total_points AS totalPoints, student_rank AS studentRank FROM (" + RANKED_STANDINGS;
+
+    @Query(value = "SELECT user_id FROM students WHERE user_id = :studentId FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("studentId") Long studentId);
+
+    @Query("SELECT s.id FROM Student s ORDER BY s.id ASC")
+    List<Long> findAllIds();
+
+    @Query("SELECT s FROM Student s JOIN FETCH s.user u WHERE u.group = :groupName")
+    List<Student> findByGroupName(@Param("groupName") String groupName);
+
+    @Query("SELECT DISTINCT s.user.group FROM Student s WHERE s.user.group IS NOT NULL")
+    List<String> findGroupNames();
+
+    @Query(value = TOP_STANDINGS + STUDENT_TOTALS + ") totals) ranked " +
+            "WHERE student_rank <= :limit ORDER BY group_name, student_rank", nativeQuery = true)
+    List<GroupStandingView> findTopStandingsPerGroup(@Param("limit") int limit);
+
+    @Query(value = TOP_STANDINGS + STUDENT_HOT_TOTALS + ") totals) ranked " +
+            "WHERE student_rank <= :limit ORDER BY group_name, student_rank", nativeQuery = true)
+    List<GroupStandingView> findTopHotStandingsPerGroup(@Param("limit") int limit);
+
+    @Query(value = TOP_STANDINGS + STUDENT_TOTALS + " AND u.group_name = :groupName) totals) ranked " +
+            "WHERE student_rank <= :limit ORDER BY student_rank", nativeQuery = true)
+    List<GroupStandingView> findTopStandingsInGroup(@Param("groupName") String groupName, @Param("limit") int limit);
+
+    @Query(value = TOP_STANDINGS + STUDENT_HOT_TOTALS + " AND u.group_name = :groupName) totals) ranked " +
+            "WHERE student_rank <= :limit ORDER BY student_rank", nativeQuery = true)
+    List<GroupStandingView> findTopHotStandingsInGroup(@Param("groupName") String groupName, @Param("limit") int limit);
+
+    // The student's standing and those within :window ranks of it; empty if the student is not in the group
+    @Query(value = "SELECT group_name AS groupName, student_id AS studentId, total_points AS totalPoints, " +
+            "student_rank AS studentRank, group_size AS groupSize FROM (" +
+            "SELECT ranked.*, COUNT(*) OVER () AS group_size, " +
+            "MAX(CASE WHEN student_id = :studentId THEN student_rank END) OVER () AS own_rank FROM (" +
+            RANKED_STANDINGS + STUDENT_HOT_TOTALS + " AND u.group_name = :groupName) totals) ranked) around " +
+            "WHERE student_rank BETWEEN own_rank - :window AND own_rank + :window ORDER BY student_rank",
+            nativeQuery = true)
+    List<GroupNeighbourView> findHotNeighbourhoodInGroup(@Param("groupName") String groupName,
+                                                         @Param("studentId") Long studentId,
+                                                         @Param("window") int window);
 }
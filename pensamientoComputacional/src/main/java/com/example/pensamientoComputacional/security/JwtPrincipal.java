@@ -0,0 +1,20 @@
+package com.example.pensamientoComputacional.security;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * User of a STOMP session, built from the claims of the access token presented at CONNECT.
+ * The name is the email, as for {@link CustomUserDetails}.
+ */
+public record JwtPrincipal(Long userId, String email, String displayName, Set<Long> groupIds) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isMemberOf(Long groupId) {
+        return groupIds.contains(groupId);
+    }
+}
@@ -11,12 +11,18 @@ import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -43,6 +49,14 @@ public class JwtTokenProvider {
     }
 
     public String generateToken(User user) {
+        return generateToken(user, List.of());
+    }
+
+    /**
+     * Access token that also carries the ids of the groups the user belongs to, so a STOMP
+     * session can be authorized from the token alone.
+     */
+    public String generateToken(User user, Collection<Long> groupIds) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
@@ -63,6 +77,7 @@ public class JwtTokenProvider {
                 .claim("name", user.getName())
                 .claim("roles", roles)
                 .claim("permissions", permissions)
+                .claim("groups", groupIds)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .setIssuer(jwtIssuer)
@@ -188,4 +203,42 @@ public class JwtTokenProvider {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds an authenticated principal from the claims of an access token in a single
+     * parse, without loading the user from the database. Throws if the token is invalid,
+     * expired or a refresh token.
+     */
+    public UsernamePasswordAuthenticationToken getAuthenticationFromToken(String token) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        if ("refresh".equals(claims.get("type", String.class))) {
+            throw new UnsupportedJwtException("Refresh token used as access token");
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        List<Object> roles = claims.get("roles", List.class);
+        if (roles != null) {
+            roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> permissions = claims.get("permissions", List.class);
+        if (permissions != null) {
+            permissions.forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.toString())));
+        }
+        @SuppressWarnings("unchecked")
+        List<Number> groups = claims.get("groups", List.class);
+        Set<Long> groupIds = groups != null
+                ? groups.stream().map(Number::longValue).collect(Collectors.toUnmodifiableSet())
+                : Set.of();
+
+        JwtPrincipal principal = new JwtPrincipal(Long.parseLong(claims.getSubject()),
+                claims.get("email", String.class), claims.get("name", String.class), groupIds);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.pensamientoComputacional.security;
+
+import com.example.pensamientoComputacional.service.ActivityGroupCache;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Authenticates STOMP sessions and guards the activity scoreboards. The bearer token in the
+ * CONNECT frame is validated once and the principal built from its claims is set as the
+ * session user, which Spring then attaches to every later frame of that session. Subscribing
+ * to, or sending to, an activity scoreboard requires the user to belong to the activity's
+ * group, as listed in the token, or to be an admin; the activity's group comes from
+ * {@link ActivityGroupCache}. Clients may only send to application destinations (/app):
+ * the broker topics are written by the server alone. Subscriptions under the broker prefixes
+ * may not use patterns, which the simple broker would otherwise match against every
+ * activity's topic, past the group check.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    static final String TOPIC_PREFIX = "/topic/scoreboard/activity/";
+    static final List<String> BROKER_PREFIXES = List.of("/topic", "/queue");
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtTokenProvider tokenProvider;
+    private final ActivityGroupCache activityGroupCache;
+    private final boolean allowAnonymous;
+    private final boolean allowBrokerSend;
+
+    public StompAuthChannelInterceptor(JwtTokenProvider tokenProvider,
+                                       ActivityGroupCache activityGroupCache,
+                                       @Value("${app.websocket.allow-anonymous:false}") boolean allowAnonymous,
+                                       @Value("${app.websocket.allow-broker-send:false}") boolean allowBrokerSend) {
+        this.tokenProvider = tokenProvider;
+        this.activityGroupCache = activityGroupCache;
+        this.allowAnonymous = allowAnonymous;
+        this.allowBrokerSend = allowBrokerSend;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT, STOMP -> authenticate(accessor);
+            case SUBSCRIBE -> {
+                if (isBrokerDestination(accessor.getDestination()) && isPattern(accessor.getDestination())) {
+                    throw new AccessDeniedException("No se permiten comodines en la suscripción: " + accessor.getDestination());
+                }
+                authorize(accessor.getUser(), activityId(accessor.getDestination(), TOPIC_PREFIX));
+            }
+            case SEND -> {
+                if (!allowBrokerSend && isBrokerDestination(accessor.getDestination())) {
+                    throw new AccessDeniedException("Solo se puede enviar a destinos /app: " + accessor.getDestination());
+                }
+                authorize(accessor.getUser(), activityId(accessor.getDestination(), TOPIC_PREFIX));
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (!StringUtils.hasText(header) || !header.startsWith(BEARER)) {
+            if (allowAnonymous) {
+                return;
+            }
+            throw new BadCredentialsException("Se requiere un token de acceso para conectarse");
+        }
+        try {
+            accessor.setUser(tokenProvider.getAuthenticationFromToken(header.substring(BEARER.length())));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Token de acceso inválido o expirado", e);
+        }
+    }
+
+    private void authorize(Principal user, Optional<Long> activityId) {
+        if (activityId.isEmpty()) {
+            return;
+        }
+        if (!(user instanceof UsernamePasswordAuthenticationToken authentication)
+                || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
+            throw new AccessDeniedException("Se requiere autenticación para el scoreboard de la actividad");
+        }
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (admin) {
+            return;
+        }
+        Long groupId = activityGroupCache.getGroupId(activityId.get())
+                .orElseThrow(() -> new AccessDeniedException("Actividad no encontrada"));
+        if (!principal.isMemberOf(groupId)) {
+            throw new AccessDeniedException("No perteneces al grupo de la actividad " + activityId.get());
+        }
+    }
+
+    // Plain prefix match, as the broker uses to pick the messages it handles
+    static boolean isBrokerDestination(String destination) {
+        return destination != null && BROKER_PREFIXES.stream().anyMatch(destination::startsWith);
+    }
+
+    // Ant-style patterns and URI template variables, as the simple broker's PathMatcher reads them
+    private static boolean isPattern(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0;
+    }
+
+    // Empty when the destination is not an activity scoreboard; -1 for a malformed id, which no activity has
+    static Optional<Long> activityId(String destination, String prefix) {
+        if (destination == null || !destination.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(destination.substring(prefix.length())));
+        } catch (NumberFormatException e) {
+            return Optional.of(-1L);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.repository.ProfessorAssignmentRepository;
+import com.example.pensamientoComputacional.repository.StudentEnrollmentRepository;
+import com.example.pensamientoComputacional.security.CustomUserDetails;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Group check for the REST views of an activity's scoreboard, the same rule the STOMP
+ * interceptor applies to its topic: admins, and students enrolled in or professors assigned
+ * to the activity's group. Unlike the WebSocket session, which trusts the group claims of
+ * its token, a request checks the current enrollments.
+ */
+@Service
+public class ActivityAccessService {
+
+    private final ActivityGroupCache activityGroupCache;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final ProfessorAssignmentRepository professorAssignmentRepository;
+
+    public ActivityAccessService(ActivityGroupCache activityGroupCache,
+                                 StudentEnrollmentRepository studentEnrollmentRepository,
+                                 ProfessorAssignmentRepository professorAssignmentRepository) {
+        this.activityGroupCache = activityGroupCache;
+        this.studentEnrollmentRepository = studentEnrollmentRepository;
+        this.professorAssignmentRepository = professorAssignmentRepository;
+    }
+
+    /**
+     * Whether the caller may read the activity's scoreboard. True for an unknown activity,
+     * so the endpoint answers 404 rather than 403.
+     */
+    public boolean canView(Authentication authentication, Long activityId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return false;
+        }
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (admin) {
+            return true;
+        }
+        Optional<Long> groupId = activityGroupCache.getGroupId(activityId);
+        if (groupId.isEmpty()) {
+            return true;
+        }
+        Long userId = userDetails.getDomainUser().getId();
+        return studentEnrollmentRepository.findActiveGroupIdsByStudentId(userId).contains(groupId.get())
+                || professorAssignmentRepository.findGroupIdsByProfessorId(userId).contains(groupId.get());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.repository.ActivityRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Group of each activity, looked up once and kept in memory so authorizing a WebSocket
+ * subscription does not query the database per frame. Unknown activities are not cached;
+ * entries are evicted when an activity is updated or deleted.
+ */
+@Service
+public class ActivityGroupCache {
+
+    private final ActivityRepository activityRepository;
+    private final Map<Long, Long> groupByActivity = new ConcurrentHashMap<>();
+
+    public ActivityGroupCache(ActivityRepository activityRepository) {
+        this.activityRepository = activityRepository;
+    }
+
+    public Optional<Long> getGroupId(Long activityId) {
+        Long groupId = groupByActivity.get(activityId);
+        if (groupId != null) {
+            return Optional.of(groupId);
+        }
+        Optional<Long> loaded = activityRepository.findGroupIdById(activityId);
+        loaded.ifPresent(id -> groupByActivity.put(activityId, id));
+        return loaded;
+    }
+
+    public void evict(Long activityId) {
+        groupByActivity.remove(activityId);
+    }
+}
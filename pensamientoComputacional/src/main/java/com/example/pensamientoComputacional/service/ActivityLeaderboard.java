@@ -0,0 +1,124 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardEntryDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Standings of one running activity ordered by (points desc, elapsed asc, studentId asc).
+ * Each validated resolution is counted once, however many times it is reported, and the
+ * points counted for it are kept so a later grade change moves the student by the difference.
+ * The board knows when its activity ends, so it is not served as live past that point.
+ */
+public class ActivityLeaderboard {
+
+    private record Standing(Long studentId, String studentName, int points, long elapsedMs) {
+    }
+
+    private static final Comparator<Standing> ORDER = Comparator.comparingInt(Standing::points).reversed()
+            .thenComparingLong(Standing::elapsedMs)
+            .thenComparing(Standing::studentId);
+
+    private final TreeSet<Standing> ranking = new TreeSet<>(ORDER);
+    private final Map<Long, Standing> byStudent = new HashMap<>();
+    private final Map<Long, Integer> countedResolutions = new HashMap<>();
+    private final LocalDateTime endsAt;
+
+    public ActivityLeaderboard() {
+        this(null);
+    }
+
+    public ActivityLeaderboard(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    /**
+     * Whether the activity's end time has passed; never for an activity without one.
+     */
+    public boolean isOver() {
+        return endsAt != null && !LocalDateTime.now().isBefore(endsAt);
+    }
+
+    /**
+     * Adds a validated resolution's points; returns false if it was already counted.
+     */
+    public synchronized boolean record(Long resolutionId, Long studentId, String studentName, int points, long elapsedMs) {
+        if (countedResolutions.putIfAbsent(resolutionId, points) != null) {
+            return false;
+        }
+        apply(studentId, studentName, points, elapsedMs);
+        return true;
+    }
+
+    /**
+     * Sets the points counted for a resolution, counting it if it was not yet; returns false
+     * if it already counted exactly these points.
+     */
+    public synchronized boolean adjust(Long resolutionId, Long studentId, String studentName, int points, long elapsedMs) {
+        Integer counted = countedResolutions.put(resolutionId, points);
+        if (counted == null) {
+            apply(studentId, studentName, points, elapsedMs);
+            return true;
+        }
+        if (counted == points) {
+            return false;
+        }
+        // A regrade does not change when the student got there
+        Standing previous = byStudent.get(studentId);
+        apply(studentId, studentName, points - counted, previous != null ? previous.elapsedMs() : elapsedMs);
+        return true;
+    }
+
+    private void apply(Long studentId, String studentName, int points, long elapsedMs) {
+        Standing previous = byStudent.get(studentId);
+        Standing next = previous == null
+                ? new Standing(studentId, studentName, points, elapsedMs)
+                : new Standing(studentId, studentName, previous.points() + points,
+                        Math.max(previous.elapsedMs(), elapsedMs));
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(next);
+        byStudent.put(studentId, next);
+    }
+
+    public synchronized boolean contains(Long studentId) {
+        return byStudent.containsKey(studentId);
+    }
+
+    /**
+     * Current ranked entries of the given students only.
+     */
+    public synchronized List<ActivityLeaderboardEntryDto> entriesFor(Collection<Long> studentIds) {
+        List<ActivityLeaderboardEntryDto> entries = new ArrayList<>(studentIds.size());
+        int rank = 1;
+        for (Standing standing : ranking) {
+            if (studentIds.contains(standing.studentId())) {
+                entries.add(toEntry(rank, standing));
+            }
+            rank++;
+        }
+        return entries;
+    }
+
+    public synchronized List<ActivityLeaderboardEntryDto> entries() {
+        List<ActivityLeaderboardEntryDto> entries = new ArrayList<>(ranking.size());
+        int rank = 1;
+        for (Standing standing : ranking) {
+            entries.add(toEntry(rank++, standing));
+        }
+        return entries;
+    }
+
+    private static ActivityLeaderboardEntryDto toEntry(int rank, Standing standing) {
+        return new ActivityLeaderboardEntryDto(rank, standing.studentId(), standing.studentName(),
+                standing.points(), standing.elapsedMs());
+    }
+}
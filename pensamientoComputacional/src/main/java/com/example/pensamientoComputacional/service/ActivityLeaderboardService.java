@@ -0,0 +1,365 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardDto;
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardEntryDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardSnapshotDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardUpdateDto;
+import com.example.pensamientoComputacional.model.entities.Activity;
+import com.example.pensamientoComputacional.model.entities.ActivityLeaderboardSnapshot;
+import com.example.pensamientoComputacional.model.entities.Resolution;
+import com.example.pensamientoComputacional.repository.ActivityLeaderboardSnapshotRepository;
+import com.example.pensamientoComputacional.repository.ActivityRepository;
+import com.example.pensamientoComputacional.repository.ResolutionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-activity leaderboards ranked by points, then time from the activity start to
+ * the latest validated submission. A running activity's board lives in memory and
+ * is updated as resolutions are validated; once the activity ends it is frozen into
+ * activity_leaderboard_snapshots, the activity is marked frozen, and the board is dropped
+ * from memory. With the STOMP relay other nodes validate resolutions of the same activity,
+ * so boards are read from the database: a push reads the board once per coalesced message,
+ * and reads reuse the latest board for up to app.leaderboard.activity.relay-ttl-ms.
+ */
+@Service
+@Transactional
+public class ActivityLeaderboardService {
+
+    public static final String STATUS_ACTIVE = "ACTIVE";
+    public static final String STATUS_PENDING = "PENDING";
+    private static final String RESOLUTION_COMPLETED = "COMPLETED";
+
+    private final ActivityRepository activityRepository;
+    private final ResolutionRepository resolutionRepository;
+    private final ActivityLeaderboardSnapshotRepository snapshotRepository;
+    private final ScoreboardPublisher scoreboardPublisher;
+    private final TransactionTemplate freshRead;
+    private final TransactionTemplate freezing;
+    private final Map<Long, ActivityLeaderboard> boards = new ConcurrentHashMap<>();
+    private final boolean inMemory;
+    // Relay mode only: the latest board read from the database per activity
+    private final Map<Long, LoadedBoard> loaded = new ConcurrentHashMap<>();
+    private final long relayTtlMs;
+
+    @Autowired
+    public ActivityLeaderboardService(ActivityRepository activityRepository,
+                                      ResolutionRepository resolutionRepository,
+                                      ActivityLeaderboardSnapshotRepository snapshotRepository,
+                                      ScoreboardPublisher scoreboardPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.scoreboard.broker.mode:local}") String brokerMode,
+                                      @Value("${app.leaderboard.activity.relay-ttl-ms:1000}") long relayTtlMs) {
+        this.activityRepository = activityRepository;
+        this.resolutionRepository = resolutionRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.scoreboardPublisher = scoreboardPublisher;
+        // A new transaction suspends the caller's and with it the request's EntityManager (open-in-view),
+        // so the read sees the committed row rather than the copy cached during the request
+        this.freshRead = new TransactionTemplate(transactionManager);
+        this.freshRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.freshRead.setReadOnly(true);
+        // Joins the caller's transaction if it has one; reads run without one
+        this.freezing = new TransactionTemplate(transactionManager);
+        this.inMemory = !ScoreboardFanout.RELAY_MODE.equals(brokerMode);
+        this.relayTtlMs = relayTtlMs;
+    }
+
+    /**
+     * Read-only unless the activity has ended and was never frozen: that first read freezes it
+     * in a transaction of its own, and every later read serves the snapshot.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<ActivityLeaderboardDto> getLeaderboard(Long activityId) {
+        ActivityLeaderboard board = boards.get(activityId);
+        // A board past its end time is frozen below rather than served as live until the next sweep
+        if (board != null && !board.isOver()) {
+            return Optional.of(new ActivityLeaderboardDto(activityId, true, null, board.entries()));
+        }
+
+        Optional<Activity> activity = activityRepository.findById(activityId);
+        if (activity.isEmpty()) {
+            return Optional.empty();
+        }
+        if (activity.get().getFrozenAt() != null) {
+            return Optional.of(fromSnapshot(activity.get(),
+                    snapshotRepository.findByActivityIdOrderByRankPositionAsc(activityId)));
+        }
+        if (isRunning(activity.get()) && !inMemory) {
+            return Optional.of(new ActivityLeaderboardDto(activityId, true, null, loadShared(activity.get()).entries()));
+        }
+        if (isRunning(activity.get())) {
+            // computeIfAbsent blocks recordCompletion for this activity until the load finishes
+            board = boards.computeIfAbsent(activityId, id -> load(activity.get()));
+            return Optional.of(new ActivityLeaderboardDto(activityId, true, null, board.entries()));
+        }
+        if (hasEnded(activity.get())) {
+            return Optional.of(freezing.execute(status -> freeze(activity.get())));
+        }
+        // Not started yet: nothing to keep live or freeze
+        return Optional.of(new ActivityLeaderboardDto(activityId, false, null, load(activity.get()).entries()));
+    }
+
+    /**
+     * Counts a just-validated resolution once the surrounding transaction commits. Only
+     * boards already in memory are updated and pushed to subscribers; others are loaded
+     * from the database on first read, which is also what a client does before subscribing.
+     */
+    public void recordCompletion(Resolution resolution) {
+        Activity activity = resolution.getExercise().getActivity();
+        Long resolutionId = resolution.getId();
+        Long studentId = resolution.getStudent().getId();
+        String studentName = resolution.getStudent().getUser().getName();
+        int points = resolution.getPointsAwarded() != null ? resolution.getPointsAwarded() : 0;
+        long elapsedMs = elapsedMs(activity, resolution.getSubmittedAt());
+
+        Runnable apply = !inMemory ? () -> pushFromDatabase(activity, studentId) : () -> {
+            if (!isRunning(activity)) {
+                return; // Counted by the freeze, which reads the database, not pushed as a live change
+            }
+            boards.computeIfPresent(activity.getId(), (id, board) -> {
+                boolean joined = !board.contains(studentId);
+                if (board.record(resolutionId, studentId, studentName, points, elapsedMs)) {
+                    scoreboardPublisher.studentChanged(id, board, studentId, joined);
+                }
+                return board;
+            });
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    /**
+     * Re-reads a graded resolution once the surrounding transaction commits and, if it is
+     * validated, sets the points its activity board counts for it and pushes the change.
+     * Grading can change the points of a resolution that is already counted, or race with
+     * its validation, so the committed row is read in a new transaction rather than trusting
+     * the caller's copy or the request's persistence context.
+     */
+    public void recordGrade(Resolution resolution) {
+        Activity activity = resolution.getExercise().getActivity();
+        Long activityId = activity.getId();
+        Long resolutionId = resolution.getId();
+
+        Runnable apply = !inMemory ? () -> pushFromDatabase(activity, resolution.getStudent().getId()) : () -> {
+            if (!isRunning(activity) || !boards.containsKey(activityId)) {
+                return; // Not live, or loaded from the database, grade included, on first read
+            }
+            List<Object[]> rows = freshRead.execute(status ->
+                    resolutionRepository.findCompletedForActivityLeaderboardById(resolutionId));
+            if (rows == null || rows.isEmpty()) {
+                return; // Not validated yet: counted by recordCompletion once it is
+            }
+            Object[] graded = rows.get(0);
+            Long studentId = (Long) graded[0];
+            String studentName = (String) graded[1];
+            int points = graded[2] != null ? (Integer) graded[2] : 0;
+            long elapsedMs = elapsedMs(activity, (LocalDateTime) graded[3]);
+            boards.computeIfPresent(activityId, (id, board) -> {
+                boolean joined = !board.contains(studentId);
+                if (board.adjust(resolutionId, studentId, studentName, points, elapsedMs)) {
+                    scoreboardPublisher.studentChanged(id, board, studentId, joined);
+                }
+                return board;
+            });
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    /**
+     * Resync for scoreboard subscribers: the updates after {@code since} while they are still
+     * buffered, otherwise the whole board with the sequence number to continue from.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<ScoreboardSnapshotDto> getSnapshot(Long activityId, Long since) {
+        if (since != null) {
+            Optional<List<ScoreboardUpdateDto>> missed = scoreboardPublisher.updatesSince(activityId, since);
+            if (missed.isPresent()) {
+                long seq = missed.get().isEmpty() ? since : missed.get().get(missed.get().size() - 1).getSeq();
+                return Optional.of(new ScoreboardSnapshotDto(activityId, seq, true, false, List.of(), missed.get()));
+            }
+        }
+        // Sequence first: changes made while the board is read arrive again in later deltas, which are absolute
+        long seq = scoreboardPublisher.currentSeq(activityId);
+        return getLeaderboard(activityId).map(leaderboard -> new ScoreboardSnapshotDto(activityId, seq,
+                leaderboard.isLive(), true, leaderboard.getEntries(), List.of()));
+    }
+
+    /**
+     * Writes the final standings of an ended activity, marks the activity frozen, and drops
+     * its in-memory board. The mark also records activities that ended without completions.
+     */
+    public ActivityLeaderboardDto freeze(Activity activity) {
+        // Concurrent readers of an ended board would both insert it and trip
+        // UNIQUE(activity_id, student_id); the second waits here and finds the first's rows
+        Activity locked = activityRepository.findForUpdateById(activity.getId()).orElse(activity);
+        List<ActivityLeaderboardSnapshot> existing =
+                snapshotRepository.findByActivityIdOrderByRankPositionAsc(activity.getId());
+        if (locked.getFrozenAt() != null || !existing.isEmpty()) {
+            if (locked.getFrozenAt() == null) {
+                locked.setFrozenAt(existing.get(0).getFrozenAt()); // Frozen before activities were marked
+            }
+            drop(activity.getId());
+            return fromSnapshot(locked, existing);
+        }
+
+        // Recompute from the database rather than trusting memory, which may never have been loaded
+        // At the column's precision, so this response reports the same time as later reads
+        LocalDateTime frozenAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<ActivityLeaderboardSnapshot> snapshot = new ArrayList<>();
+        for (ActivityLeaderboardEntryDto entry : load(activity).entries()) {
+            snapshot.add(new ActivityLeaderboardSnapshot(null, activity.getId(), entry.getStudentId(),
+                    entry.getStudentName(), entry.getRank(), entry.getPoints(), entry.getElapsedMs(), frozenAt));
+        }
+        snapshotRepository.saveAll(snapshot);
+        locked.setFrozenAt(frozenAt);
+        drop(activity.getId());
+        return fromSnapshot(locked, snapshot);
+    }
+
+    /**
+     * Keeps the board in step with an edited activity: ending it freezes the standings,
+     * reopening it discards the snapshot so the board goes live again.
+     */
+    public void onActivityUpdated(Activity activity) {
+        if (isRunning(activity)) {
+            snapshotRepository.deleteByActivityId(activity.getId());
+            if (activity.getFrozenAt() != null) {
+                activity.setFrozenAt(null);
+                activityRepository.save(activity);
+            }
+        } else if (hasEnded(activity)) {
+            freeze(activity);
+        } else {
+            drop(activity.getId());
+        }
+    }
+
+    /**
+     * Freezes in-memory boards whose activity has run past its end time or was closed.
+     */
+    @Scheduled(fixedDelayString = "${app.leaderboard.activity.sweep-interval-ms:60000}")
+    public void freezeEndedActivities() {
+        long now = System.currentTimeMillis();
+        loaded.values().removeIf(board -> now - board.loadedAt() >= relayTtlMs);
+        for (Long activityId : List.copyOf(boards.keySet())) {
+            Optional<Activity> activity = activityRepository.findById(activityId);
+            if (activity.isEmpty()) {
+                drop(activityId);
+            } else if (!isRunning(activity.get())) {
+                onActivityUpdated(activity.get());
+            }
+        }
+    }
+
+    // Relay mode: the change may be one of several nodes'; the board is read when the message goes out,
+    // and reads on this node reuse it
+    private void pushFromDatabase(Activity activity, Long studentId) {
+        if (isRunning(activity)) {
+            scoreboardPublisher.studentChanged(activity.getId(), () -> reload(activity), studentId, true);
+        }
+    }
+
+    // Relay mode: other nodes' changes show up here within relayTtlMs, or with this node's next push
+    private ActivityLeaderboard loadShared(Activity activity) {
+        LoadedBoard cached = loaded.get(activity.getId());
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < relayTtlMs) {
+            return cached.board();
+        }
+        return reload(activity);
+    }
+
+    private ActivityLeaderboard reload(Activity activity) {
+        ActivityLeaderboard board = load(activity);
+        loaded.put(activity.getId(), new LoadedBoard(board, System.currentTimeMillis()));
+        return board;
+    }
+
+    public void evict(Long activityId) {
+        drop(activityId);
+    }
+
+    private void drop(Long activityId) {
+        boards.remove(activityId);
+        loaded.remove(activityId);
+        scoreboardPublisher.forget(activityId);
+    }
+
+    public static boolean isRunning(Activity activity) {
+        return STATUS_ACTIVE.equals(activity.getStatus()) && !pastEndTime(activity);
+    }
+
+    // PENDING activities have not started; any other status than ACTIVE means the activity was closed
+    public static boolean hasEnded(Activity activity) {
+        return pastEndTime(activity)
+                || !(STATUS_ACTIVE.equals(activity.getStatus()) || STATUS_PENDING.equals(activity.getStatus()));
+    }
+
+    private static boolean pastEndTime(Activity activity) {
+        return activity.getEndTime() != null && !LocalDateTime.now().isBefore(activity.getEndTime());
+    }
+
+    private ActivityLeaderboard load(Activity activity) {
+        ActivityLeaderboard board = new ActivityLeaderboard(activity.getEndTime());
+        for (Object[] row : resolutionRepository.findCompletedForActivityLeaderboard(activity.getId())) {
+            Integer points = (Integer) row[3];
+            board.record((Long) row[0], (Long) row[1], (String) row[2], points != null ? points : 0,
+                    elapsedMs(activity, (LocalDateTime) row[4]));
+        }
+        return board;
+    }
+
+    private static long elapsedMs(Activity activity, LocalDateTime submittedAt) {
+        if (activity.getStartTime() == null || submittedAt == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(activity.getStartTime(), submittedAt).toMillis());
+    }
+
+    private static ActivityLeaderboardDto fromSnapshot(Activity activity, List<ActivityLeaderboardSnapshot> snapshot) {
+        List<ActivityLeaderboardEntryDto> entries = new ArrayList<>(snapshot.size());
+        for (ActivityLeaderboardSnapshot row : snapshot) {
+            entries.add(new ActivityLeaderboardEntryDto(row.getRankPosition(), row.getStudentId(),
+                    row.getStudentName(), row.getPoints(), row.getElapsedMs()));
+        }
+        return new ActivityLeaderboardDto(activity.getId(), false, activity.getFrozenAt(), entries);
+    }
+
+    private record LoadedBoard(ActivityLeaderboard board, long loadedAt) {
+    }
+}
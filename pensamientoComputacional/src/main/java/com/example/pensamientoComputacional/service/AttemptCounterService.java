@@ -0,0 +1,68 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.repository.ResolutionAttemptCounterRepository;
+import com.example.pensamientoComputacional.repository.ResolutionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out per-(student, exercise) attempt numbers from a counter row that is
+ * incremented atomically, so concurrent submissions never share a number.
+ */
+@Service
+public class AttemptCounterService {
+
+    private static final int MAX_CREATE_RETRIES = 3;
+
+    private final ResolutionAttemptCounterRepository counterRepository;
+    private final ResolutionRepository resolutionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public AttemptCounterService(ResolutionAttemptCounterRepository counterRepository,
+                                 ResolutionRepository resolutionRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.resolutionRepository = resolutionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Commit the increment on its own so the counter row lock is held only for the allocation
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public int nextAttemptNo(Long studentId, Long exerciseId) {
+        return reserveAttemptNos(studentId, exerciseId, 1);
+    }
+
+    /**
+     * Reserves {@code count} consecutive attempt numbers in one increment and returns the first.
+     */
+    public int reserveAttemptNos(Long studentId, Long exerciseId, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> allocate(studentId, exerciseId, count));
+            } catch (DataIntegrityViolationException e) {
+                // Another request created the counter row first; it exists now, so the increment will succeed
+                if (attempt >= MAX_CREATE_RETRIES) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private int allocate(Long studentId, Long exerciseId, int count) {
+        if (counterRepository.increment(studentId, exerciseId, count) == 1) {
+            return counterRepository.findLastAttemptNo(studentId, exerciseId) - count + 1;
+        }
+        // First allocation for this pair: continue after any attempts recorded before counters existed
+        int first = resolutionRepository.findMaxAttemptNo(studentId, exerciseId) + 1;
+        counterRepository.insert(studentId, exerciseId, first + count - 1);
+        return first;
+    }
+}
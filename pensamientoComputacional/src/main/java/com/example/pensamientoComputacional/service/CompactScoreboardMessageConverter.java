@@ -0,0 +1,148 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardDeltaDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardUpdateDto;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of {@link ScoreboardUpdateDto} for clients that ask for it at CONNECT. Integers
+ * are unsigned LEB128 varints (points zigzag-encoded) so the small ids, ranks and points of a
+ * board take one to three bytes each instead of their JSON field names and digits:
+ * <pre>
+ * version=1 | activityId | seq | sentAt (epoch ms, read as UTC) | changeCount
+ * per change: studentId | rank | points | elapsedMs | nameLength+1 (0 = no name) | name (UTF-8)
+ * </pre>
+ * The content type is application/octet-stream so Spring sends binary WebSocket frames.
+ */
+public class CompactScoreboardMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType MIME_TYPE = new MimeType("application", "octet-stream", Map.of("format", "scoreboard-v1"));
+
+    private static final int VERSION = 1;
+
+    public CompactScoreboardMessageConverter() {
+        super(MIME_TYPE);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ScoreboardUpdateDto.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        return message.getPayload() instanceof byte[] bytes ? decode(bytes) : null;
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return encode((ScoreboardUpdateDto) payload);
+    }
+
+    public byte[] encode(ScoreboardUpdateDto update) {
+        List<ScoreboardDeltaDto> changes = update.getChanges() != null ? update.getChanges() : List.of();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + changes.size() * 8);
+        out.write(VERSION);
+        writeVarLong(out, update.getActivityId());
+        writeVarLong(out, update.getSeq());
+        writeVarLong(out, update.getSentAt() != null ? update.getSentAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0);
+        writeVarLong(out, changes.size());
+        for (ScoreboardDeltaDto change : changes) {
+            writeVarLong(out, change.getStudentId());
+            writeVarLong(out, change.getRank());
+            writeVarLong(out, (change.getPoints() << 1) ^ (change.getPoints() >> 31));
+            writeVarLong(out, change.getElapsedMs());
+            if (change.getStudentName() == null) {
+                out.write(0);
+            } else {
+                byte[] name = change.getStudentName().getBytes(StandardCharsets.UTF_8);
+                writeVarLong(out, name.length + 1L);
+                out.writeBytes(name);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public ScoreboardUpdateDto decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        int version = bytes.length > 0 ? bytes[in.position++] : -1;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de scoreboard binario no soportada: " + version);
+        }
+        ScoreboardUpdateDto update = new ScoreboardUpdateDto();
+        update.setActivityId(in.readVarLong());
+        update.setSeq(in.readVarLong());
+        update.setSentAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readVarLong()), ZoneOffset.UTC));
+        int count = (int) in.readVarLong();
+        List<ScoreboardDeltaDto> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ScoreboardDeltaDto change = new ScoreboardDeltaDto();
+            change.setStudentId(in.readVarLong());
+            change.setRank((int) in.readVarLong());
+            int zigzag = (int) in.readVarLong();
+            change.setPoints((zigzag >>> 1) ^ -(zigzag & 1));
+            change.setElapsedMs(in.readVarLong());
+            int nameLength = (int) in.readVarLong() - 1;
+            if (nameLength >= 0) {
+                change.setStudentName(in.readString(nameLength));
+            }
+            changes.add(change);
+        }
+        update.setChanges(changes);
+        return update;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new IllegalArgumentException("Scoreboard binario truncado");
+                }
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Entero demasiado largo en el scoreboard binario");
+        }
+
+        private String readString(int length) {
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Scoreboard binario truncado");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.pensamientoComputacional.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Standings of one group ordered by (points desc, studentId asc), kept in a treap
+ * whose nodes carry their subtree size. Updates, rank lookups and positional
+ * access are O(log n); a range of k entries costs O(log n + k).
+ */
+public class GroupLeaderboard {
+
+    public record Standing(Long studentId, int points) {
+    }
+
+    private static final Comparator<Standing> ORDER = Comparator.comparingInt(Standing::points).reversed()
+            .thenComparing(Standing::studentId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Standing> byStudent = new HashMap<>();
+    private Node root;
+    // Bumped on every change that can reorder or re-score the group; read without the lock
+    private volatile long version;
+    private volatile long lastModified = System.currentTimeMillis();
+
+    /**
+     * Sets the student's points, whatever they were before.
+     */
+    public void put(Long studentId, int points) {
+        lock.writeLock().lock();
+        try {
+            Standing previous = byStudent.get(studentId);
+            if (previous != null && previous.points() == points) {
+                return;
+            }
+            move(studentId, points);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Raises the student's points; a lower total (a late, out-of-order update) is ignored.
+     */
+    public void raise(Long studentId, int points) {
+        lock.writeLock().lock();
+        try {
+            Standing previous = byStudent.get(studentId);
+            if (previous == null || previous.points() < points) {
+                move(studentId, points);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long studentId) {
+        lock.writeLock().lock();
+        try {
+            Standing previous = byStudent.remove(studentId);
+            if (previous != null) {
+                root = delete(root, previous);
+                touch();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Standing> top(int k) {
+        return range(0, k);
+    }
+
+    /**
+     * Entries at positions [from, from + count), 0-based, in ranking order.
+     */
+    public List<Standing> range(int from, int count) {
+        lock.readLock().lock();
+        try {
+            List<Standing> result = new ArrayList<>(Math.max(0, Math.min(count, size(root) - from)));
+            // Descend to position "from", stacking the ancestors still to be visited in order
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            int skip = from;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (skip < leftSize) {
+                    path.push(node);
+                    node = node.left;
+                } else if (skip == leftSize) {
+                    path.push(node);
+                    break;
+                } else {
+                    skip -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+            while (result.size() < count && !path.isEmpty()) {
+                Node next = path.pop();
+                result.add(next.standing);
+                for (Node child = next.right; child != null; child = child.left) {
+                    path.push(child);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1-based position of the student, ties broken by student id.
+     */
+    public OptionalInt rankOf(Long studentId) {
+        lock.readLock().lock();
+        try {
+            Standing standing = byStudent.get(studentId);
+            if (standing == null) {
+                return OptionalInt.empty();
+            }
+            int before = 0;
+            Node node = root;
+            while (node != null) {
+                int cmp = ORDER.compare(standing, node.standing);
+                if (cmp <= 0) {
+                    if (cmp == 0) {
+                        return OptionalInt.of(before + size(node.left) + 1);
+                    }
+                    node = node.left;
+                } else {
+                    before += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            throw new IllegalStateException("Leaderboard index out of sync for student " + studentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OptionalInt pointsOf(Long studentId) {
+        lock.readLock().lock();
+        try {
+            Standing standing = byStudent.get(studentId);
+            return standing != null ? OptionalInt.of(standing.points()) : OptionalInt.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long lastModified() {
+        return lastModified;
+    }
+
+    private void move(Long studentId, int points) {
+        Standing next = new Standing(studentId, points);
+        Standing previous = byStudent.put(studentId, next);
+        if (previous != null) {
+            root = delete(root, previous);
+        }
+        root = insert(root, new Node(next));
+        touch();
+    }
+
+    // Called under the write lock
+    private void touch() {
+        lastModified = System.currentTimeMillis();
+        version++;
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (ORDER.compare(inserted.standing, node.standing) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return node.update();
+    }
+
+    private static Node delete(Node node, Standing standing) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(standing, node.standing);
+        if (cmp < 0) {
+            node.left = delete(node.left, standing);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, standing);
+        } else {
+            return merge(node.left, node.right);
+        }
+        return node.update();
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node.update();
+        return pivot.update();
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node.update();
+        return pivot.update();
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static final class Node {
+        private final Standing standing;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(Standing standing) {
+            this.standing = standing;
+        }
+
+        private Node update() {
+            size = size(left) + size(right) + 1;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.BatchAssignResultDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto;
+import com.example.pensamientoComputacional.model.entities.Professor;
+import com.example.pensamientoComputacional.model.entities.Resolution;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface IResolutionService {
+    List<ResolutionSummaryDto> getAllResolutions(boolean includeArchived);
+    List<ResolutionSummaryDto> getResolutionsByStudent(Long studentId, boolean includeArchived);
+    List<ResolutionSummaryDto> getResolutionsByActivity(Long activityId, boolean includeArchived);
+    Window<ResolutionSummaryDto> getResolutionWindow(Long studentId, Long activityId, boolean includeArchived,
+                                                     ScrollPosition position, int limit);
+    void streamResolutions(Long studentId, Long activityId, boolean includeArchived,
+                           Consumer<ResolutionSummaryDto> action);
+    Optional<Resolution> getResolution(Long id);
+    Optional<Resolution> findPendingResolution(Long studentId, Long exerciseId);
+    Resolution createResolution(Resolution resolution);
+    Resolution saveResolution(Resolution resolution);
+    Resolution completeResolution(Resolution resolution);
+    Optional<Resolution> redeemCode(Long studentId, String code);
+    int backfillCodeHashes();
+    List<BatchAssignResultDto> assignPointsBatch(Professor professor, List<ResolutionDto> items);
+}
@@ -0,0 +1,147 @@
+package com.example.pensamientoComputacional.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per {@code Idempotency-Key}. A repeated key gets the
+ * stored response back; a duplicate that arrives while the first request is still
+ * running waits for it instead of executing again. Keys are scoped per endpoint
+ * and per authenticated user, and only successful (2xx) responses are kept. Each key
+ * remembers a hash of the request body it was first used with; reusing it with a
+ * different body is a client error and answers 422 without running the write.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutMs;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper,
+                              @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = scope + '|' + currentPrincipal() + '|' + idempotencyKey.trim();
+        String fingerprint = fingerprint(request);
+
+        IdempotencyStore.Completed stored = store.find(key).orElse(null);
+        if (stored != null) {
+            return (ResponseEntity<T>) replayedIfSameRequest(stored.fingerprint(), fingerprint, stored.response());
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (!running.fingerprint().equals(fingerprint)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            }
+            return (ResponseEntity<T>) replayed(await(running.response()));
+        }
+
+        try {
+            // Re-check: the first execution may have finished between the lookup and the claim
+            stored = store.find(key).orElse(null);
+            ResponseEntity<?> response = stored != null
+                    ? replayedIfSameRequest(stored.fingerprint(), fingerprint, stored.response())
+                    : action.get();
+            if (stored == null && response.getStatusCode().is2xxSuccessful()) {
+                store.save(key, fingerprint, response);
+            }
+            mine.response().complete(response);
+            return (ResponseEntity<T>) response;
+        } catch (RuntimeException | Error e) {
+            mine.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            body = String.valueOf(request).getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResponseEntity<?> replayedIfSameRequest(String storedFingerprint, String fingerprint,
+                                                           ResponseEntity<?> original) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        return replayed(original);
+    }
+
+    private ResponseEntity<?> await(CompletableFuture<ResponseEntity<?>> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private static ResponseEntity<?> replayed(ResponseEntity<?> original) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+}
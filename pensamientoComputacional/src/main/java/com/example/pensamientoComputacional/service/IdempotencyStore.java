@@ -0,0 +1,20 @@
+package com.example.pensamientoComputacional.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+/**
+ * Completed responses keyed by idempotency key, each with the fingerprint of the
+ * request body that produced it. The default implementation keeps them in memory;
+ * a table-backed implementation can replace it to share keys across instances.
+ */
+public interface IdempotencyStore {
+
+    Optional<Completed> find(String key);
+
+    void save(String key, String fingerprint, ResponseEntity<?> response);
+
+    record Completed(String fingerprint, ResponseEntity<?> response) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.StudentDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized top-k bodies per (group, limit), tagged with the board version they were
+ * built from. Polls between two point changes are answered from here without ranking
+ * or serializing anything. Only non-empty boards and a fixed set of limits get an
+ * entry, so the client-chosen path and query cannot grow the map; anything else is
+ * serialized per request. Groups dropped by a rebuild are pruned when it completes.
+ */
+@Component
+public class LeaderboardResponseCache {
+
+    public record CachedBody(String etag, long lastModified, byte[] json) {
+    }
+
+    private record Key(String groupName, int limit) {
+    }
+
+    // The limits clients actually poll with; DEFAULT_LIMIT first
+    static final Set<Integer> CACHED_LIMITS = Set.of(LeaderboardService.DEFAULT_LIMIT, 10, 20, 50,
+            LeaderboardService.MAX_LIMIT);
+
+    private final LeaderboardService leaderboardService;
+    private final ObjectMapper objectMapper;
+    private final Map<Key, CachedBody> bodies = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LeaderboardResponseCache(LeaderboardService leaderboardService, ObjectMapper objectMapper) {
+        this.leaderboardService = leaderboardService;
+        this.objectMapper = objectMapper;
+        leaderboardService.addRebuildListener(groups -> bodies.keySet().removeIf(key -> !groups.contains(key.groupName())));
+    }
+
+    /**
+     * Strong ETag for a board at the given version, as read once per request by the caller.
+     */
+    public static String etag(LeaderboardService.LeaderboardVersion version, int limit) {
+        return "\"" + version.generation() + "-" + version.version() + "-" + LeaderboardService.clampLimit(limit) + "\"";
+    }
+
+    /**
+     * The group's top-k body at {@code version}, which the caller read before this call.
+     */
+    public CachedBody getTop(String groupName, int limit, LeaderboardService.LeaderboardVersion version) {
+        int clamped = LeaderboardService.clampLimit(limit);
+        String etag = etag(version, clamped);
+        Key key = new Key(groupName, clamped);
+        CachedBody cached = bodies.get(key);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+        // Read after the version, so the body is at least as new as its tag; a newer body just
+        // gets re-serialized on the next poll
+        List<StudentDto> top = leaderboardService.getTop(groupName, clamped);
+        try {
+            CachedBody body = new CachedBody(etag, version.lastModified(), objectMapper.writeValueAsBytes(top));
+            // Unknown groups have an empty board and are cheap to serialize; they are not kept
+            if (CACHED_LIMITS.contains(clamped) && !top.isEmpty()) {
+                bodies.put(key, body);
+            }
+            return body;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el leaderboard", e);
+        }
+    }
+
+    int size() {
+        return bodies.size();
+    }
+}
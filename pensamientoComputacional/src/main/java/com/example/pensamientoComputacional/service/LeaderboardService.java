@@ -0,0 +1,433 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.mapper.StudentMapper;
+import com.example.pensamientoComputacional.model.dto.GroupNeighbourView;
+import com.example.pensamientoComputacional.model.dto.GroupStandingView;
+import com.example.pensamientoComputacional.model.dto.LeaderboardEntryDto;
+import com.example.pensamientoComputacional.model.dto.StudentDto;
+import com.example.pensamientoComputacional.model.dto.StudentRankDto;
+import com.example.pensamientoComputacional.model.entities.Student;
+import com.example.pensamientoComputacional.repository.ArchivedResolutionRepository;
+import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
+import com.example.pensamientoComputacional.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory group leaderboards of the points earned in semesters not yet archived:
+ * each student's student_performance total minus their archived COMPLETED points.
+ * Warmed at startup, rebuilt after a semester is archived and kept current by
+ * {@link #recordPoints} after each committed credit, so reads never touch the database.
+ * Rank lookups use the order-statistic index in {@link GroupLeaderboard} instead of
+ * sorting the group. Lifetime standings, archived semesters included, are ranked by the
+ * database instead. With the STOMP relay other nodes credit the same students, so nothing
+ * is kept: tops and ranks come from window-function queries over student_performance that
+ * return only the rows asked for, and a board's version comes from one aggregate over the
+ * group's rows so every node hands out the same ETag for the same board.
+ */
+@Service
+public class LeaderboardService {
+
+    public static final int DEFAULT_LIMIT = 5;
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_WINDOW = 50;
+
+    private final StudentRepository studentRepository;
+    private final StudentPerformanceRepository studentPerformanceRepository;
+    private final ArchivedResolutionRepository archivedResolutionRepository;
+    private final StudentMapper studentMapper;
+    private final boolean inMemory;
+
+    // Each rebuild starts a new generation so versions from different builds never collide
+    private final AtomicLong generations = new AtomicLong();
+    // Swapped as a whole on rebuild so readers never see a half-built state
+    private volatile State state = new State(generations.incrementAndGet());
+    private final List<Consumer<Set<String>>> rebuildListeners = new CopyOnWriteArrayList<>();
+    // Updates take the read side, rebuild the write side only to open the buffer and to swap
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Updates made while a rebuild reads the database, replayed onto the new state before it is swapped in
+    private Queue<PendingUpdate> pending;
+
+    @Autowired
+    public LeaderboardService(StudentRepository studentRepository,
+                              StudentPerformanceRepository studentPerformanceRepository,
+                              ArchivedResolutionRepository archivedResolutionRepository,
+                              StudentMapper studentMapper,
+                              @Value("${app.scoreboard.broker.mode:local}") String brokerMode) {
+        this.studentRepository = studentRepository;
+        this.studentPerformanceRepository = studentPerformanceRepository;
+        this.archivedResolutionRepository = archivedResolutionRepository;
+        this.studentMapper = studentMapper;
+        this.inMemory = !ScoreboardFanout.RELAY_MODE.equals(brokerMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every group from the database: all students with a group, at their stored totals.
+     * Credits published while it runs are applied to the current state as usual and buffered,
+     * then replayed onto the new state before the swap, since the totals read may predate them.
+     */
+    public synchronized void rebuild() {
+        if (!inMemory) {
+            return;
+        }
+        Queue<PendingUpdate> buffer = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            pending = buffer;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Map<Long, Integer> totals = new HashMap<>();
+        for (Object[] row : studentPerformanceRepository.findAllTotals()) {
+            totals.put((Long) row[0], (Integer) row[1]);
+        }
+
+        State next = new State(generations.incrementAndGet());
+        for (Object[] row : archivedResolutionRepository.sumCompletedPointsByStudent()) {
+            next.archived.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        for (Student student : studentRepository.findAll()) {
+            String group = student.getUser().getGroup();
+            if (group != null) {
+                next.register(student.getId(), group, studentMapper.entityToDto(student));
+                next.board(group).put(student.getId(), next.hotPoints(student.getId(), totals.getOrDefault(student.getId(), 0)));
+            }
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (PendingUpdate update : buffer) {
+                apply(next, update);
+            }
+            state = next;
+            pending = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        Set<String> groups = Set.copyOf(next.boards.keySet());
+        rebuildListeners.forEach(listener -> listener.accept(groups));
+    }
+
+    /**
+     * Called after every rebuild with the groups that survived it, the only time groups disappear.
+     */
+    public void addRebuildListener(Consumer<Set<String>> listener) {
+        rebuildListeners.add(listener);
+    }
+
+    /**
+     * Applies a student's new student_performance total. Totals only grow, so an older total
+     * arriving late is ignored.
+     */
+    public void recordPoints(Long studentId, int totalPoints) {
+        update(new PendingUpdate(studentId, totalPoints, false));
+    }
+
+    /**
+     * Overwrites a student's total, including downwards; used when reconciliation repairs drift.
+     */
+    public void correctPoints(Long studentId, int totalPoints) {
+        update(new PendingUpdate(studentId, totalPoints, true));
+    }
+
+    private void update(PendingUpdate update) {
+        if (!inMemory) {
+            return; // Read from student_performance, where the caller just wrote it
+        }
+        swapLock.readLock().lock();
+        try {
+            apply(state, update);
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void apply(State target, PendingUpdate update) {
+        GroupLeaderboard board = boardOf(target, update.studentId());
+        if (board == null) {
+            return;
+        }
+        int points = target.hotPoints(update.studentId(), update.totalPoints());
+        if (update.overwrite()) {
+            board.put(update.studentId(), points);
+        } else {
+            board.raise(update.studentId(), points);
+        }
+    }
+
+    public List<StudentDto> getTop(String groupName, int limit) {
+        if (!inMemory) {
+            return toStudents(studentRepository.findTopHotStandingsInGroup(groupName, clampLimit(limit)))
+                    .getOrDefault(groupName, List.of());
+        }
+        State current = state;
+        GroupLeaderboard board = current.boards.get(groupName);
+        if (board == null) {
+            return List.of();
+        }
+        return board.top(clampLimit(limit)).stream()
+                .map(standing -> current.students.get(standing.studentId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The student's position in the group and up to {@code window} students on each side.
+     */
+    public Optional<StudentRankDto> getRank(String groupName, Long studentId, int window) {
+        window = Math.max(0, Math.min(window, MAX_WINDOW));
+        if (!inMemory) {
+            return readRank(groupName, studentId, window);
+        }
+        State current = state;
+        GroupLeaderboard board = current.boards.get(groupName);
+        if (board == null) {
+            return Optional.empty();
+        }
+        OptionalInt rank = board.rankOf(studentId);
+        if (rank.isEmpty()) {
+            return Optional.empty();
+        }
+        int position = rank.getAsInt() - 1;
+        int from = Math.max(0, position - window);
+        List<GroupLeaderboard.Standing> neighbourhood = board.range(from, position - from + window + 1);
+
+        List<LeaderboardEntryDto> above = new ArrayList<>();
+        List<LeaderboardEntryDto> below = new ArrayList<>();
+        int points = 0;
+        for (int i = 0; i < neighbourhood.size(); i++) {
+            GroupLeaderboard.Standing standing = neighbourhood.get(i);
+            int index = from + i;
+            if (index < position) {
+                above.add(toEntry(current, standing, index + 1));
+            } else if (index > position) {
+                below.add(toEntry(current, standing, index + 1));
+            } else {
+                points = standing.points();
+            }
+        }
+        return Optional.of(new StudentRankDto(groupName, studentId, position + 1, points, board.size(), above, below));
+    }
+
+    /**
+     * Every standing in the group, best first; the standing at index i has rank i + 1. With the
+     * STOMP relay this loads the whole group, so it is meant for periodic jobs, not requests.
+     */
+    public List<GroupLeaderboard.Standing> getStandings(String groupName) {
+        GroupLeaderboard board = read(groupName).boards.get(groupName);
+        return board != null ? board.range(0, board.size()) : List.of();
+    }
+
+    /**
+     * Current version of a group's board; cheap enough to answer conditional requests.
+     */
+    public LeaderboardVersion getVersion(String groupName) {
+        if (!inMemory) {
+            return readVersion(groupName);
+        }
+        State current = state;
+        GroupLeaderboard board = current.boards.get(groupName);
+        return board != null
+                ? new LeaderboardVersion(current.generation, board.version(), board.lastModified())
+                : new LeaderboardVersion(current.generation, 0, current.createdAt);
+    }
+
+    public Set<String> getGroupNames() {
+        return inMemory ? Set.copyOf(state.boards.keySet()) : Set.copyOf(studentRepository.findGroupNames());
+    }
+
+    /**
+     * Every group's top. In memory a lookup per group; with the STOMP relay, where no board is
+     * kept, a single window-function query rather than one group load per group.
+     */
+    public Map<String, List<StudentDto>> getTopPerGroup(int limit) {
+        if (!inMemory) {
+            return toStudents(studentRepository.findTopHotStandingsPerGroup(clampLimit(limit)));
+        }
+        Map<String, List<StudentDto>> tops = new HashMap<>();
+        for (String groupName : state.boards.keySet()) {
+            tops.put(groupName, getTop(groupName, limit));
+        }
+        return tops;
+    }
+
+    /**
+     * Top of the group by lifetime totals, archived semesters included, ranked in one query.
+     */
+    public List<StudentDto> getLifetimeTop(String groupName, int limit) {
+        return toStudents(studentRepository.findTopStandingsInGroup(groupName, clampLimit(limit)))
+                .getOrDefault(groupName, List.of());
+    }
+
+    /**
+     * Every group's top by lifetime totals in a single window-function query.
+     */
+    public Map<String, List<StudentDto>> getLifetimeTopPerGroup(int limit) {
+        return toStudents(studentRepository.findTopStandingsPerGroup(clampLimit(limit)));
+    }
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private State read(String groupName) {
+        if (inMemory) {
+            return state;
+        }
+        List<Student> students = studentRepository.findByGroupName(groupName);
+        State current = new State(0);
+        if (students.isEmpty()) {
+            return current;
+        }
+        List<Long> studentIds = students.stream().map(Student::getId).toList();
+        Map<Long, Integer> totals = new HashMap<>();
+        for (Object[] row : studentPerformanceRepository.findTotalsByStudentIds(studentIds)) {
+            totals.put((Long) row[0], (Integer) row[1]);
+        }
+        for (Object[] row : archivedResolutionRepository.sumCompletedPointsByStudentIds(studentIds)) {
+            current.archived.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        for (Student student : students) {
+            current.register(student.getId(), groupName, studentMapper.entityToDto(student));
+            current.board(groupName).put(student.getId(),
+                    current.hotPoints(student.getId(), totals.getOrDefault(student.getId(), 0)));
+        }
+        return current;
+    }
+
+    // Relay mode: one window-function query over the group, returning only the neighbourhood
+    private Optional<StudentRankDto> readRank(String groupName, Long studentId, int window) {
+        List<GroupNeighbourView> rows = studentRepository.findHotNeighbourhoodInGroup(groupName, studentId, window);
+        Map<Long, StudentDto> students = studentsById(rows);
+        List<LeaderboardEntryDto> above = new ArrayList<>();
+        List<LeaderboardEntryDto> below = new ArrayList<>();
+        GroupNeighbourView own = null;
+        for (GroupNeighbourView row : rows) {
+            if (row.getStudentId().equals(studentId)) {
+                own = row;
+            } else {
+                (own == null ? above : below).add(new LeaderboardEntryDto(row.getStudentRank(), row.getTotalPoints(),
+                        students.get(row.getStudentId())));
+            }
+        }
+        if (own == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new StudentRankDto(groupName, studentId, own.getStudentRank(), own.getTotalPoints(),
+                own.getGroupSize().intValue(), above, below));
+    }
+
+    // One aggregate over the group's rows instead of loading it: every node reads the same values, so
+    // hands out the same ETag. Archiving touches updated_at of the students whose points it moves.
+    private LeaderboardVersion readVersion(String groupName) {
+        Object[] row = studentPerformanceRepository.findGroupVersion(groupName).get(0);
+        long students = ((Number) row[0]).longValue();
+        LocalDateTime updatedAt = (LocalDateTime) row[1];
+        long points = ((Number) row[2]).longValue();
+        long lastModified = updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+        return new LeaderboardVersion(lastModified, 31 * students + points, lastModified);
+    }
+
+    private GroupLeaderboard boardOf(State current, Long studentId) {
+        String group = current.groupOf.get(studentId);
+        if (group == null) {
+            // First credit for a student registered after warm-up
+            Student student = studentRepository.findById(studentId).orElse(null);
+            if (student == null || student.getUser().getGroup() == null) {
+                return null;
+            }
+            group = student.getUser().getGroup();
+            current.register(studentId, group, studentMapper.entityToDto(student));
+        }
+        return current.board(group);
+    }
+
+    // Standings arrive ordered by group and rank; LinkedHashMap/ArrayList keep that order
+    private Map<String, List<StudentDto>> toStudents(List<GroupStandingView> standings) {
+        Map<Long, StudentDto> students = studentsById(standings);
+        Map<String, List<StudentDto>> byGroup = new LinkedHashMap<>();
+        for (GroupStandingView standing : standings) {
+            byGroup.computeIfAbsent(standing.getGroupName(), g -> new ArrayList<>())
+                    .add(students.get(standing.getStudentId()));
+        }
+        return byGroup;
+    }
+
+    private Map<Long, StudentDto> studentsById(List<? extends GroupStandingView> standings) {
+        Map<Long, StudentDto> students = new HashMap<>();
+        for (Student student : studentRepository.findAllById(
+                standings.stream().map(GroupStandingView::getStudentId).collect(Collectors.toList()))) {
+            students.put(student.getId(), studentMapper.entityToDto(student));
+        }
+        return students;
+    }
+
+    private static LeaderboardEntryDto toEntry(State state, GroupLeaderboard.Standing standing, int rank) {
+        return new LeaderboardEntryDto(rank, standing.points(), state.students.get(standing.studentId()));
+    }
+
+    public record LeaderboardVersion(long generation, long version, long lastModified) {
+    }
+
+    private record PendingUpdate(Long studentId, int totalPoints, boolean overwrite) {
+    }
+
+    private static final class State {
+        private final long generation;
+        private final long createdAt = System.currentTimeMillis();
+        private final ConcurrentMap<String, GroupLeaderboard> boards = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, String> groupOf = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, StudentDto> students = new ConcurrentHashMap<>();
+        // Archived COMPLETED points per student, fixed until the next rebuild
+        private final Map<Long, Integer> archived = new HashMap<>();
+
+        private State(long generation) {
+            this.generation = generation;
+        }
+
+        private void register(Long studentId, String group, StudentDto student) {
+            students.put(studentId, student);
+            groupOf.put(studentId, group);
+        }
+
+        private int hotPoints(Long studentId, int totalPoints) {
+            return totalPoints - archived.getOrDefault(studentId, 0);
+        }
+
+        private GroupLeaderboard board(String group) {
+            return boards.computeIfAbsent(group, g -> new GroupLeaderboard());
+        }
+    }
+}
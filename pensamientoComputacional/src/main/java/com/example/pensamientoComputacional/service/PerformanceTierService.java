@@ -0,0 +1,344 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.PerformanceTierDto;
+import com.example.pensamientoComputacional.model.dto.PerformanceTiersDto;
+import com.example.pensamientoComputacional.model.entities.PerformanceTier;
+import com.example.pensamientoComputacional.model.entities.Semester;
+import com.example.pensamientoComputacional.repository.PerformanceTierRepository;
+import com.example.pensamientoComputacional.repository.SemesterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps total points to a performance category. The effective tiers (the active
+ * semester's own set, else the default set, else the built-in thresholds) are cached
+ * as a sorted threshold array, and credits find their tier by binary search over it.
+ * When the effective tiers change, every student is re-tiered with one set-based UPDATE.
+ * The cache remembers the version of the tier rows it was read from; a periodic check
+ * compares it with the database, so tiers changed on another node are picked up within
+ * app.performance-tiers.refresh-ms, and the students credited with the old tiers in
+ * the meantime are re-tiered in bulk then.
+ */
+@Service
+public class PerformanceTierService {
+
+    // Used until tiers are stored in the database
+    public static final List<PerformanceTierDto> BUILT_IN_TIERS = List.of(
+            new PerformanceTierDto("principiante", 0),
+            new PerformanceTierDto("killer", 250),
+            new PerformanceTierDto("pro", 500));
+
+    private final PerformanceTierRepository performanceTierRepository;
+    private final SemesterRepository semesterRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Committed tiers; null until first used. A reload() in progress binds its new tiers to its own transaction
+    private volatile Thresholds thresholds;
+    // Set when credits may have been tiered with thresholds that are no longer current
+    private volatile boolean retierDue;
+
+    @Autowired
+    public PerformanceTierService(PerformanceTierRepository performanceTierRepository,
+                                  SemesterRepository semesterRepository,
+                                  NamedParameterJdbcTemplate jdbcTemplate) {
+        this.performanceTierRepository = performanceTierRepository;
+        this.semesterRepository = semesterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public String categoryFor(int totalPoints) {
+        return thresholds().categoryFor(totalPoints);
+    }
+
+    public PerformanceTiersDto getEffectiveTiers() {
+        Thresholds current = thresholds();
+        return new PerformanceTiersDto(current.semesterId, current.tiers, 0);
+    }
+
+    /**
+     * The tiers stored for a semester, or the default set when {@code semesterId} is null. Empty if none are stored.
+     */
+    public PerformanceTiersDto getTiers(Long semesterId) {
+        return new PerformanceTiersDto(semesterId, toDtos(load(semesterId)), 0);
+    }
+
+    /**
+     * Replaces a semester's tiers, or the default set when {@code semesterId} is null, and
+     * re-tiers every student if the effective tiers changed as a result.
+     */
+    @Transactional
+    public PerformanceTiersDto replaceTiers(Long semesterId, List<PerformanceTierDto> tiers) {
+        List<PerformanceTierDto> sorted = validate(tiers);
+        Semester semester = null;
+        if (semesterId != null) {
+            semester = semesterRepository.findById(semesterId)
+                    .orElseThrow(() -> new IllegalArgumentException("Semestre no encontrado: " + semesterId));
+            performanceTierRepository.deleteBySemesterId(semesterId);
+        } else {
+            performanceTierRepository.deleteDefaults();
+        }
+        for (PerformanceTierDto tier : sorted) {
+            performanceTierRepository.save(new PerformanceTier(null, semester, tier.getName().trim(), tier.getMinPoints()));
+        }
+        performanceTierRepository.flush();
+        return new PerformanceTiersDto(semesterId, toDtos(load(semesterId)), reload());
+    }
+
+    /**
+     * Drops a semester's own tiers, e.g. before the semester is deleted.
+     */
+    @Transactional
+    public int deleteTiers(Long semesterId) {
+        performanceTierRepository.deleteBySemesterId(semesterId);
+        return reload();
+    }
+
+    /**
+     * Re-reads the effective tiers, e.g. after the active semester changed. Returns the students re-tiered.
+     */
+    @Transactional
+    public int reload() {
+        Thresholds previous = current();
+        Thresholds next = resolve();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only this transaction tiers with the new thresholds; the rest of the node keeps the committed
+            // ones until it commits, and the credits they tier meanwhile are caught up by refresh()
+            if (TransactionSynchronizationManager.unbindResourceIfPossible(this) == null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        Thresholds reloaded = (Thresholds) TransactionSynchronizationManager
+                                .unbindResourceIfPossible(PerformanceTierService.this);
+                        if (status == STATUS_COMMITTED && reloaded != null) {
+                            adopt(reloaded);
+                        }
+                    }
+                });
+            }
+            TransactionSynchronizationManager.bindResource(this, next);
+        } else {
+            adopt(next);
+        }
+        if (previous != null && previous.tiers.equals(next.tiers)) {
+            return 0;
+        }
+        return retierAll(next);
+    }
+
+    /**
+     * Picks up tiers changed on another node, and re-tiers the students credited with stale
+     * tiers since. A version read per check rather than per credit.
+     */
+    @Scheduled(fixedDelayString = "${app.performance-tiers.refresh-ms:5000}")
+    public void refresh() {
+        Thresholds current = thresholds;
+        if (current == null) {
+            return; // Nothing cached, nothing tiered with it yet
+        }
+        if (!current.version.equals(readVersion())) {
+            adopt(resolve());
+        }
+        if (retierDue) {
+            retierDue = false;
+            retierAll(thresholds);
+        }
+    }
+
+    /**
+     * Set-based re-tier of the given students, for callers that overwrite totals directly.
+     */
+    public int retier(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        Thresholds current = thresholds();
+        return jdbcTemplate.update("UPDATE student_performance SET category = " + current.caseSql +
+                " WHERE student_id IN (:studentIds) AND category <> " + current.caseSql,
+                current.parameters().addValue("studentIds", studentIds));
+    }
+
+    /**
+     * Adds points to a student's total and returns the new total read back from the UPDATE, or
+     * null if the student has no performance row yet. The tier of the new total is found by
+     * binary search; the category is only written when the credit crosses a threshold. Callers
+     * run inside the credit's transaction, whose row lock from the increment keeps a concurrent
+     * credit from interleaving between the two statements.
+     */
+    public Integer addPoints(Long studentId, int points) {
+        Thresholds current = thresholds();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        MapSqlParameterSource parameters = new MapSqlParameterSource("studentId", studentId).addValue("points", points);
+        jdbcTemplate.update("UPDATE student_performance SET total_points = total_points + :points, " +
+                "updated_at = CURRENT_TIMESTAMP WHERE student_id = :studentId",
+                parameters, keyHolder, new String[]{"total_points", "category"});
+        Map<String, Object> row = keyHolder.getKeys();
+        if (row == null || row.isEmpty()) {
+            return null;
+        }
+        int total = ((Number) column(row, "total_points")).intValue();
+        String category = current.categoryFor(total);
+        if (!category.equals(column(row, "category"))) {
+            jdbcTemplate.update("UPDATE student_performance SET category = :category WHERE student_id = :studentId",
+                    parameters.addValue("category", category));
+        }
+        return total;
+    }
+
+    // This transaction's reloaded tiers, else the committed ones; no database access
+    private Thresholds current() {
+        Thresholds reloading = (Thresholds) TransactionSynchronizationManager.getResource(this);
+        return reloading != null ? reloading : thresholds;
+    }
+
+    private Thresholds thresholds() {
+        Thresholds current = current();
+        if (current == null) {
+            synchronized (this) {
+                current = thresholds;
+                if (current == null) {
+                    current = resolve();
+                    thresholds = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Credits tiered with the old thresholds before the swap are caught up by the next refresh()
+    private synchronized void adopt(Thresholds next) {
+        Thresholds previous = thresholds;
+        thresholds = next;
+        if (previous != null && !previous.tiers.equals(next.tiers)) {
+            retierDue = true;
+        }
+    }
+
+    private int retierAll(Thresholds current) {
+        return jdbcTemplate.update("UPDATE student_performance SET category = " + current.caseSql +
+                " WHERE category <> " + current.caseSql, current.parameters());
+    }
+
+    // Generated-key column names come back in the driver's case
+    private static Object column(Map<String, Object> row, String name) {
+        return row.entrySet().stream().filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                .map(Map.Entry::getValue).findFirst().orElse(null);
+    }
+
+    private TierVersion readVersion() {
+        Object[] row = performanceTierRepository.findVersion().get(0);
+        return new TierVersion(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                row[2] != null ? ((Number) row[2]).longValue() : null);
+    }
+
+    private Thresholds resolve() {
+        TierVersion version = readVersion();
+        // Lowest id first, as findVersion() picks the effective semester
+        List<Semester> active = new ArrayList<>(semesterRepository.findByIsActiveTrue());
+        active.sort(Comparator.comparing(Semester::getId));
+        for (Semester semester : active) {
+            List<PerformanceTier> own = load(semester.getId());
+            if (!own.isEmpty()) {
+                return new Thresholds(version, semester.getId(), toDtos(own));
+            }
+        }
+        List<PerformanceTier> defaults = load(null);
+        return new Thresholds(version, null, defaults.isEmpty() ? BUILT_IN_TIERS : toDtos(defaults));
+    }
+
+    private List<PerformanceTier> load(Long semesterId) {
+        return semesterId != null
+                ? performanceTierRepository.findBySemesterIdOrderByMinPointsAsc(semesterId)
+                : performanceTierRepository.findBySemesterIsNullOrderByMinPointsAsc();
+    }
+
+    private static List<PerformanceTierDto> toDtos(List<PerformanceTier> tiers) {
+        return tiers.stream()
+                .map(tier -> new PerformanceTierDto(tier.getName(), tier.getMinPoints()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<PerformanceTierDto> validate(List<PerformanceTierDto> tiers) {
+        if (tiers == null || tiers.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un nivel");
+        }
+        Set<String> names = new HashSet<>();
+        Set<Integer> minimums = new HashSet<>();
+        for (PerformanceTierDto tier : tiers) {
+            if (tier.getName() == null || tier.getName().isBlank() || tier.getName().trim().length() > 50) {
+                throw new IllegalArgumentException("Cada nivel necesita un nombre de hasta 50 caracteres");
+            }
+            if (tier.getMinPoints() == null || tier.getMinPoints() < 0) {
+                throw new IllegalArgumentException("Los puntos mínimos deben ser cero o positivos");
+            }
+            if (!names.add(tier.getName().trim()) || !minimums.add(tier.getMinPoints())) {
+                throw new IllegalArgumentException("Los nombres y los puntos mínimos de los niveles no pueden repetirse");
+            }
+        }
+        List<PerformanceTierDto> sorted = new ArrayList<>(tiers);
+        sorted.sort(Comparator.comparing(PerformanceTierDto::getMinPoints));
+        return sorted;
+    }
+
+    private record TierVersion(long tiers, long maxTierId, Long semesterId) {
+    }
+
+    private static final class Thresholds {
+        private final TierVersion version;
+        private final Long semesterId;
+        private final List<PerformanceTierDto> tiers;
+        private final int[] minPoints;
+        private final String[] names;
+        // CASE over total_points
+        private final String caseSql;
+
+        private Thresholds(TierVersion version, Long semesterId, List<PerformanceTierDto> tiers) {
+            this.version = version;
+            this.semesterId = semesterId;
+            this.tiers = List.copyOf(tiers);
+            this.minPoints = tiers.stream().mapToInt(PerformanceTierDto::getMinPoints).toArray();
+            this.names = tiers.stream().map(PerformanceTierDto::getName).toArray(String[]::new);
+            this.caseSql = caseSql();
+        }
+
+        // CASE over the ranges, highest first; totals below the lowest threshold fall into the lowest tier
+        private String caseSql() {
+            StringBuilder sql = new StringBuilder("CASE");
+            for (int i = names.length - 1; i > 0; i--) {
+                sql.append(" WHEN total_points >= :min").append(i).append(" THEN :name").append(i);
+            }
+            return sql.append(" ELSE :name0 END").toString();
+        }
+
+        private String categoryFor(int totalPoints) {
+            int index = Arrays.binarySearch(minPoints, totalPoints);
+            // Not found: -(insertion point) - 1, and the tier is the one before the insertion point
+            return names[Math.max(index >= 0 ? index : -index - 2, 0)];
+        }
+
+        private MapSqlParameterSource parameters() {
+            MapSqlParameterSource parameters = new MapSqlParameterSource();
+            for (int i = 0; i < names.length; i++) {
+                parameters.addValue("min" + i, minPoints[i]).addValue("name" + i, names[i]);
+            }
+            return parameters;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.RankHistoryDto;
+import com.example.pensamientoComputacional.model.dto.RankHistoryPointDto;
+import com.example.pensamientoComputacional.model.dto.RankHistorySeriesDto;
+import com.example.pensamientoComputacional.model.dto.RankHistoryView;
+import com.example.pensamientoComputacional.repository.RankHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records how group standings move over time. Each snapshot compares the in-memory
+ * boards with the last recorded (points, rank) per student and only writes the
+ * students whose values changed; boards whose version has not moved are skipped
+ * without being read. History reads are downsampled in the database.
+ */
+@Service
+public class RankHistoryService {
+
+    public static final int DEFAULT_MAX_POINTS = 200;
+    public static final int MAX_POINTS = 1000;
+    public static final Duration DEFAULT_RANGE = Duration.ofDays(7);
+
+    private static final String INSERT_SQL = "INSERT INTO leaderboard_rank_history " +
+            "(group_name, student_id, points, rank_position, recorded_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final LeaderboardService leaderboardService;
+    private final RankHistoryRepository rankHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Last recorded value per group and student; loaded from the table on the first snapshot
+    private Map<String, Map<Long, Recorded>> recorded;
+    private final Map<String, LeaderboardService.LeaderboardVersion> snapshotted = new HashMap<>();
+
+    @Autowired
+    public RankHistoryService(LeaderboardService leaderboardService,
+                              RankHistoryRepository rankHistoryRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.leaderboardService = leaderboardService;
+        this.rankHistoryRepository = rankHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records every (points, rank) that changed since the previous snapshot. Returns the rows written.
+     */
+    @Scheduled(initialDelayString = "${app.leaderboard.history.interval-ms:300000}",
+               fixedDelayString = "${app.leaderboard.history.interval-ms:300000}")
+    public synchronized int snapshot() {
+        if (recorded == null) {
+            recorded = new HashMap<>();
+            for (RankHistoryView latest : rankHistoryRepository.findLatestPerStudent()) {
+                recorded.computeIfAbsent(latest.getGroupName(), g -> new HashMap<>())
+                        .put(latest.getStudentId(), new Recorded(latest.getPoints(), latest.getRankPosition()));
+            }
+        }
+
+        Timestamp recordedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        Map<String, Map<Long, Recorded>> changed = new HashMap<>();
+        Map<String, LeaderboardService.LeaderboardVersion> versions = new HashMap<>();
+        for (String groupName : leaderboardService.getGroupNames()) {
+            // Version first: a change racing with the read below leaves a stale version, so it is re-read next time
+            LeaderboardService.LeaderboardVersion version = leaderboardService.getVersion(groupName);
+            if (version.equals(snapshotted.get(groupName))) {
+                continue;
+            }
+            Map<Long, Recorded> previous = recorded.getOrDefault(groupName, Map.of());
+            List<GroupLeaderboard.Standing> standings = leaderboardService.getStandings(groupName);
+            for (int i = 0; i < standings.size(); i++) {
+                GroupLeaderboard.Standing standing = standings.get(i);
+                Recorded current = new Recorded(standing.points(), i + 1);
+                if (!current.equals(previous.get(standing.studentId()))) {
+                    rows.add(new Object[]{groupName, standing.studentId(), current.points(), current.rank(), recordedAt});
+                    changed.computeIfAbsent(groupName, g -> new HashMap<>()).put(standing.studentId(), current);
+                }
+            }
+            versions.put(groupName, version);
+        }
+
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        }
+        // Only once the rows are stored, so a failed snapshot is retried in full
+        changed.forEach((groupName, values) -> recorded.computeIfAbsent(groupName, g -> new HashMap<>()).putAll(values));
+        snapshotted.putAll(versions);
+        return rows.size();
+    }
+
+    /**
+     * Rank history of a group, or of one student in it, between {@code from} and {@code to}. The range is
+     * split into at most {@code maxPoints} buckets and each student keeps the last change in each bucket,
+     * plus the value already in effect at {@code from}.
+     */
+    public RankHistoryDto getHistory(String groupName, LocalDateTime from, LocalDateTime to, Long studentId, int maxPoints) {
+        if (to == null) {
+            to = LocalDateTime.now();
+        }
+        if (from == null) {
+            from = to.minus(DEFAULT_RANGE);
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior a la final");
+        }
+        int buckets = Math.max(1, Math.min(maxPoints, MAX_POINTS));
+        // Strictly more than range / buckets, so [from, to] never spans more than `buckets` buckets
+        long bucketSeconds = Duration.between(from, to).getSeconds() / buckets + 1;
+
+        List<RankHistoryView> inRange = studentId != null
+                ? rankHistoryRepository.findDownsampledForStudent(groupName, studentId, from, to, bucketSeconds)
+                : rankHistoryRepository.findDownsampled(groupName, from, to, bucketSeconds);
+        List<RankHistoryView> carriedIn = studentId != null
+                ? rankHistoryRepository.findLatestBeforeForStudent(groupName, studentId, from)
+                : rankHistoryRepository.findLatestBefore(groupName, from);
+
+        Map<Long, List<RankHistoryPointDto>> byStudent = new TreeMap<>();
+        for (RankHistoryView view : inRange) {
+            byStudent.computeIfAbsent(view.getStudentId(), id -> new ArrayList<>())
+                    .add(new RankHistoryPointDto(view.getRecordedAt(), view.getPoints(), view.getRankPosition()));
+        }
+        for (RankHistoryView view : carriedIn) {
+            List<RankHistoryPointDto> points = byStudent.computeIfAbsent(view.getStudentId(), id -> new ArrayList<>());
+            if (points.isEmpty() || !points.get(0).getRecordedAt().equals(from)) {
+                points.add(0, new RankHistoryPointDto(from, view.getPoints(), view.getRankPosition()));
+            }
+        }
+
+        List<RankHistorySeriesDto> series = new ArrayList<>(byStudent.size());
+        byStudent.forEach((id, points) -> series.add(new RankHistorySeriesDto(id, points)));
+        return new RankHistoryDto(groupName, from, to, bucketSeconds, series);
+    }
+
+    private record Recorded(int points, int rank) {
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.SubmissionTicketDto;
+import com.example.pensamientoComputacional.model.util.ResolutionCodeHash;
+import com.example.pensamientoComputacional.service.exception.IngestionQueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion for student submissions. Requests only enqueue and get a
+ * ticket back; a single writer thread drains the bounded queue in micro-batches
+ * and inserts each batch with one JDBC batch, so a burst of submissions uses one
+ * connection instead of one per request. A full queue is reported to the caller
+ * instead of blocking the request thread. A batch that fails on a transient error
+ * is retried with growing backoff; if it still fails, its rows are inserted one by
+ * one so only the offending submission is marked FAILED. A stored ticket carries
+ * the generated resolution id, read back from the same insert.
+ */
+@Service
+public class ResolutionIngestionService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO resolutions (student_id, exercise_id, status, attempt_no, submitted_at, code, code_hash, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final PreparedStatementCreator INSERT_RETURNING_ID =
+            con -> con.prepareStatement(INSERT_SQL, new String[]{"id"});
+    private static final String STATUS_PENDING = "PENDING";
+    // Tickets are client-visible: never expose the database message, which carries SQL and values
+    private static final String ERROR_REJECTED = "El envío fue rechazado al guardarse";
+    private static final String ERROR_UNAVAILABLE = "No se pudo guardar el envío; vuelva a enviarlo";
+
+    private final AttemptCounterService attemptCounterService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Submission> queue;
+    private final Map<String, Submission> tickets = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long retryAfterSeconds;
+    private final long ticketTtlMs;
+    private final int batchRetries;
+    private final long retryBackoffMs;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public ResolutionIngestionService(AttemptCounterService attemptCounterService,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.ingestion.queue-capacity:1000}") int queueCapacity,
+                                      @Value("${app.ingestion.batch-size:100}") int batchSize,
+                                      @Value("${app.ingestion.flush-interval-ms:200}") long flushIntervalMs,
+                                      @Value("${app.ingestion.retry-after-seconds:2}") long retryAfterSeconds,
+                                      @Value("${app.ingestion.ticket-ttl-ms:600000}") long ticketTtlMs,
+                                      @Value("${app.ingestion.batch-retries:2}") int batchRetries,
+                                      @Value("${app.ingestion.retry-backoff-ms:100}") long retryBackoffMs) {
+        this.attemptCounterService = attemptCounterService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.ticketTtlMs = ticketTtlMs;
+        this.batchRetries = batchRetries;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "resolution-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // Persist whatever was accepted before shutdown
+        List<Submission> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            flush(remaining);
+            remaining.clear();
+        }
+    }
+
+    public SubmissionTicketDto submit(Long studentId, Long exerciseId, String code) {
+        Submission submission = new Submission(UUID.randomUUID().toString(), studentId, exerciseId,
+                code != null ? code : "", LocalDateTime.now());
+        tickets.put(submission.ticketId, submission);
+        if (!queue.offer(submission)) {
+            tickets.remove(submission.ticketId);
+            throw new IngestionQueueFullException("La cola de envíos está llena", retryAfterSeconds);
+        }
+        return submission.toDto();
+    }
+
+    public Optional<SubmissionTicketDto> getTicket(String ticketId) {
+        Submission submission = tickets.get(ticketId);
+        return submission != null ? Optional.of(submission.toDto()) : Optional.empty();
+    }
+
+    /**
+     * The ticket only if it was issued to {@code studentId}.
+     */
+    public Optional<SubmissionTicketDto> getTicket(String ticketId, Long studentId) {
+        return getTicket(ticketId).filter(ticket -> ticket.getStudentId().equals(studentId));
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Submission first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    expireTickets();
+                    continue;
+                }
+                batch.add(first);
+                // Flush when the batch is full or the interval since its first submission has passed
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Submission next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+                expireTickets();
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Submission> batch) {
+        // One counter increment per (student, exercise) pair in the batch, not one per submission
+        Map<List<Long>, List<Submission>> byPair = new LinkedHashMap<>();
+        for (Submission submission : batch) {
+            byPair.computeIfAbsent(List.of(submission.studentId, submission.exerciseId), k -> new ArrayList<>())
+                    .add(submission);
+        }
+        List<Submission> numbered = new ArrayList<>(batch.size());
+        for (List<Submission> pair : byPair.values()) {
+            Submission head = pair.get(0);
+            try {
+                int attemptNo = attemptCounterService.reserveAttemptNos(head.studentId, head.exerciseId, pair.size());
+                for (Submission submission : pair) {
+                    submission.attemptNo = attemptNo++;
+                }
+                numbered.addAll(pair);
+            } catch (RuntimeException e) {
+                pair.forEach(submission -> submission.complete(SubmissionTicketDto.FAILED, errorFor(e)));
+            }
+        }
+        if (numbered.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(numbered.size());
+        for (Submission submission : numbered) {
+            rows.add(row(submission));
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> insertBatch(rows));
+                for (int i = 0; i < numbered.size(); i++) {
+                    numbered.get(i).store(ids.get(i));
+                }
+                return;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= batchRetries || !backoff(attempt)) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // Not transient: retrying the same rows cannot help, find the offending one instead
+                break;
+            }
+        }
+
+        for (int i = 0; i < numbered.size(); i++) {
+            Submission submission = numbered.get(i);
+            Object[] row = rows.get(i);
+            try {
+                submission.store(transactionTemplate.execute(status -> insertRow(row)));
+            } catch (RuntimeException e) {
+                submission.complete(SubmissionTicketDto.FAILED, errorFor(e));
+            }
+        }
+    }
+
+    // Generated ids come back in batch order
+    private List<Long> insertBatch(List<Object[]> rows) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_RETURNING_ID, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                new ArgumentPreparedStatementSetter(rows.get(i)).setValues(ps);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        }, keys);
+        return keys.getKeyList().stream().map(ResolutionIngestionService::id).toList();
+    }
+
+    private Long insertRow(Object[] row) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = INSERT_RETURNING_ID.createPreparedStatement(con);
+            new ArgumentPreparedStatementSetter(row).setValues(ps);
+            return ps;
+        }, keys);
+        return id(keys.getKeys());
+    }
+
+    // Only the id column is requested, but drivers differ on its case (ID on H2, id on PostgreSQL)
+    private static Long id(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).longValue();
+    }
+
+    private static Object[] row(Submission submission) {
+        Timestamp submittedAt = Timestamp.valueOf(submission.submittedAt);
+        return new Object[]{submission.studentId, submission.exerciseId, STATUS_PENDING,
+                submission.attemptNo, submittedAt, submission.code,
+                ResolutionCodeHash.of(submission.code), submittedAt};
+    }
+
+    // Doubles the wait on every retry; false when interrupted, so shutdown falls through to row inserts
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs << attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String errorFor(RuntimeException e) {
+        return e instanceof TransientDataAccessException ? ERROR_UNAVAILABLE : ERROR_REJECTED;
+    }
+
+    private void expireTickets() {
+        long cutoff = System.currentTimeMillis() - ticketTtlMs;
+        tickets.values().removeIf(submission -> submission.completedAt != 0 && submission.completedAt < cutoff);
+    }
+
+    private static final class Submission {
+        private final String ticketId;
+        private final Long studentId;
+        private final Long exerciseId;
+        private final String code;
+        private final LocalDateTime submittedAt;
+        private volatile Integer attemptNo;
+        private volatile Long resolutionId;
+        private volatile String status = SubmissionTicketDto.QUEUED;
+        private volatile String error;
+        private volatile long completedAt;
+
+        private Submission(String ticketId, Long studentId, Long exerciseId, String code, LocalDateTime submittedAt) {
+            this.ticketId = ticketId;
+            this.studentId = studentId;
+            this.exerciseId = exerciseId;
+            this.code = code;
+            this.submittedAt = submittedAt;
+        }
+
+        private void store(Long resolutionId) {
+            this.resolutionId = resolutionId;
+            complete(SubmissionTicketDto.STORED, null);
+        }
+
+        private void complete(String status, String error) {
+            this.error = error;
+            this.completedAt = System.currentTimeMillis();
+            this.status = status;
+        }
+
+        private SubmissionTicketDto toDto() {
+            String currentStatus = status;
+            boolean stored = SubmissionTicketDto.STORED.equals(currentStatus);
+            return new SubmissionTicketDto(ticketId, currentStatus, studentId, exerciseId,
+                    stored ? resolutionId : null, stored ? attemptNo : null, submittedAt, error);
+        }
+    }
+}
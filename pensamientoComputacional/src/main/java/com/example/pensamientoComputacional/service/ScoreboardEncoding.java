@@ -0,0 +1,139 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardUpdateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-session choice between JSON and {@link CompactScoreboardMessageConverter} for the
+ * activity scoreboard topics. A client opts in with a {@code scoreboard-format: compact}
+ * header on CONNECT and reads the content-type of each MESSAGE, since anything that is not a
+ * scoreboard update (messages clients send to the topic) stays JSON. Compact frames are
+ * binary, which SockJS transports cannot carry, so the header is only honored on raw
+ * WebSocket sessions (/ws/websocket) and SockJS clients keep getting JSON. Broadcasts still
+ * go through the broker as JSON; the compact bytes are built once per broadcast, on the
+ * first compact subscriber, and shared by the rest.
+ */
+@Service
+public class ScoreboardEncoding {
+
+    public static final String FORMAT_HEADER = "scoreboard-format";
+    public static final String COMPACT = "compact";
+    // Session attribute set on raw WebSocket sessions, the only ones that can take binary frames
+    public static final String BINARY_FRAMES_ATTRIBUTE = "scoreboardBinaryFrames";
+
+    private static final byte[] NOT_AN_UPDATE = new byte[0];
+
+    private final ObjectMapper objectMapper;
+    private final CompactScoreboardMessageConverter converter = new CompactScoreboardMessageConverter();
+    private final Set<String> compactSessions = ConcurrentHashMap.newKeySet();
+    // JSON payload -> compact bytes; arrays hash by identity and every copy of a broadcast
+    // shares its payload, so entries live as long as the broadcast's messages
+    private final Map<byte[], byte[]> encoded = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public ScoreboardEncoding(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public CompactScoreboardMessageConverter getConverter() {
+        return converter;
+    }
+
+    public ChannelInterceptor inboundInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.CONNECT) {
+                    StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                    Map<String, Object> attributes = accessor.getSessionAttributes();
+                    if (COMPACT.equals(accessor.getFirstNativeHeader(FORMAT_HEADER)) && accessor.getSessionId() != null
+                            && attributes != null && Boolean.TRUE.equals(attributes.get(BINARY_FRAMES_ATTRIBUTE))) {
+                        compactSessions.add(accessor.getSessionId());
+                    }
+                }
+                return message;
+            }
+        };
+    }
+
+    public ChannelInterceptor outboundInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                return encodeFor(message);
+            }
+        };
+    }
+
+    /**
+     * Marks the sessions that can take binary frames before their CONNECT arrives.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                if (!(session instanceof SockJsSession)) {
+                    session.getAttributes().put(BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+                }
+                super.afterConnectionEstablished(session);
+            }
+        };
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        compactSessions.remove(event.getSessionId());
+    }
+
+    Message<?> encodeFor(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || destination == null || !destination.startsWith(ScoreboardPublisher.TOPIC_PREFIX)
+                || sessionId == null || !compactSessions.contains(sessionId)
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        byte[] compact = encoded.computeIfAbsent(json, this::toCompact);
+        if (compact == NOT_AN_UPDATE) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(CompactScoreboardMessageConverter.MIME_TYPE);
+        return MessageBuilder.createMessage(compact, accessor.getMessageHeaders());
+    }
+
+    private byte[] toCompact(byte[] json) {
+        try {
+            ScoreboardUpdateDto update = objectMapper.readValue(json, ScoreboardUpdateDto.class);
+            if (update.getActivityId() == null || update.getChanges() == null) {
+                return NOT_AN_UPDATE;
+            }
+            return converter.encode(update);
+        } catch (IOException | RuntimeException e) {
+            return NOT_AN_UPDATE;
+        }
+    }
+}
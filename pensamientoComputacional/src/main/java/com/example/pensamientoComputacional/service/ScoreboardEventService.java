@@ -0,0 +1,313 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardEventDto;
+import com.example.pensamientoComputacional.model.entities.Resolution;
+import com.example.pensamientoComputacional.repository.ActivityRepository;
+import com.example.pensamientoComputacional.repository.ScoreboardEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scoreboard event feed. Validations and regrades only enqueue their event once the transaction
+ * commits; a single writer thread inserts the queue in micro-batches, the same way
+ * {@link ResolutionIngestionService} stores submissions. The last events of each
+ * recently active activity stay in memory so replay requests near the head of the
+ * feed never reach the database; older pages use the (activity_id, id) index. With the
+ * STOMP relay other nodes write events of the same activities, so no tail is kept.
+ */
+@Service
+public class ScoreboardEventService {
+
+    public static final int MAX_LIMIT = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO scoreboard_events (activity_id, student_id, exercise_id, message, created_at, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int MESSAGE_LENGTH = 255;
+
+    private final ScoreboardEventRepository scoreboardEventRepository;
+    private final ActivityRepository activityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ScoreboardEventDto> queue;
+    private final Map<Long, Tail> tails;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int tailSize;
+    private final boolean tailed;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public ScoreboardEventService(ScoreboardEventRepository scoreboardEventRepository,
+                                  ActivityRepository activityRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.scoreboard.events.queue-capacity:5000}") int queueCapacity,
+                                  @Value("${app.scoreboard.events.batch-size:200}") int batchSize,
+                                  @Value("${app.scoreboard.events.flush-interval-ms:200}") long flushIntervalMs,
+                                  @Value("${app.scoreboard.events.tail-size:200}") int tailSize,
+                                  @Value("${app.scoreboard.events.tail-activities:256}") int tailActivities,
+                                  @Value("${app.scoreboard.broker.mode:local}") String brokerMode) {
+        this.scoreboardEventRepository = scoreboardEventRepository;
+        this.activityRepository = activityRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.tailSize = tailSize;
+        this.tailed = !ScoreboardFanout.RELAY_MODE.equals(brokerMode);
+        // Access-ordered so activities nobody reads or writes any more fall out first
+        this.tails = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Tail> eldest) {
+                return size() > tailActivities;
+            }
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "scoreboard-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        List<ScoreboardEventDto> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            flush(remaining);
+            remaining.clear();
+        }
+    }
+
+    /**
+     * Queues the event for a just-validated resolution once the surrounding transaction
+     * commits. Never blocks: when the queue is full the event is counted as dropped.
+     */
+    public void recordCompletion(Resolution resolution) {
+        int points = resolution.getPointsAwarded() != null ? resolution.getPointsAwarded() : 0;
+        enqueueAfterCommit(resolution, "Completó «" + resolution.getExercise().getTitle() + "» (+" + points + " puntos)");
+    }
+
+    /**
+     * Queues the event for a change of points on an already validated resolution, carrying
+     * the difference so that replaying the feed adds up to the regraded total.
+     */
+    public void recordRegrade(Resolution resolution, int pointsDelta) {
+        enqueueAfterCommit(resolution, String.format("Recalificado «%s» (%+d puntos)",
+                resolution.getExercise().getTitle(), pointsDelta));
+    }
+
+    private void enqueueAfterCommit(Resolution resolution, String message) {
+        ScoreboardEventDto event = new ScoreboardEventDto(null,
+                resolution.getExercise().getActivity().getId(),
+                resolution.getStudent().getId(),
+                resolution.getStudent().getUser().getName(),
+                resolution.getExercise().getId(),
+                message.length() > MESSAGE_LENGTH ? message.substring(0, MESSAGE_LENGTH) : message,
+                LocalDateTime.now());
+
+        Runnable enqueue = () -> {
+            if (!queue.offer(event)) {
+                dropped.incrementAndGet();
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue.run();
+            }
+        });
+    }
+
+    /**
+     * Events of the activity with an id greater than {@code afterId}, oldest first. Empty
+     * when the activity does not exist; events still in the queue are not visible yet.
+     */
+    public Optional<List<ScoreboardEventDto>> getEvents(Long activityId, long afterId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+        Tail tail = tails.get(activityId);
+        if (tail != null) {
+            List<ScoreboardEventDto> cached = tail.after(afterId, limit);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        } else if (!activityRepository.existsById(activityId)) {
+            return Optional.empty();
+        }
+        return Optional.of(scoreboardEventRepository.findByActivityIdAfter(activityId, afterId, Limit.of(limit)));
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void drainLoop() {
+        List<ScoreboardEventDto> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ScoreboardEventDto first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Flush when the batch is full or the interval since its first event has passed
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ScoreboardEventDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<ScoreboardEventDto> batch) {
+        try {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ScoreboardEventDto event = batch.get(i);
+                            ps.setLong(1, event.getActivityId());
+                            ps.setLong(2, event.getStudentId());
+                            ps.setLong(3, event.getExerciseId());
+                            ps.setString(4, event.getMessage());
+                            ps.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+                            ps.setLong(6, event.getStudentId()); // students share their user's id
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keys));
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                ScoreboardEventDto event = batch.get(i);
+                event.setId(((Number) generated.get(i).values().iterator().next()).longValue());
+                if (tailed) {
+                    tails.computeIfAbsent(event.getActivityId(), id -> new Tail(tailSize)).append(event);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Scoreboard events are informational; the validation itself is already committed
+            failed.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * The newest events of one activity. Every event of the activity with an id above
+     * {@code coveredAfterId} is held here: this node is the only writer and appends in id order.
+     */
+    private static final class Tail {
+        private final int capacity;
+        private final ArrayDeque<ScoreboardEventDto> events;
+        private long coveredAfterId = -1;
+
+        private Tail(int capacity) {
+            this.capacity = capacity;
+            this.events = new ArrayDeque<>(capacity);
+        }
+
+        private synchronized void append(ScoreboardEventDto event) {
+            if (coveredAfterId < 0) {
+                // Earlier events of the activity were written before this node started
+                coveredAfterId = event.getId() - 1;
+            }
+            if (events.size() == capacity) {
+                coveredAfterId = events.removeFirst().getId();
+            }
+            events.addLast(event);
+        }
+
+        // Null when the page starts before the oldest held event
+        private synchronized List<ScoreboardEventDto> after(long afterId, int limit) {
+            if (coveredAfterId < 0 || afterId < coveredAfterId) {
+                return null;
+            }
+            List<ScoreboardEventDto> page = new ArrayList<>(Math.min(limit, events.size()));
+            for (ScoreboardEventDto event : events) {
+                if (event.getId() > afterId) {
+                    page.add(event);
+                    if (page.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return page;
+        }
+    }
+}
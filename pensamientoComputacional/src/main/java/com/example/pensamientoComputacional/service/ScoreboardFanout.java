@@ -0,0 +1,18 @@
+package com.example.pensamientoComputacional.service;
+
+/**
+ * Delivers scoreboard messages to subscribers on every node, not only on the node that
+ * produced them. The default implementation hands messages to the in-JVM broker, which
+ * is enough for a single node; the STOMP relay implementation shares them through an
+ * external broker. Selected with app.scoreboard.broker.mode.
+ */
+public interface ScoreboardFanout {
+
+    /**
+     * Value of app.scoreboard.broker.mode under which several nodes serve the same boards,
+     * so none of them can keep a board, its numbering or its event tail in memory.
+     */
+    String RELAY_MODE = "relay";
+
+    void publish(String destination, Object payload);
+}
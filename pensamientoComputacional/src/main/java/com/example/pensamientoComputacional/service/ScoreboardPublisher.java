@@ -0,0 +1,185 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardEntryDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardDeltaDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardUpdateDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes activity scoreboard changes to /topic/scoreboard/activity/{id}. Changes are
+ * coalesced per activity: the first change opens a window, and when it closes one
+ * message carries every student that changed in it, so a burst of validations fans
+ * out as a handful of messages instead of one per validation per subscriber.
+ * Messages are numbered per topic and the latest ones are kept in a ring buffer so a
+ * client that missed some can catch up without reloading the whole board.
+ * Numbering and buffer belong to this node, like the boards they describe, so with the
+ * STOMP relay, where several nodes publish to the same topic, messages go out unnumbered
+ * (seq 0) and nothing is buffered: a client that missed one reloads the board.
+ */
+@Service
+public class ScoreboardPublisher {
+
+    public static final String TOPIC_PREFIX = "/topic/scoreboard/activity/";
+
+    private final ScoreboardFanout scoreboardFanout;
+    private final long coalesceMs;
+    private final int resyncBuffer;
+    private final boolean numbered;
+    private final ConcurrentMap<Long, Window> windows = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scoreboard-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ScoreboardPublisher(ScoreboardFanout scoreboardFanout,
+                               @Value("${app.scoreboard.push.coalesce-ms:250}") long coalesceMs,
+                               @Value("${app.scoreboard.push.resync-buffer:256}") int resyncBuffer,
+                               @Value("${app.scoreboard.broker.mode:local}") String brokerMode) {
+        this.scoreboardFanout = scoreboardFanout;
+        this.coalesceMs = coalesceMs;
+        this.resyncBuffer = resyncBuffer;
+        this.numbered = !ScoreboardFanout.RELAY_MODE.equals(brokerMode);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+    }
+
+    /**
+     * Queues a student's new standing on a live board for the activity's next message.
+     * {@code joined} marks a student new to the board, whose name goes out with the delta.
+     */
+    public void studentChanged(Long activityId, ActivityLeaderboard board, Long studentId, boolean joined) {
+        studentChanged(activityId, () -> board, studentId, joined);
+    }
+
+    /**
+     * Same, for a board that is not kept in memory: it is read once, when the message is built.
+     */
+    public void studentChanged(Long activityId, Supplier<ActivityLeaderboard> board, Long studentId, boolean joined) {
+        boolean[] opened = {false};
+        windows.compute(activityId, (id, window) -> {
+            if (window == null) {
+                window = new Window(board);
+                opened[0] = true;
+            }
+            window.studentIds.add(studentId);
+            if (joined) {
+                window.joined.add(studentId);
+            }
+            return window;
+        });
+        if (opened[0]) {
+            flusher.schedule(() -> flush(activityId), coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sequence number of the last message sent for the activity; 0 before the first one.
+     */
+    public long currentSeq(Long activityId) {
+        Topic topic = topics.get(activityId);
+        return topic != null ? topic.seq() : 0;
+    }
+
+    /**
+     * The messages after {@code seq}, or empty if some of them are no longer buffered.
+     */
+    public Optional<List<ScoreboardUpdateDto>> updatesSince(Long activityId, long seq) {
+        Topic topic = topics.get(activityId);
+        return topic != null ? topic.since(seq) : Optional.empty();
+    }
+
+    /**
+     * Drops the activity's pending changes and numbering once its board leaves memory.
+     */
+    public void forget(Long activityId) {
+        windows.remove(activityId);
+        topics.remove(activityId);
+    }
+
+    private void flush(Long activityId) {
+        // Removing the window first lets changes that race with the send open the next one
+        Window window = windows.remove(activityId);
+        if (window == null) {
+            return;
+        }
+        List<ScoreboardDeltaDto> changes = new ArrayList<>(window.studentIds.size());
+        for (ActivityLeaderboardEntryDto entry : window.board.get().entriesFor(window.studentIds)) {
+            changes.add(new ScoreboardDeltaDto(entry.getStudentId(),
+                    window.joined.contains(entry.getStudentId()) ? entry.getStudentName() : null,
+                    entry.getRank(), entry.getPoints(), entry.getElapsedMs()));
+        }
+        if (!numbered) {
+            scoreboardFanout.publish(TOPIC_PREFIX + activityId,
+                    new ScoreboardUpdateDto(activityId, 0, LocalDateTime.now(), changes));
+            return;
+        }
+        // Single flusher thread: messages leave in sequence order
+        ScoreboardUpdateDto update = topics.computeIfAbsent(activityId, id -> new Topic(resyncBuffer))
+                .append(activityId, changes);
+        scoreboardFanout.publish(TOPIC_PREFIX + activityId, update);
+    }
+
+    private static final class Window {
+        private final Supplier<ActivityLeaderboard> board;
+        // Only touched inside ConcurrentMap.compute until the window is removed
+        private final Set<Long> studentIds = new LinkedHashSet<>();
+        private final Set<Long> joined = new HashSet<>();
+
+        private Window(Supplier<ActivityLeaderboard> board) {
+            this.board = board;
+        }
+    }
+
+    private static final class Topic {
+        private final ScoreboardUpdateDto[] recent;
+        private long seq;
+
+        private Topic(int capacity) {
+            this.recent = new ScoreboardUpdateDto[capacity];
+        }
+
+        private synchronized ScoreboardUpdateDto append(Long activityId, List<ScoreboardDeltaDto> changes) {
+            ScoreboardUpdateDto update = new ScoreboardUpdateDto(activityId, ++seq, LocalDateTime.now(), changes);
+            recent[(int) (seq % recent.length)] = update;
+            return update;
+        }
+
+        private synchronized long seq() {
+            return seq;
+        }
+
+        private synchronized Optional<List<ScoreboardUpdateDto>> since(long after) {
+            if (after < 0 || after > seq || after < seq - recent.length) {
+                return Optional.empty();
+            }
+            List<ScoreboardUpdateDto> missed = new ArrayList<>((int) (seq - after));
+            for (long next = after + 1; next <= seq; next++) {
+                missed.add(recent[(int) (next % recent.length)]);
+            }
+            return Optional.of(missed);
+        }
+    }
+}
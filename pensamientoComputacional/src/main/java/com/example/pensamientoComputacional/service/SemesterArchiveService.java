@@ -0,0 +1,65 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.SemesterArchiveDto;
+import com.example.pensamientoComputacional.model.entities.Semester;
+import com.example.pensamientoComputacional.repository.ArchivedResolutionRepository;
+import com.example.pensamientoComputacional.repository.ArchivedScoreboardEventRepository;
+import com.example.pensamientoComputacional.repository.ResolutionRepository;
+import com.example.pensamientoComputacional.repository.ScoreboardEventRepository;
+import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Moves the resolutions and scoreboard events of a closed semester into the
+ * archive tables, so the hot tables and their indexes only cover current data.
+ */
+@Service
+public class SemesterArchiveService {
+
+    private final ResolutionRepository resolutionRepository;
+    private final ArchivedResolutionRepository archivedResolutionRepository;
+    private final ScoreboardEventRepository scoreboardEventRepository;
+    private final ArchivedScoreboardEventRepository archivedScoreboardEventRepository;
+    private final StudentPerformanceRepository studentPerformanceRepository;
+
+    @Autowired
+    public SemesterArchiveService(ResolutionRepository resolutionRepository,
+                                  ArchivedResolutionRepository archivedResolutionRepository,
+                                  ScoreboardEventRepository scoreboardEventRepository,
+                                  ArchivedScoreboardEventRepository archivedScoreboardEventRepository,
+                                  StudentPerformanceRepository studentPerformanceRepository) {
+        this.resolutionRepository = resolutionRepository;
+        this.archivedResolutionRepository = archivedResolutionRepository;
+        this.scoreboardEventRepository = scoreboardEventRepository;
+        this.archivedScoreboardEventRepository = archivedScoreboardEventRepository;
+        this.studentPerformanceRepository = studentPerformanceRepository;
+    }
+
+    // Copy and delete run in one transaction, so a row is never in both tables or in neither. The delete is keyed
+    // on the copied ids rather than the semester, so rows written concurrently are left for the next run
+    @Transactional
+    public SemesterArchiveDto archiveSemester(Semester semester) {
+        if (Boolean.TRUE.equals(semester.getIsActive())) {
+            throw new IllegalArgumentException("No se puede archivar el semestre activo");
+        }
+        // Truncated to the column precision so the delete can match the copied rows by archivedAt
+        LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        int resolutions = archivedResolutionRepository.copySemester(semester.getId(), archivedAt);
+        int deletedResolutions = resolutionRepository.deleteArchived(semester.getId(), archivedAt);
+        // Moves the version of their group leaderboards, which rank unarchived points
+        studentPerformanceRepository.touchArchived(semester.getId(), archivedAt);
+        int events = archivedScoreboardEventRepository.copySemester(semester.getId(), archivedAt);
+        int deletedEvents = scoreboardEventRepository.deleteArchived(semester.getId(), archivedAt);
+        // Only a row deleted from the hot table between copy and delete can make the counts differ
+        if (resolutions != deletedResolutions || events != deletedEvents) {
+            throw new IllegalStateException("El semestre cambió durante el archivado; se revierte");
+        }
+        return new SemesterArchiveDto(semester.getId(), resolutions, events);
+    }
+}
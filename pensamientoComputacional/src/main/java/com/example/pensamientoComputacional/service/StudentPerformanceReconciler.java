@@ -0,0 +1,270 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ReconciliationRunDto;
+import com.example.pensamientoComputacional.model.dto.ReconciliationStatsDto;
+import com.example.pensamientoComputacional.model.entities.ReconciliationWatermark;
+import com.example.pensamientoComputacional.repository.ReconciliationWatermarkRepository;
+import com.example.pensamientoComputacional.repository.ResolutionRepository;
+import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
+import com.example.pensamientoComputacional.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps student_performance.total_points equal to the COMPLETED points in resolutions
+ * (hot and archived). The incremental pass follows an (updated_at, id) watermark over
+ * resolutions, so each run only recomputes the students whose resolutions changed
+ * since the previous one. A full rebuild rechecks every student in parallel chunks.
+ */
+@Service
+public class StudentPerformanceReconciler {
+
+    public static final String WATERMARK = "student_performance";
+    private static final LocalDateTime WATERMARK_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Compare-and-set: a credit that lands after the stored total was read makes this a no-op,
+    // and the next run sees that credit's resolution through the watermark
+    private static final String REPAIR_SQL = "UPDATE student_performance SET total_points = ?, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE student_id = ? AND total_points = ?";
+
+    private final ResolutionRepository resolutionRepository;
+    private final StudentPerformanceRepository studentPerformanceRepository;
+    private final StudentRepository studentRepository;
+    private final ReconciliationWatermarkRepository watermarkRepository;
+    private final LeaderboardService leaderboardService;
+    private final PerformanceTierService performanceTierService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long settleMs;
+    private final int rebuildChunkSize;
+    private final int rebuildThreads;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong studentsRepaired = new AtomicLong();
+    private final AtomicLong driftPoints = new AtomicLong();
+    private volatile ReconciliationRunDto lastRun;
+    private volatile ReconciliationRunDto lastFullRebuild;
+
+    @Autowired
+    public StudentPerformanceReconciler(ResolutionRepository resolutionRepository,
+                                        StudentPerformanceRepository studentPerformanceRepository,
+                                        StudentRepository studentRepository,
+                                        ReconciliationWatermarkRepository watermarkRepository,
+                                        LeaderboardService leaderboardService,
+                                        PerformanceTierService performanceTierService,
+                                        JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.reconciler.batch-size:1000}") int batchSize,
+                                        @Value("${app.reconciler.settle-ms:5000}") long settleMs,
+                                        @Value("${app.reconciler.rebuild-chunk-size:500}") int rebuildChunkSize,
+                                        @Value("${app.reconciler.rebuild-threads:4}") int rebuildThreads) {
+        this.resolutionRepository = resolutionRepository;
+        this.studentPerformanceRepository = studentPerformanceRepository;
+        this.studentRepository = studentRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.leaderboardService = leaderboardService;
+        this.performanceTierService = performanceTierService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.settleMs = settleMs;
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.rebuildThreads = rebuildThreads;
+    }
+
+    /**
+     * Processes resolutions written since the watermark, one batch per transaction. Rows younger
+     * than the settle time are left for the next run so slower transactions that stamped an earlier
+     * updated_at can still commit before the watermark passes them.
+     */
+    @Scheduled(initialDelayString = "${app.reconciler.initial-delay-ms:60000}",
+               fixedDelayString = "${app.reconciler.interval-ms:60000}")
+    public synchronized ReconciliationRunDto reconcile() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        LocalDateTime upTo = startedAt.minusNanos(settleMs * 1_000_000);
+        Repair total = new Repair();
+        long scanned = 0;
+        int rows;
+        do {
+            Repair batch = new Repair();
+            rows = transactionTemplate.execute(status -> {
+                ReconciliationWatermark watermark = watermarkRepository.findById(WATERMARK)
+                        .orElseGet(() -> new ReconciliationWatermark(WATERMARK, WATERMARK_START, 0L, null));
+                List<Object[]> changed = resolutionRepository.findChangedSince(watermark.getWatermarkAt(),
+                        watermark.getWatermarkId(), upTo, Limit.of(batchSize));
+                if (changed.isEmpty()) {
+                    return 0;
+                }
+                Set<Long> studentIds = new LinkedHashSet<>();
+                for (Object[] row : changed) {
+                    studentIds.add((Long) row[1]);
+                }
+                Object[] last = changed.get(changed.size() - 1);
+                watermark.setWatermarkId((Long) last[0]);
+                watermark.setWatermarkAt((LocalDateTime) last[2]);
+                batch.add(repair(studentIds));
+                watermarkRepository.save(watermark);
+                return changed.size();
+            });
+            scanned += rows;
+            total.add(batch);
+        } while (rows == batchSize);
+
+        ReconciliationRunDto run = record(ReconciliationRunDto.INCREMENTAL, startedAt, start, scanned, total);
+        lastRun = run;
+        return run;
+    }
+
+    /**
+     * Rechecks every student, in chunks processed in parallel, then reloads the in-memory leaderboard.
+     * Empty if a rebuild is already running.
+     */
+    public Optional<ReconciliationRunDto> rebuildAll() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.currentTimeMillis();
+            List<Long> studentIds = studentRepository.findAllIds();
+            Repair total = new Repair();
+            ExecutorService pool = Executors.newFixedThreadPool(rebuildThreads);
+            try {
+                List<Future<Repair>> chunks = new ArrayList<>();
+                for (int from = 0; from < studentIds.size(); from += rebuildChunkSize) {
+                    List<Long> chunk = studentIds.subList(from, Math.min(from + rebuildChunkSize, studentIds.size()));
+                    chunks.add(pool.submit(() -> transactionTemplate.execute(status -> repair(chunk))));
+                }
+                for (Future<Repair> chunk : chunks) {
+                    total.add(chunk.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconstrucción interrumpida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error al reconstruir el rendimiento", e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+            leaderboardService.rebuild();
+
+            ReconciliationRunDto run = record(ReconciliationRunDto.FULL, startedAt, start, 0, total);
+            lastFullRebuild = run;
+            return Optional.of(run);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public ReconciliationStatsDto getStats() {
+        Optional<ReconciliationWatermark> watermark = watermarkRepository.findById(WATERMARK);
+        return new ReconciliationStatsDto(
+                watermark.map(ReconciliationWatermark::getWatermarkAt).orElse(null),
+                watermark.map(ReconciliationWatermark::getWatermarkId).orElse(null),
+                runs.get(), studentsRepaired.get(), driftPoints.get(), lastRun, lastFullRebuild);
+    }
+
+    // Runs inside the caller's transaction
+    private Repair repair(Collection<Long> studentIds) {
+        // Stored totals first: a credit committing in between then shows up in the recomputed sum,
+        // and the compare-and-set below refuses to overwrite it
+        Map<Long, Integer> stored = new HashMap<>();
+        for (Object[] row : studentPerformanceRepository.findTotalsByStudentIds(studentIds)) {
+            stored.put((Long) row[0], (Integer) row[1]);
+        }
+        Map<Long, Integer> actual = new HashMap<>();
+        for (Object[] row : resolutionRepository.sumCompletedPointsForStudents(studentIds)) {
+            actual.put(((Number) row[0]).longValue(), row[1] != null ? ((Number) row[1]).intValue() : 0);
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        List<int[]> drifts = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            int expected = actual.getOrDefault(studentId, 0);
+            Integer current = stored.get(studentId);
+            if (current == null) {
+                if (expected == 0) {
+                    continue;
+                }
+                studentPerformanceRepository.insertIfAbsent(studentId, performanceTierService.categoryFor(0));
+                current = 0;
+            }
+            if (current != expected) {
+                updates.add(new Object[]{expected, studentId, current});
+                drifts.add(new int[]{expected, current});
+            }
+        }
+
+        Repair repair = new Repair();
+        repair.checked = studentIds.size();
+        if (updates.isEmpty()) {
+            return repair;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(REPAIR_SQL, updates);
+        Map<Long, Integer> corrected = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                corrected.put((Long) updates.get(i)[1], drifts.get(i)[0]);
+                repair.drift += Math.abs(drifts.get(i)[0] - drifts.get(i)[1]);
+            }
+        }
+        repair.repaired = corrected.size();
+        if (!corrected.isEmpty()) {
+            performanceTierService.retier(corrected.keySet());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    corrected.forEach(leaderboardService::correctPoints);
+                }
+            });
+        }
+        return repair;
+    }
+
+    private ReconciliationRunDto record(String mode, LocalDateTime startedAt, long start, long scanned, Repair total) {
+        runs.incrementAndGet();
+        studentsRepaired.addAndGet(total.repaired);
+        driftPoints.addAndGet(total.drift);
+        return new ReconciliationRunDto(mode, startedAt, System.currentTimeMillis() - start, scanned,
+                total.checked, total.repaired, total.drift);
+    }
+
+    private static final class Repair {
+        private long checked;
+        private long repaired;
+        private long drift;
+
+        private void add(Repair other) {
+            checked += other.checked;
+            repaired += other.repaired;
+            drift += other.drift;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
+import com.example.pensamientoComputacional.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Accumulates points into student_performance with one UPDATE that increments the
+ * total, re-tiers the row and returns the new total, so concurrent validations for
+ * the same student never lose an increment or leave a stale category.
+ */
+@Service
+public class StudentPerformanceService {
+
+    private final StudentPerformanceRepository studentPerformanceRepository;
+    private final StudentRepository studentRepository;
+    private final LeaderboardService leaderboardService;
+    private final PerformanceTierService performanceTierService;
+
+    @Autowired
+    public StudentPerformanceService(StudentPerformanceRepository studentPerformanceRepository,
+                                     StudentRepository studentRepository,
+                                     LeaderboardService leaderboardService,
+                                     PerformanceTierService performanceTierService) {
+        this.studentPerformanceRepository = studentPerformanceRepository;
+        this.studentRepository = studentRepository;
+        this.leaderboardService = leaderboardService;
+        this.performanceTierService = performanceTierService;
+    }
+
+    /**
+     * Adds points to the student's total and returns the new total.
+     */
+    @Transactional
+    public int addPoints(Long studentId, int points) {
+        Integer total = performanceTierService.addPoints(studentId, points);
+        if (total == null) {
+            // No row yet: lock the student so only one transaction creates it, then retry the increment
+            studentRepository.lockById(studentId);
+            studentPerformanceRepository.insertIfAbsent(studentId, performanceTierService.categoryFor(0));
+            total = performanceTierService.addPoints(studentId, points);
+        }
+        publishAfterCommit(studentId, total);
+        return total;
+    }
+
+    // The leaderboard must not show points from a transaction that later rolls back
+    private void publishAfterCommit(Long studentId, int total) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            leaderboardService.recordPoints(studentId, total);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                leaderboardService.recordPoints(studentId, total);
+            }
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.WebSocketMetricsDto;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gauges for the STOMP endpoint: sessions and subscriptions from
+ * {@link WebSocketSubscriptionRegistry}, tasks waiting for the client channel executors, sessions
+ * closed for exceeding the send limits, and fan-out latency, measured for each MESSAGE frame
+ * from the moment it enters the outbound channel, after any wait in its session's publish-order
+ * buffer, until it is written to the session or its send buffer.
+ */
+@Service
+public class WebSocketMetrics {
+
+    static final String QUEUED_AT_HEADER = "wsQueuedAtNanos";
+
+    private final WebSocketSubscriptionRegistry subscriptionRegistry;
+    private final AtomicLong inboundExecutorQueued = new AtomicLong();
+    private final AtomicLong outboundExecutorQueued = new AtomicLong();
+    private final LongAdder evictedSessions = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deliveryNanos = new LongAdder();
+    private final AtomicLong maxDeliveryNanos = new AtomicLong();
+
+    public WebSocketMetrics(WebSocketSubscriptionRegistry subscriptionRegistry) {
+        this.subscriptionRegistry = subscriptionRegistry;
+    }
+
+    public ExecutorChannelInterceptor inboundInterceptor() {
+        return new QueueDepth(inboundExecutorQueued, false);
+    }
+
+    public ExecutorChannelInterceptor outboundInterceptor() {
+        return new QueueDepth(outboundExecutorQueued, true);
+    }
+
+    /**
+     * Counts sessions that Spring closes because a send took longer than the send time limit
+     * or the send buffer outgrew its limit.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    evictedSessions.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public WebSocketMetricsDto getSnapshot() {
+        long count = delivered.sum();
+        double avgMs = count > 0 ? deliveryNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+        double maxMs = maxDeliveryNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        return new WebSocketMetricsDto(subscriptionRegistry.getSessionCount(),
+                subscriptionRegistry.getSubscriptionCounts(), inboundExecutorQueued.get(), outboundExecutorQueued.get(),
+                evictedSessions.sum(), count, avgMs, maxMs);
+    }
+
+    void recordDelivery(long nanos) {
+        delivered.increment();
+        deliveryNanos.add(nanos);
+        maxDeliveryNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private final class QueueDepth implements ExecutorChannelInterceptor {
+        private final AtomicLong queued;
+        private final boolean timed;
+
+        private QueueDepth(AtomicLong queued, boolean timed) {
+            this.queued = queued;
+            this.timed = timed;
+        }
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            queued.addAndGet(tasksFor(channel));
+            if (timed && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                return MessageBuilder.fromMessage(message).setHeader(QUEUED_AT_HEADER, System.nanoTime()).build();
+            }
+            return message;
+        }
+
+        @Override
+        public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+            if (!sent) {
+                queued.addAndGet(-tasksFor(channel)); // Rejected before reaching the executor
+            }
+        }
+
+        // The channel runs one task per subscribed handler; the inbound channel has several
+        private int tasksFor(MessageChannel channel) {
+            return channel instanceof AbstractSubscribableChannel subscribable
+                    ? Math.max(subscribable.getSubscribers().size(), 1) : 1;
+        }
+
+        @Override
+        public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+            queued.decrementAndGet();
+            return message;
+        }
+
+        @Override
+        public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+            Long queuedAt = message.getHeaders().get(QUEUED_AT_HEADER, Long.class);
+            if (queuedAt != null && ex == null) {
+                recordDelivery(System.nanoTime() - queuedAt);
+            }
+        }
+    }
+}
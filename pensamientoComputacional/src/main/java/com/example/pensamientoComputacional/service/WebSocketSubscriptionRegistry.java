@@ -0,0 +1,111 @@
+package com.example.pensamientoComputacional.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The STOMP sessions connected to this node and their subscriptions, kept from the session
+ * events Spring publishes. Listeners hear when a destination gets its first local subscriber
+ * and when it loses its last one.
+ */
+@Service
+public class WebSocketSubscriptionRegistry {
+
+    public interface Listener {
+
+        void firstSubscribed(String destination);
+
+        void lastUnsubscribed(String destination);
+    }
+
+    // Session id -> subscription id -> destination, to undo UNSUBSCRIBE and DISCONNECT
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    // Guarded by this, so listeners see first/last transitions in order
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (destination == null || headers.getSessionId() == null || headers.getSubscriptionId() == null) {
+            return;
+        }
+        String previous = sessions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), destination);
+        if (previous != null) {
+            removeSubscription(previous);
+        }
+        addSubscription(destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = headers.getSessionId() != null ? sessions.get(headers.getSessionId()) : null;
+        String destination = subscriptions != null && headers.getSubscriptionId() != null
+                ? subscriptions.remove(headers.getSubscriptionId()) : null;
+        if (destination != null) {
+            removeSubscription(destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::removeSubscription);
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public synchronized Map<String, Integer> getSubscriptionCounts() {
+        return new TreeMap<>(counts);
+    }
+
+    private synchronized void addSubscription(String destination) {
+        if (counts.merge(destination, 1, Integer::sum) == 1) {
+            listeners.forEach(listener -> listener.firstSubscribed(destination));
+        }
+    }
+
+    private synchronized void removeSubscription(String destination) {
+        Integer count = counts.get(destination);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            counts.put(destination, count - 1);
+            return;
+        }
+        counts.remove(destination);
+        listeners.forEach(listener -> listener.lastUnsubscribed(destination));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.pensamientoComputacional.service.impl;
+
+import com.example.pensamientoComputacional.service.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU of completed responses; entries also expire after the configured TTL.
+ */
+@Component
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final long ttlMs;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.ttl-ms:86400000}") long ttlMs,
+                                    @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<Completed> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.completed);
+    }
+
+    @Override
+    public synchronized void save(String key, String fingerprint, ResponseEntity<?> response) {
+        entries.put(key, new Entry(new Completed(fingerprint, response), System.currentTimeMillis() + ttlMs));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(Completed completed, long expiresAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.pensamientoComputacional.service.impl;
+
+import com.example.pensamientoComputacional.service.ScoreboardFanout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node fan-out: the in-JVM broker reaches every subscriber there is.
+ */
+@Component
+@ConditionalOnProperty(name = "app.scoreboard.broker.mode", havingValue = "local", matchIfMissing = true)
+public class LocalScoreboardFanout implements ScoreboardFanout {
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    public LocalScoreboardFanout(SimpMessageSendingOperations messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.pensamientoComputacional.service.impl;
+
+import com.example.pensamientoComputacional.mapper.ResolutionMapper;
+import com.example.pensamientoComputacional.model.dto.BatchAssignResultDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto;
+import com.example.pensamientoComputacional.model.entities.Exercise;
+import com.example.pensamientoComputacional.model.entities.Professor;
+import com.example.pensamientoComputacional.model.entities.Resolution;
+import com.example.pensamientoComputacional.model.entities.Student;
+import com.example.pensamientoComputacional.model.util.ResolutionCodeHash;
+import com.example.pensamientoComputacional.repository.ArchivedResolutionRepository;
+import com.example.pensamientoComputacional.repository.ExerciseRepository;
+import com.example.pensamientoComputacional.repository.ResolutionRepository;
+import com.example.pensamientoComputacional.repository.StudentRepository;
+import com.example.pensamientoComputacional.service.ActivityLeaderboardService;
+import com.example.pensamientoComputacional.service.AttemptCounterService;
+import com.example.pensamientoComputacional.service.IResolutionService;
+import com.example.pensamientoComputacional.service.ScoreboardEventService;
+import com.example.pensamientoComputacional.service.StudentPerformanceService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+public class ResolutionServiceImpl implements IResolutionService {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    // Lower bound for the first keyset page; earlier than any stored submission
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Comparator<ResolutionSummaryDto> KEYSET_ORDER =
+            Comparator.comparing(ResolutionSummaryDto::getSubmittedAt).thenComparing(ResolutionSummaryDto::getId);
+
+    private final ResolutionRepository resolutionRepository;
+    private final ArchivedResolutionRepository archivedResolutionRepository;
+    private final StudentRepository studentRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final StudentPerformanceService studentPerformanceService;
+    private final AttemptCounterService attemptCounterService;
+    private final ResolutionMapper resolutionMapper;
+    private final ActivityLeaderboardService activityLeaderboardService;
+    private final ScoreboardEventService scoreboardEventService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ResolutionServiceImpl(ResolutionRepository resolutionRepository,
+                                 ArchivedResolutionRepository archivedResolutionRepository,
+                                 StudentRepository studentRepository,
+                                 ExerciseRepository exerciseRepository,
+                                 StudentPerformanceService studentPerformanceService,
+                                 AttemptCounterService attemptCounterService,
+                                 ResolutionMapper resolutionMapper,
+                                 ActivityLeaderboardService activityLeaderboardService,
+                                 ScoreboardEventService scoreboardEventService,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager) {
+        this.resolutionRepository = resolutionRepository;
+        this.archivedResolutionRepository = archivedResolutionRepository;
+        this.studentRepository = studentRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.studentPerformanceService = studentPerformanceService;
+        this.attemptCounterService = attemptCounterService;
+        this.resolutionMapper = resolutionMapper;
+        this.activityLeaderboardService = activityLeaderboardService;
+        this.scoreboardEventService = scoreboardEventService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResolutionSummaryDto> getAllResolutions(boolean includeArchived) {
+        return includeArchived
+                ? withArchived(resolutionRepository.findAllSummaries(), archivedResolutionRepository.findAllSummaries())
+                : resolutionRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResolutionSummaryDto> getResolutionsByStudent(Long studentId, boolean includeArchived) {
+        List<ResolutionSummaryDto> hot = resolutionRepository.findSummariesByStudentId(studentId);
+        return includeArchived
+                ? withArchived(hot, archivedResolutionRepository.findSummariesByStudentId(studentId))
+                : hot;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResolutionSummaryDto> getResolutionsByActivity(Long activityId, boolean includeArchived) {
+        List<ResolutionSummaryDto> hot = resolutionRepository.findSummariesByActivityId(activityId);
+        return includeArchived
+                ? withArchived(hot, archivedResolutionRepository.findSummariesByActivityId(activityId))
+                : hot;
+    }
+
+    // Archived semesters are older, but ids and timestamps can interleave at the boundary, so re-sort
+    private static List<ResolutionSummaryDto> withArchived(List<ResolutionSummaryDto> hot,
+                                                           List<ResolutionSummaryDto> archived) {
+        List<ResolutionSummaryDto> all = new ArrayList<>(archived.size() + hot.size());
+        all.addAll(archived);
+        all.addAll(hot);
+        all.sort(KEYSET_ORDER);
+        return all;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ResolutionSummaryDto> getResolutionWindow(Long studentId, Long activityId, boolean includeArchived,
+                                                            ScrollPosition position, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime submittedAt = KEYSET_START;
+        Long id = 0L;
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            submittedAt = (LocalDateTime) keyset.getKeys().get("submittedAt");
+            id = (Long) keyset.getKeys().get("id");
+        }
+
+        // Read one extra row to know whether another page follows
+        Limit fetch = Limit.of(pageSize + 1);
+        List<ResolutionSummaryDto> rows;
+        if (studentId != null) {
+            rows = resolutionRepository.findSummariesByStudentIdAfter(studentId, submittedAt, id, fetch);
+        } else if (activityId != null) {
+            rows = resolutionRepository.findSummariesByActivityIdAfter(activityId, submittedAt, id, fetch);
+        } else {
+            rows = resolutionRepository.findSummariesAfter(submittedAt, id, fetch);
+        }
+        if (includeArchived) {
+            // Both sides share the keyset, so the first pageSize + 1 of the merge are the next rows overall
+            List<ResolutionSummaryDto> archived;
+            if (studentId != null) {
+                archived = archivedResolutionRepository.findSummariesByStudentIdAfter(studentId, submittedAt, id, fetch);
+            } else if (activityId != null) {
+                archived = archivedResolutionRepository.findSummariesByActivityIdAfter(activityId, submittedAt, id, fetch);
+            } else {
+                archived = archivedResolutionRepository.findSummariesAfter(submittedAt, id, fetch);
+            }
+            List<ResolutionSummaryDto> merged = withArchived(rows, archived);
+            rows = merged.subList(0, Math.min(merged.size(), pageSize + 1));
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ResolutionSummaryDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return Window.from(page, index -> {
+            ResolutionSummaryDto row = page.get(index);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("submittedAt", row.getSubmittedAt());
+            keys.put("id", row.getId());
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamResolutions(Long studentId, Long activityId, boolean includeArchived,
+                                  Consumer<ResolutionSummaryDto> action) {
+        Stream<ResolutionSummaryDto> resolutions;
+        if (studentId != null) {
+            resolutions = resolutionRepository.streamSummariesByStudentId(studentId);
+        } else if (activityId != null) {
+            resolutions = resolutionRepository.streamSummariesByActivityId(activityId);
+        } else {
+            resolutions = resolutionRepository.streamAllSummaries();
+        }
+        if (!includeArchived) {
+            try (resolutions) {
+                resolutions.forEach(action);
+            }
+            return;
+        }
+
+        Stream<ResolutionSummaryDto> archived;
+        if (studentId != null) {
+            archived = archivedResolutionRepository.streamSummariesByStudentId(studentId);
+        } else if (activityId != null) {
+            archived = archivedResolutionRepository.streamSummariesByActivityId(activityId);
+        } else {
+            archived = archivedResolutionRepository.streamAllSummaries();
+        }
+        // Merge the two ordered cursors row by row instead of buffering either side
+        try (resolutions; archived) {
+            Iterator<ResolutionSummaryDto> hot = resolutions.iterator();
+            Iterator<ResolutionSummaryDto> cold = archived.iterator();
+            ResolutionSummaryDto nextHot = hot.hasNext() ? hot.next() : null;
+            ResolutionSummaryDto nextCold = cold.hasNext() ? cold.next() : null;
+            while (nextHot != null || nextCold != null) {
+                if (nextCold == null || (nextHot != null && KEYSET_ORDER.compare(nextHot, nextCold) <= 0)) {
+                    action.accept(nextHot);
+                    nextHot = hot.hasNext() ? hot.next() : null;
+                } else {
+                    action.accept(nextCold);
+                    nextCold = cold.hasNext() ? cold.next() : null;
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Resolution> getResolution(Long id) {
+        return resolutionRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Resolution> findPendingResolution(Long studentId, Long exerciseId) {
+        return resolutionRepository.findFirstByStudentIdAndExerciseIdAndStatusOrderByIdAsc(
+                studentId, exerciseId, STATUS_PENDING);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // allocation and insert each commit on their own
+    public Resolution createResolution(Resolution resolution) {
+        resolution.setAttemptNo(attemptCounterService.nextAttemptNo(
+                resolution.getStudent().getId(), resolution.getExercise().getId()));
+        if (resolution.getStatus() == null) {
+            resolution.setStatus(STATUS_PENDING);
+        }
+        if (resolution.getCode() == null) {
+            resolution.setCode("");
+        }
+        return resolutionRepository.save(resolution);
+    }
+
+    @Override
+    public Resolution saveResolution(Resolution resolution) {
+        List<Object[]> stored = resolution.getId() != null
+                ? resolutionRepository.findStoredGradeById(resolution.getId())
+                : List.of();
+        boolean wasCompleted = !stored.isEmpty() && STATUS_COMPLETED.equals(stored.get(0)[0]);
+        int storedPoints = wasCompleted && stored.get(0)[1] != null ? (Integer) stored.get(0)[1] : 0;
+
+        Resolution saved = resolutionRepository.save(resolution);
+        // Grading may change the points of a resolution already on a live activity board
+        activityLeaderboardService.recordGrade(saved);
+        // Replaying the event feed must add up to what the boards count
+        if (STATUS_COMPLETED.equals(saved.getStatus())) {
+            int points = saved.getPointsAwarded() != null ? saved.getPointsAwarded() : 0;
+            if (!wasCompleted) {
+                scoreboardEventService.recordCompletion(saved);
+            } else if (points != storedPoints) {
+                scoreboardEventService.recordRegrade(saved, points - storedPoints);
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Resolution completeResolution(Resolution resolution) {
+        // Only the request that moves it out of PENDING credits the student
+        if (resolutionRepository.updateStatusIfCurrent(resolution.getId(), STATUS_PENDING, STATUS_COMPLETED) == 0) {
+            return resolutionRepository.findById(resolution.getId()).orElse(resolution);
+        }
+        resolution.setStatus(STATUS_COMPLETED);
+
+        // Update student's total points
+        Integer pointsAwarded = resolution.getPointsAwarded();
+        if (pointsAwarded != null && pointsAwarded > 0) {
+            studentPerformanceService.addPoints(resolution.getStudent().getId(), pointsAwarded);
+        }
+        activityLeaderboardService.recordCompletion(resolution);
+        scoreboardEventService.recordCompletion(resolution);
+
+        return resolution;
+    }
+
+    @Override
+    public Optional<Resolution> redeemCode(Long studentId, String code) {
+        String codeHash = ResolutionCodeHash.of(code);
+        if (codeHash == null) {
+            throw new IllegalArgumentException("El código es obligatorio");
+        }
+        Optional<Resolution> match = resolutionRepository
+                .findFirstByStudentIdAndCodeHashAndStatusOrderByIdAsc(studentId, codeHash, STATUS_PENDING)
+                .filter(resolution -> ResolutionCodeHash.matches(resolution.getCode(), code));
+        if (match.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Resolution resolution = match.get();
+        if (resolutionRepository.updateStatusIfCurrent(resolution.getId(), STATUS_PENDING, STATUS_COMPLETED) == 0) {
+            return Optional.empty(); // Redeemed by a concurrent request
+        }
+        resolution.setStatus(STATUS_COMPLETED);
+
+        Integer pointsAwarded = resolution.getPointsAwarded();
+        if (pointsAwarded != null && pointsAwarded > 0) {
+            studentPerformanceService.addPoints(studentId, pointsAwarded);
+        }
+        activityLeaderboardService.recordCompletion(resolution);
+        scoreboardEventService.recordCompletion(resolution);
+        return Optional.of(resolution);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each chunk commits on its own
+    public int backfillCodeHashes() {
+        int updated = 0;
+        long afterId = 0L;
+        while (true) {
+            long from = afterId;
+            // Commit and detach every chunk so a large table neither holds one long
+            // transaction nor accumulates every loaded row in the persistence context
+            BackfillChunk chunk = transactionTemplate.execute(status -> {
+                List<Resolution> batch = resolutionRepository.findWithoutCodeHash(from, Limit.of(BACKFILL_BATCH_SIZE));
+                int hashed = 0;
+                long lastId = from;
+                for (Resolution resolution : batch) {
+                    resolution.setCodeHash(ResolutionCodeHash.of(resolution.getCode()));
+                    if (resolution.getCodeHash() != null) {
+                        hashed++;
+                    }
+                    lastId = resolution.getId();
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return new BackfillChunk(batch.size(), hashed, lastId);
+            });
+            updated += chunk.hashed();
+            afterId = chunk.lastId();
+            if (chunk.size() < BACKFILL_BATCH_SIZE) {
+                return updated;
+            }
+        }
+    }
+
+    private record BackfillChunk(int size, int hashed, long lastId) {
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // attempt numbers are reserved before the batch transaction
+    public List<BatchAssignResultDto> assignPointsBatch(Professor professor, List<ResolutionDto> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("El lote no puede superar " + MAX_BATCH_SIZE + " elementos");
+        }
+
+        // One query each for students, exercises and the pending resolutions they may already have;
+        // the pending ones are read again, to be updated, inside the batch transaction
+        Set<Long> studentIds = items.stream().map(ResolutionDto::getStudentId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> exerciseIds = items.stream().map(ResolutionDto::getExerciseId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, Exercise> exercises = exerciseRepository.findAllById(exerciseIds).stream()
+                .collect(Collectors.toMap(Exercise::getId, Function.identity()));
+        Set<PendingKey> pendingBefore = findPending(studentIds, exerciseIds).keySet();
+
+        // A pair without a pending resolution gets one new row from its first item; later items
+        // update it. Reserving those numbers here, one short counter transaction per pair, keeps the
+        // batch transaction from needing a second connection for each allocation
+        Map<PendingKey, Integer> attemptNos = new HashMap<>();
+        for (ResolutionDto item : items) {
+            PendingKey key = new PendingKey(item.getStudentId(), item.getExerciseId());
+            if (students.containsKey(key.studentId()) && exercises.containsKey(key.exerciseId())
+                    && !pendingBefore.contains(key) && !attemptNos.containsKey(key)) {
+                try {
+                    attemptNos.put(key, attemptCounterService.nextAttemptNo(key.studentId(), key.exerciseId()));
+                } catch (RuntimeException e) {
+                    attemptNos.put(key, null); // The pair's new row fails below
+                }
+            }
+        }
+
+        return transactionTemplate.execute(status -> {
+            Map<PendingKey, Resolution> pending = findPending(studentIds, exerciseIds);
+            List<BatchAssignResultDto> results = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                ResolutionDto item = items.get(i);
+                BatchAssignResultDto result = new BatchAssignResultDto();
+                result.setIndex(i);
+                result.setStudentId(item.getStudentId());
+                result.setExerciseId(item.getExerciseId());
+                results.add(result);
+
+                Student student = item.getStudentId() != null ? students.get(item.getStudentId()) : null;
+                Exercise exercise = item.getExerciseId() != null ? exercises.get(item.getExerciseId()) : null;
+                if (student == null) {
+                    result.setOutcome(BatchAssignResultDto.FAILED);
+                    result.setError("Estudiante no encontrado");
+                    continue;
+                }
+                if (exercise == null) {
+                    result.setOutcome(BatchAssignResultDto.FAILED);
+                    result.setError("Ejercicio no encontrado");
+                    continue;
+                }
+
+                PendingKey key = new PendingKey(student.getId(), exercise.getId());
+                Resolution resolution = pending.get(key);
+                if (resolution != null) {
+                    // Managed entity: the UPDATE is queued and flushed with the rest of the batch
+                    if (item.getPointsAwarded() != null) {
+                        resolution.setPointsAwarded(item.getPointsAwarded());
+                    }
+                    if (item.getCode() != null && !item.getCode().isEmpty()) {
+                        resolution.setCode(item.getCode());
+                    }
+                    resolution.setAwardedBy(professor);
+                    activityLeaderboardService.recordGrade(resolution);
+                    result.setOutcome(BatchAssignResultDto.UPDATED);
+                } else {
+                    Integer attemptNo = attemptNos.remove(key);
+                    if (attemptNo == null) {
+                        // Counter failure, or the pending resolution seen before the reservation is gone
+                        result.setOutcome(BatchAssignResultDto.FAILED);
+                        result.setError("No se pudo asignar un número de intento; reintente el elemento");
+                        continue;
+                    }
+                    resolution = new Resolution();
+                    resolution.setStudent(student);
+                    resolution.setExercise(exercise);
+                    resolution.setPointsAwarded(item.getPointsAwarded());
+                    resolution.setCode(item.getCode() != null ? item.getCode() : "");
+                    resolution.setAwardedBy(professor);
+                    resolution.setStatus(STATUS_PENDING);
+                    resolution.setAttemptNo(attemptNo);
+                    resolution = resolutionRepository.save(resolution);
+                    // A later item for the same pair updates this row instead of opening another attempt
+                    pending.put(key, resolution);
+                    result.setOutcome(BatchAssignResultDto.CREATED);
+                }
+                result.setResolution(resolutionMapper.entityToDto(resolution));
+            }
+            return results;
+        });
+    }
+
+    // Pending resolutions by pair; the IN cross product may return pairs outside the batch, which are never looked up
+    private Map<PendingKey, Resolution> findPending(Set<Long> studentIds, Set<Long> exerciseIds) {
+        Map<PendingKey, Resolution> pending = new HashMap<>();
+        if (!studentIds.isEmpty() && !exerciseIds.isEmpty()) {
+            for (Resolution resolution : resolutionRepository.findByStatusAndStudentIdsAndExerciseIds(
+                    STATUS_PENDING, studentIds, exerciseIds)) {
+                pending.putIfAbsent(new PendingKey(resolution.getStudent().getId(), resolution.getExercise().getId()),
+                        resolution);
+            }
+        }
+        return pending;
+    }
+
+    private record PendingKey(Long studentId, Long exerciseId) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.pensamientoComputacional.service.impl;
+
+import com.example.pensamientoComputacional.service.ScoreboardFanout;
+import com.example.pensamientoComputacional.service.WebSocketSubscriptionRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cross-node fan-out through an external STOMP broker (RabbitMQ Web-STOMP, ActiveMQ, ...).
+ * Each node keeps one relay connection and subscribes on it only to the scoreboard topics
+ * its own WebSocket sessions subscribe to, as tracked by {@link WebSocketSubscriptionRegistry},
+ * so a node receives nothing for activities no local client is watching. Published messages
+ * go to the broker only; they come back to this node like to any other when it has local
+ * subscribers. While the relay is down, messages are delivered to local subscribers so a
+ * lone node keeps working.
+ */
+@Component
+@ConditionalOnProperty(name = "app.scoreboard.broker.mode", havingValue = ScoreboardFanout.RELAY_MODE)
+public class StompRelayScoreboardFanout implements ScoreboardFanout, WebSocketSubscriptionRegistry.Listener {
+
+    public static final String FANOUT_PREFIX = "/topic/scoreboard";
+
+    private static final String TOPIC = "/topic/";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final String relayUrl;
+    private final StompHeaders connectHeaders = new StompHeaders();
+    private final long reconnectMs;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private final WebSocketStompClient stompClient;
+    // Fanned-out destinations with local subscribers; guarded by this
+    private final Map<String, Interest> interests = new HashMap<>();
+
+    private volatile StompSession session;
+    private volatile boolean running;
+
+    @Autowired
+    public StompRelayScoreboardFanout(SimpMessageSendingOperations messagingTemplate,
+                                      WebSocketSubscriptionRegistry subscriptionRegistry,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.scoreboard.broker.relay-url}") String relayUrl,
+                                      @Value("${app.scoreboard.broker.login:}") String login,
+                                      @Value("${app.scoreboard.broker.passcode:}") String passcode,
+                                      @Value("${app.scoreboard.broker.reconnect-ms:5000}") long reconnectMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.relayUrl = relayUrl;
+        this.reconnectMs = reconnectMs;
+        if (!login.isEmpty()) {
+            connectHeaders.setLogin(login);
+            connectHeaders.setPasscode(passcode);
+        }
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("scoreboard-relay-");
+        scheduler.setDaemon(true);
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setTaskScheduler(scheduler);
+        subscriptionRegistry.addListener(this);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.initialize();
+        running = true;
+        connect();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+        scheduler.shutdown();
+    }
+
+    public boolean isConnected() {
+        StompSession current = session;
+        return current != null && current.isConnected();
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el mensaje del scoreboard", e);
+        }
+        StompSession current = session;
+        if (!isFannedOut(destination) || current == null || !current.isConnected()) {
+            deliverLocally(destination, body);
+            return;
+        }
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(relayDestination(destination));
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        try {
+            current.send(headers, body);
+        } catch (RuntimeException e) {
+            deliverLocally(destination, body);
+        }
+    }
+
+    @Override
+    public synchronized void firstSubscribed(String destination) {
+        if (isFannedOut(destination)) {
+            Interest interest = new Interest(destination);
+            interests.put(destination, interest);
+            relaySubscribe(interest);
+        }
+    }
+
+    @Override
+    public synchronized void lastUnsubscribed(String destination) {
+        Interest interest = interests.remove(destination);
+        if (interest != null && interest.subscription != null) {
+            try {
+                interest.subscription.unsubscribe();
+            } catch (RuntimeException e) {
+                // The connection is gone and took the subscription with it
+            }
+        }
+    }
+
+    static boolean isFannedOut(String destination) {
+        return destination.startsWith(FANOUT_PREFIX);
+    }
+
+    // External brokers route topics on dotted names: /topic/scoreboard/activity/7 -> /topic/scoreboard.activity.7
+    static String relayDestination(String destination) {
+        return TOPIC + destination.substring(TOPIC.length()).replace('/', '.');
+    }
+
+    // Called with the lock held; without a connection the interest is subscribed on reconnect
+    private void relaySubscribe(Interest interest) {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            return;
+        }
+        interest.subscription = current.subscribe(relayDestination(interest.destination), new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                deliverLocally(interest.destination, (byte[]) payload);
+            }
+        });
+    }
+
+    // Payload is already JSON: the local broker forwards the bytes as they are
+    private void deliverLocally(String destination, byte[] body) {
+        messagingTemplate.send(destination, MessageBuilder.withPayload(body)
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                .build());
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        stompClient.connectAsync(relayUrl, new WebSocketHttpHeaders(), connectHeaders, new RelayHandler())
+                .whenComplete((connected, error) -> {
+                    if (error != null) {
+                        scheduleReconnect();
+                    }
+                });
+    }
+
+    private void scheduleReconnect() {
+        if (running) {
+            scheduler.schedule(this::connect, Instant.now().plusMillis(reconnectMs));
+        }
+    }
+
+    private synchronized void connected(StompSession connected) {
+        session = connected;
+        interests.values().forEach(this::relaySubscribe);
+    }
+
+    private synchronized void lost(StompSession lost) {
+        if (session != lost) {
+            return; // Never connected: the failed connect already scheduled the retry
+        }
+        session = null;
+        interests.values().forEach(interest -> interest.subscription = null);
+        scheduleReconnect();
+    }
+
+    private final class RelayHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            connected(session);
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            if (!session.isConnected()) {
+                lost(session);
+            }
+        }
+    }
+
+    private static final class Interest {
+        private final String destination;
+        private StompSession.Subscription subscription;
+
+        private Interest(String destination) {
+            this.destination = destination;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+-- Tabla de permisos
+CREATE TABLE IF NOT EXISTS permissions (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255)
+);
+
+-- Tabla de roles
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255)
+);
+
+-- Tabla de relación roles-permisos
+CREATE TABLE IF NOT EXISTS role_permissions (
+    role_id BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, permission_id),
+    FOREIGN KEY (role_id) REFERENCES roles(id),
+    FOREIGN KEY (permission_id) REFERENCES permissions(id)
+);
+
+-- Tabla de usuarios
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    photo_url VARCHAR(255),
+    group_name VARCHAR(255),
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Tabla de relación usuarios-roles
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    FOREIGN KEY (role_id) REFERENCES roles(id)
+);
+
+-- Tabla de estudiantes
+CREATE TABLE IF NOT EXISTS students (
+    user_id BIGINT PRIMARY KEY,
+    initial_profile VARCHAR(255),
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Tabla de profesores
+CREATE TABLE IF NOT EXISTS professors (
+    user_id BIGINT PRIMARY KEY,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Tabla de semestres
+CREATE TABLE IF NOT EXISTS semesters (
+    id BIGSERIAL PRIMARY KEY,
+    code VARCHAR(255) NOT NULL UNIQUE,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- Tabla de grupos
+CREATE TABLE IF NOT EXISTS groups (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    course_id BIGINT,
+    semester_id BIGINT NOT NULL,
+    FOREIGN KEY (semester_id) REFERENCES semesters(id)
+);
+
+-- Tabla de inscripciones de estudiantes
+CREATE TABLE IF NOT EXISTS student_enrollments (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    semester_id BIGINT NOT NULL,
+    enrolled_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    FOREIGN KEY (student_id) REFERENCES students(user_id),
+    FOREIGN KEY (group_id) REFERENCES groups(id),
+    FOREIGN KEY (semester_id) REFERENCES semesters(id)
+);
+
+-- Tabla de asignaciones de profesores
+CREATE TABLE IF NOT EXISTS professor_assignments (
+    id BIGSERIAL PRIMARY KEY,
+    professor_id BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    semester_id BIGINT NOT NULL,
+    FOREIGN KEY (professor_id) REFERENCES professors(user_id),
+    FOREIGN KEY (group_id) REFERENCES groups(id),
+    FOREIGN KEY (semester_id) REFERENCES semesters(id)
+);
+
+-- Tabla de actividades
+CREATE TABLE IF NOT EXISTS activities (
+    id BIGSERIAL PRIMARY KEY,
+    group_id BIGINT NOT NULL,
+    professor_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    FOREIGN KEY (group_id) REFERENCES groups(id),
+    FOREIGN KEY (professor_id) REFERENCES professors(user_id)
+);
+
+-- Tabla de ejercicios
+CREATE TABLE IF NOT EXISTS exercises (
+    id BIGSERIAL PRIMARY KEY,
+    activity_id BIGINT,
+    title VARCHAR(255) NOT NULL,
+    statement TEXT NOT NULL,
+    difficulty INTEGER NOT NULL,
+    max_points INTEGER NOT NULL,
+    FOREIGN KEY (activity_id) REFERENCES activities(id)
+);
+
+-- Tabla de resoluciones
+CREATE TABLE IF NOT EXISTS resolutions (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    points_awarded INTEGER,
+    awarded_by BIGINT,
+    status VARCHAR(50) NOT NULL,
+    attempt_no INTEGER NOT NULL,
+    submitted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    code TEXT,
+    code_hash VARCHAR(64),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (student_id) REFERENCES students(user_id),
+    FOREIGN KEY (exercise_id) REFERENCES exercises(id),
+    FOREIGN KEY (awarded_by) REFERENCES professors(user_id)
+);
+
+-- Contadores de intentos por estudiante y ejercicio
+CREATE TABLE IF NOT EXISTS resolution_attempt_counters (
+    student_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    last_attempt_no INTEGER NOT NULL,
+    PRIMARY KEY (student_id, exercise_id),
+    FOREIGN KEY (student_id) REFERENCES students(user_id),
+    FOREIGN KEY (exercise_id) REFERENCES exercises(id)
+);
+
+-- Archivo de resoluciones de semestres cerrados (datos fríos)
+CREATE TABLE IF NOT EXISTS resolutions_archive (
+    id BIGINT PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    activity_id BIGINT NOT NULL,
+    semester_id BIGINT NOT NULL,
+    points_awarded INTEGER,
+    awarded_by BIGINT,
+    status VARCHAR(50) NOT NULL,
+    attempt_no INTEGER NOT NULL,
+    submitted_at TIMESTAMP NOT NULL,
+    code TEXT,
+    code_hash VARCHAR(64),
+    archived_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (semester_id) REFERENCES semesters(id)
+);
+
+-- Tabla de rendimiento de estudiantes
+CREATE TABLE IF NOT EXISTS student_performance (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    total_points INTEGER NOT NULL DEFAULT 0,
+    category VARCHAR(50) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (student_id) REFERENCES students(user_id)
+);
+
+-- Tabla de tipos de perfil
+CREATE TABLE IF NOT EXISTS profile_types (
+    profile_code VARCHAR(50) PRIMARY KEY,
+    description VARCHAR(255) NOT NULL
+);
+
+-- Tabla de perfiles de ejercicios
+CREATE TABLE IF NOT EXISTS exercise_profiles (
+    id BIGSERIAL PRIMARY KEY,
+    exercise_id BIGINT NOT NULL,
+    profile_code VARCHAR(50) NOT NULL,
+    FOREIGN KEY (exercise_id) REFERENCES exercises(id),
+    FOREIGN KEY (profile_code) REFERENCES profile_types(profile_code)
+);
+
+-- Tabla de eventos del tablero de puntuación
+CREATE TABLE IF NOT EXISTS scoreboard_events (
+    id BIGSERIAL PRIMARY KEY,
+    activity_id BIGINT,
+    student_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    user_id BIGINT NOT NULL,
+    FOREIGN KEY (activity_id) REFERENCES activities(id),
+    FOREIGN KEY (student_id) REFERENCES students(user_id),
+    FOREIGN KEY (exercise_id) REFERENCES exercises(id),
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Archivo de eventos del marcador de semestres cerrados
+CREATE TABLE IF NOT EXISTS scoreboard_events_archive (
+    id BIGINT PRIMARY KEY,
+    activity_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    semester_id BIGINT NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (semester_id) REFERENCES semesters(id)
+);
+
+-- Clasificación final de cada actividad, congelada al terminar
+CREATE TABLE IF NOT EXISTS activity_leaderboard_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    activity_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    student_name VARCHAR(255) NOT NULL,
+    rank_position INTEGER NOT NULL,
+    points INTEGER NOT NULL,
+    elapsed_ms BIGINT NOT NULL,
+    frozen_at TIMESTAMP NOT NULL,
+    UNIQUE (activity_id, student_id)
+);
+
+-- Niveles de rendimiento: sin semestre son los predeterminados; los de un semestre rigen mientras está activo
+CREATE TABLE IF NOT EXISTS performance_tiers (
+    id BIGSERIAL PRIMARY KEY,
+    semester_id BIGINT,
+    name VARCHAR(50) NOT NULL,
+    min_points INTEGER NOT NULL,
+    FOREIGN KEY (semester_id) REFERENCES semesters(id)
+);
+
+-- Niveles de rendimiento predeterminados
+INSERT INTO performance_tiers (semester_id, name, min_points)
+SELECT NULL, t.name, t.min_points
+FROM (VALUES ('principiante', 0), ('killer', 250), ('pro', 500)) AS t(name, min_points)
+WHERE NOT EXISTS (
+  SELECT 1 FROM performance_tiers pt WHERE pt.semester_id IS NULL
+);
+
+-- Historial de posiciones por grupo: solo se guarda una fila cuando cambian los puntos o la posición
+CREATE TABLE IF NOT EXISTS leaderboard_rank_history (
+    id BIGSERIAL PRIMARY KEY,
+    group_name VARCHAR(100) NOT NULL,
+    student_id BIGINT NOT NULL,
+    points INTEGER NOT NULL,
+    rank_position INTEGER NOT NULL,
+    recorded_at TIMESTAMP NOT NULL
+);
+
+-- Marcas de agua de procesos incrementales (última fila procesada por proceso) y de reparaciones únicas
+-- del esquema ya aplicadas
+CREATE TABLE IF NOT EXISTS reconciliation_watermarks (
+    name VARCHAR(100) PRIMARY KEY,
+    watermark_at TIMESTAMP NOT NULL,
+    watermark_id BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Tabla de registros de exportación
+CREATE TABLE IF NOT EXISTS export_logs (
+    id BIGSERIAL PRIMARY KEY,
+    professor_id BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    generated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    file_uri VARCHAR(255) NOT NULL,
+    FOREIGN KEY (professor_id) REFERENCES professors(user_id),
+    FOREIGN KEY (group_id) REFERENCES groups(id)
+);
+
+-- Índices para mejorar el rendimiento
+CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+CREATE INDEX IF NOT EXISTS idx_students_user_id ON students(user_id);
+CREATE INDEX IF NOT EXISTS idx_professors_user_id ON professors(user_id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_student_id ON resolutions(student_id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_exercise_id ON resolutions(exercise_id);
+CREATE INDEX IF NOT EXISTS idx_activities_group_id ON activities(group_id);
+CREATE INDEX IF NOT EXISTS idx_activities_professor_id ON activities(professor_id);
+CREATE INDEX IF NOT EXISTS idx_exercises_activity_id ON exercises(activity_id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_student_exercise_status ON resolutions(student_id, exercise_id, status);
+CREATE INDEX IF NOT EXISTS idx_exercises_activity_id_id ON exercises(activity_id, id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_submitted_at_id ON resolutions(submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_student_submitted_at_id ON resolutions(student_id, submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_exercise_submitted_at_id ON resolutions(exercise_id, submitted_at, id);
+-- Renumerar en orden de envío los intentos de cada (estudiante, ejercicio) que tenga números repetidos
+-- (los dejaba el conteo concurrente anterior) para poder exigir unicidad; sin repetidos no cambia nada
+-- (posición por submitted_at, id: lo mismo que ROW_NUMBER, escrito de forma portable a H2).
+-- Reparación única: junto con la de los contadores corre hasta que la marca 'schema_attempt_numbers'
+-- queda en reconciliation_watermarks; después cada arranque solo comprueba la marca
+UPDATE resolutions SET attempt_no = (
+    SELECT COUNT(*) FROM resolutions earlier
+    WHERE earlier.student_id = resolutions.student_id AND earlier.exercise_id = resolutions.exercise_id
+      AND (earlier.submitted_at < resolutions.submitted_at
+           OR (earlier.submitted_at = resolutions.submitted_at AND earlier.id <= resolutions.id))
+)
+WHERE EXISTS (
+    SELECT 1 FROM resolutions a JOIN resolutions b
+        ON b.student_id = a.student_id AND b.exercise_id = a.exercise_id AND b.attempt_no = a.attempt_no AND b.id <> a.id
+    WHERE a.student_id = resolutions.student_id AND a.exercise_id = resolutions.exercise_id
+)
+AND NOT EXISTS (SELECT 1 FROM reconciliation_watermarks w WHERE w.name = 'schema_attempt_numbers');
+CREATE UNIQUE INDEX IF NOT EXISTS uq_resolutions_student_exercise_attempt ON resolutions(student_id, exercise_id, attempt_no);
+-- Los contadores continúan después del último intento guardado
+UPDATE resolution_attempt_counters SET last_attempt_no = (
+    SELECT MAX(r.attempt_no) FROM resolutions r
+    WHERE r.student_id = resolution_attempt_counters.student_id AND r.exercise_id = resolution_attempt_counters.exercise_id
+)
+WHERE last_attempt_no < (
+    SELECT MAX(r.attempt_no) FROM resolutions r
+    WHERE r.student_id = resolution_attempt_counters.student_id AND r.exercise_id = resolution_attempt_counters.exercise_id
+)
+AND NOT EXISTS (SELECT 1 FROM reconciliation_watermarks w WHERE w.name = 'schema_attempt_numbers');
+INSERT INTO resolution_attempt_counters (student_id, exercise_id, last_attempt_no)
+SELECT r.student_id, r.exercise_id, MAX(r.attempt_no) FROM resolutions r
+WHERE NOT EXISTS (
+    SELECT 1 FROM resolution_attempt_counters c WHERE c.student_id = r.student_id AND c.exercise_id = r.exercise_id
+)
+AND NOT EXISTS (SELECT 1 FROM reconciliation_watermarks w WHERE w.name = 'schema_attempt_numbers')
+GROUP BY r.student_id, r.exercise_id;
+INSERT INTO reconciliation_watermarks (name, watermark_at, watermark_id, updated_at)
+SELECT 'schema_attempt_numbers', CURRENT_TIMESTAMP, 0, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM reconciliation_watermarks w WHERE w.name = 'schema_attempt_numbers');
+-- Hash del código normalizado para canjear códigos sin conocer el id (se rellena al arrancar)
+ALTER TABLE resolutions ADD COLUMN IF NOT EXISTS code_hash VARCHAR(64);
+CREATE INDEX IF NOT EXISTS idx_resolutions_student_code_hash ON resolutions(student_id, code_hash);
+CREATE INDEX IF NOT EXISTS idx_resolutions_archive_student_id ON resolutions_archive(student_id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_archive_activity_id ON resolutions_archive(activity_id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_archive_semester_id ON resolutions_archive(semester_id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_archive_submitted_at_id ON resolutions_archive(submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_archive_student_submitted_at_id ON resolutions_archive(student_id, submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_resolutions_archive_activity_submitted_at_id ON resolutions_archive(activity_id, submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_scoreboard_events_activity_id_id ON scoreboard_events(activity_id, id);
+CREATE INDEX IF NOT EXISTS idx_scoreboard_events_archive_activity_id ON scoreboard_events_archive(activity_id, id);
+-- Fecha de última escritura: marca de agua para reconciliar student_performance
+ALTER TABLE resolutions ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_resolutions_updated_at_id ON resolutions(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_performance_tiers_semester_id ON performance_tiers(semester_id, min_points);
+CREATE INDEX IF NOT EXISTS idx_leaderboard_rank_history_group_student_at ON leaderboard_rank_history(group_name, student_id, recorded_at);
+CREATE INDEX IF NOT EXISTS idx_activity_leaderboard_snapshots_activity_rank ON activity_leaderboard_snapshots(activity_id, rank_position);
+-- Momento en que se congeló el leaderboard de la actividad, aunque haya terminado sin resoluciones
+ALTER TABLE activities ADD COLUMN IF NOT EXISTS frozen_at TIMESTAMP;
+-- Las filas repetidas vienen de primeros créditos concurrentes y cada una guarda parte de los puntos:
+-- sumarlas en la fila más reciente del estudiante y solo entonces borrar las demás antes de exigir unicidad.
+-- La categoría se recalcula sobre la suma con los niveles efectivos: los del semestre activo, si no los
+-- predeterminados y si no los umbrales integrados. Reparación única, como la de los intentos: corre hasta
+-- que queda la marca 'schema_student_performance_merge'
+UPDATE student_performance SET total_points = (
+    SELECT SUM(sp.total_points) FROM student_performance sp WHERE sp.student_id = student_performance.student_id
+),
+category = (
+    SELECT COALESCE(
+        (SELECT pt.name FROM performance_tiers pt JOIN semesters s ON s.id = pt.semester_id
+         WHERE s.is_active = TRUE AND pt.min_points <= merged.total ORDER BY pt.min_points DESC LIMIT 1),
+        (SELECT pt.name FROM performance_tiers pt
+         WHERE pt.semester_id IS NULL AND pt.min_points <= merged.total ORDER BY pt.min_points DESC LIMIT 1),
+        CASE WHEN merged.total >= 500 THEN 'pro' WHEN merged.total >= 250 THEN 'killer' ELSE 'principiante' END)
+    FROM (
+        SELECT SUM(sp.total_points) AS total FROM student_performance sp
+        WHERE sp.student_id = student_performance.student_id
+    ) merged
+)
+WHERE NOT EXISTS (
+    SELECT 1 FROM student_performance newer
+    WHERE newer.student_id = student_performance.student_id AND newer.id > student_performance.id
+)
+AND EXISTS (
+    SELECT 1 FROM student_performance older
+    WHERE older.student_id = student_performance.student_id AND older.id < student_performance.id
+)
+AND NOT EXISTS (SELECT 1 FROM reconciliation_watermarks w WHERE w.name = 'schema_student_performance_merge');
+DELETE FROM student_performance WHERE EXISTS (
+    SELECT 1 FROM student_performance newer
+    WHERE newer.student_id = student_performance.student_id AND newer.id > student_performance.id
+)
+AND NOT EXISTS (SELECT 1 FROM reconciliation_watermarks w WHERE w.name = 'schema_student_performance_merge');
+INSERT INTO reconciliation_watermarks (name, watermark_at, watermark_id, updated_at)
+SELECT 'schema_student_performance_merge', CURRENT_TIMESTAMP, 0, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM reconciliation_watermarks w WHERE w.name = 'schema_student_performance_merge');
+CREATE UNIQUE INDEX IF NOT EXISTS uq_student_performance_student_id ON student_performance(student_id);
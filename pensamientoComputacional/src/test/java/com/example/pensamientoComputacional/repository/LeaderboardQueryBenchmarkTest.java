@@ -0,0 +1,224 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.dto.GroupStandingView;
+import com.example.pensamientoComputacional.model.entities.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares the per-group aggregation the all-groups leaderboard used to run with the
+ * single window-function query. Seeds 10k students and 500k resolutions, so it only
+ * runs on demand; the benchmark group is excluded from the default surefire run:
+ * mvn test -Dtest=LeaderboardQueryBenchmarkTest -DexcludedTestGroups=
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class LeaderboardQueryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardQueryBenchmarkTest.class);
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 10_000);
+    private static final int RESOLUTIONS_PER_STUDENT = Integer.getInteger("benchmark.resolutionsPerStudent", 50);
+    private static final int GROUPS = Integer.getInteger("benchmark.groups", 20);
+    private static final int TOP = 5;
+    private static final int RUNS = 3;
+    // Far above anything the other tests generate, so the seeded rows are easy to remove
+    private static final long FIRST_ID = 9_000_000L;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ResolutionRepository resolutionRepository;
+
+    @Autowired
+    private ArchivedResolutionRepository archivedResolutionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long exerciseId;
+    private List<Long> fixtureIds;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User professorUser = new User();
+            professorUser.setName("Benchmark Professor");
+            professorUser.setEmail("benchmark-professor@example.com");
+            professorUser.setPasswordHash("hashedPassword123");
+            professorUser.setIsActive(true);
+            entityManager.persist(professorUser);
+            Professor professor = new Professor();
+            professor.setUser(professorUser);
+            entityManager.persist(professor);
+
+            Semester semester = new Semester();
+            semester.setCode("BENCH");
+            semester.setStartDate(LocalDate.now());
+            semester.setEndDate(LocalDate.now().plusMonths(4));
+            semester.setIsActive(false);
+            entityManager.persist(semester);
+
+            Group group = new Group();
+            group.setName("BENCH");
+            group.setSemester(semester);
+            entityManager.persist(group);
+
+            Activity activity = new Activity();
+            activity.setGroup(group);
+            activity.setProfessor(professor);
+            activity.setTitle("Benchmark");
+            activity.setStartTime(LocalDateTime.now());
+            activity.setEndTime(LocalDateTime.now().plusHours(2));
+            activity.setStatus("ACTIVE");
+            entityManager.persist(activity);
+
+            Exercise exercise = new Exercise();
+            exercise.setActivity(activity);
+            exercise.setTitle("Benchmark");
+            exercise.setStatement("Statement");
+            exercise.setDifficulty(1);
+            exercise.setMaxPoints(100);
+            entityManager.persist(exercise);
+
+            exerciseId = exercise.getId();
+            fixtureIds = List.of(exercise.getId(), activity.getId(), group.getId(), semester.getId(), professor.getId());
+        });
+
+        Random random = new Random(7);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>(STUDENTS);
+        List<Object[]> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            long id = FIRST_ID + i;
+            users.add(new Object[]{id, "Student " + i, "bench" + i + "@example.com", "hash", "BG" + (i % GROUPS), now});
+            students.add(new Object[]{id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password_hash, group_name, is_active, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, TRUE, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO students (user_id) VALUES (?)", students);
+
+        List<Object[]> resolutions = new ArrayList<>(10_000);
+        long resolutionId = FIRST_ID;
+        for (int i = 0; i < STUDENTS; i++) {
+            for (int attempt = 1; attempt <= RESOLUTIONS_PER_STUDENT; attempt++) {
+                String status = random.nextInt(4) == 0 ? "PENDING" : "COMPLETED";
+                resolutions.add(new Object[]{resolutionId++, FIRST_ID + i, exerciseId, random.nextInt(100), status, attempt, now, now});
+                if (resolutions.size() == 10_000) {
+                    insertResolutions(resolutions);
+                    resolutions.clear();
+                }
+            }
+        }
+        insertResolutions(resolutions);
+    }
+
+    private void insertResolutions(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO resolutions (id, student_id, exercise_id, points_awarded, status, " +
+                "attempt_no, submitted_at, updated_at, code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, '')", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM resolutions WHERE student_id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM students WHERE user_id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM exercises WHERE id = ?", fixtureIds.get(0));
+        jdbcTemplate.update("DELETE FROM activities WHERE id = ?", fixtureIds.get(1));
+        jdbcTemplate.update("DELETE FROM groups WHERE id = ?", fixtureIds.get(2));
+        jdbcTemplate.update("DELETE FROM semesters WHERE id = ?", fixtureIds.get(3));
+        jdbcTemplate.update("DELETE FROM professors WHERE user_id = ?", fixtureIds.get(4));
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", fixtureIds.get(4));
+    }
+
+    // What getAllGroupsLeaderboard did before: one student scan and two aggregations per group
+    private Map<String, List<Integer>> perGroupAggregation() {
+        Set<String> groupNames = studentRepository.findAll().stream()
+                .map(student -> student.getUser().getGroup())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, List<Integer>> result = new HashMap<>();
+        for (String groupName : groupNames) {
+            List<Student> students = studentRepository.findAll().stream()
+                    .filter(student -> groupName.equals(student.getUser().getGroup()))
+                    .collect(Collectors.toList());
+            Map<Long, Integer> points = new HashMap<>();
+            for (List<Object[]> rows : List.of(resolutionRepository.sumCompletedPointsByStudent(),
+                    archivedResolutionRepository.sumCompletedPointsByStudent())) {
+                for (Object[] row : rows) {
+                    points.merge((Long) row[0], ((Number) row[1]).intValue(), Integer::sum);
+                }
+            }
+            result.put(groupName, students.stream()
+                    .map(student -> points.getOrDefault(student.getId(), 0))
+                    .sorted(Comparator.reverseOrder())
+                    .limit(TOP)
+                    .collect(Collectors.toList()));
+        }
+        return result;
+    }
+
+    private Map<String, List<Integer>> windowFunctionQuery() {
+        Map<String, List<Integer>> result = new HashMap<>();
+        for (GroupStandingView standing : studentRepository.findTopStandingsPerGroup(TOP)) {
+            result.computeIfAbsent(standing.getGroupName(), g -> new ArrayList<>()).add(standing.getTotalPoints());
+        }
+        return result;
+    }
+
+    private <T> long bestOfRuns(Supplier<T> run) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            transactionTemplate.execute(status -> run.get());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+
+    @Test
+    @DisplayName("Should match the per-group aggregation while answering in one query")
+    void shouldCompareLeaderboardStrategies() {
+        // Given
+        Map<String, List<Integer>> expected = transactionTemplate.execute(status -> perGroupAggregation());
+        Map<String, List<Integer>> actual = transactionTemplate.execute(status -> windowFunctionQuery());
+
+        // When
+        long perGroupMs = bestOfRuns(this::perGroupAggregation);
+        long windowMs = bestOfRuns(this::windowFunctionQuery);
+        log.info("Leaderboard for {} students / {} resolutions / {} groups: " +
+                        "per-group aggregation {} ms, window function {} ms",
+                STUDENTS, STUDENTS * RESOLUTIONS_PER_STUDENT, GROUPS, perGroupMs, windowMs);
+
+        // Then
+        assertThat(actual).containsAllEntriesOf(expected);
+    }
+}
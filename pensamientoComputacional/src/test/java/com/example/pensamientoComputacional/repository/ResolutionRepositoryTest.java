@@ -0,0 +1,277 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto;
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.model.util.ResolutionCodeHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ResolutionRepositoryTest {
+
+    @Autowired
+    private ResolutionRepository resolutionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Student student;
+    private Student otherStudent;
+    private Exercise exercise;
+    private Exercise otherActivityExercise;
+    private Activity activity;
+
+    @BeforeEach
+    void setUp() {
+        student = entityManager.persist(createStudent("student@example.com"));
+        otherStudent = entityManager.persist(createStudent("other@example.com"));
+        Professor professor = entityManager.persist(createProfessor("professor@example.com"));
+
+        Semester semester = new Semester();
+        semester.setCode("2024-1");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = entityManager.persist(semester);
+
+        Group group = new Group();
+        group.setName("G1");
+        group.setSemester(semester);
+        group = entityManager.persist(group);
+
+        activity = entityManager.persist(createActivity(group, professor, "Activity 1"));
+        Activity otherActivity = entityManager.persist(createActivity(group, professor, "Activity 2"));
+
+        exercise = entityManager.persist(createExercise(activity, "Exercise 1"));
+        otherActivityExercise = entityManager.persist(createExercise(otherActivity, "Exercise 2"));
+        entityManager.flush();
+    }
+
+    private Student createStudent(String email) {
+        User user = new User();
+        user.setName("Test Student");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        user = entityManager.persist(user);
+
+        Student newStudent = new Student();
+        newStudent.setUser(user);
+        return newStudent;
+    }
+
+    private Professor createProfessor(String email) {
+        User user = new User();
+        user.setName("Test Professor");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        user = entityManager.persist(user);
+
+        Professor newProfessor = new Professor();
+        newProfessor.setUser(user);
+        return newProfessor;
+    }
+
+    private Activity createActivity(Group group, Professor professor, String title) {
+        Activity newActivity = new Activity();
+        newActivity.setGroup(group);
+        newActivity.setProfessor(professor);
+        newActivity.setTitle(title);
+        newActivity.setStartTime(LocalDateTime.now());
+        newActivity.setEndTime(LocalDateTime.now().plusHours(2));
+        newActivity.setStatus("ACTIVE");
+        return newActivity;
+    }
+
+    private Exercise createExercise(Activity parent, String title) {
+        Exercise newExercise = new Exercise();
+        newExercise.setActivity(parent);
+        newExercise.setTitle(title);
+        newExercise.setStatement("Statement");
+        newExercise.setDifficulty(1);
+        newExercise.setMaxPoints(100);
+        return newExercise;
+    }
+
+    private Resolution createResolution(Student owner, Exercise target, String status, int attemptNo) {
+        Resolution resolution = new Resolution();
+        resolution.setStudent(owner);
+        resolution.setExercise(target);
+        resolution.setStatus(status);
+        resolution.setAttemptNo(attemptNo);
+        resolution.setCode("");
+        return entityManager.persistAndFlush(resolution);
+    }
+
+    @Test
+    @DisplayName("Should find only the resolutions of the given student")
+    void shouldFindResolutionsByStudentId() {
+        // Given
+        createResolution(student, exercise, "PENDING", 1);
+        createResolution(student, otherActivityExercise, "COMPLETED", 1);
+        createResolution(otherStudent, exercise, "PENDING", 1);
+
+        // When
+        List<Resolution> resolutions = resolutionRepository.findByStudentId(student.getId());
+
+        // Then
+        assertThat(resolutions).hasSize(2);
+        assertThat(resolutions).allMatch(r -> r.getStudent().getId().equals(student.getId()));
+    }
+
+    @Test
+    @DisplayName("Should find only the resolutions of the given activity")
+    void shouldFindResolutionsByActivityId() {
+        // Given
+        createResolution(student, exercise, "PENDING", 1);
+        createResolution(otherStudent, exercise, "PENDING", 1);
+        createResolution(student, otherActivityExercise, "PENDING", 1);
+
+        // When
+        List<Resolution> resolutions = resolutionRepository.findByActivityId(activity.getId());
+
+        // Then
+        assertThat(resolutions).hasSize(2);
+        assertThat(resolutions).allMatch(r -> r.getExercise().getActivity().getId().equals(activity.getId()));
+    }
+
+    @Test
+    @DisplayName("Should find the highest attempt number per student and exercise")
+    void shouldFindMaxAttemptNoByStudentAndExercise() {
+        // Given
+        createResolution(student, exercise, "COMPLETED", 1);
+        createResolution(student, exercise, "PENDING", 2);
+        createResolution(otherStudent, exercise, "PENDING", 5);
+
+        // When
+        int maxAttemptNo = resolutionRepository.findMaxAttemptNo(student.getId(), exercise.getId());
+        int noAttempts = resolutionRepository.findMaxAttemptNo(student.getId(), otherActivityExercise.getId());
+
+        // Then
+        assertThat(maxAttemptNo).isEqualTo(2);
+        assertThat(noAttempts).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find the first pending resolution for a student and exercise")
+    void shouldFindFirstPendingResolution() {
+        // Given
+        createResolution(student, exercise, "COMPLETED", 1);
+        Resolution pending = createResolution(student, exercise, "PENDING", 2);
+
+        // When
+        Optional<Resolution> found = resolutionRepository.findFirstByStudentIdAndExerciseIdAndStatusOrderByIdAsc(
+                student.getId(), exercise.getId(), "PENDING");
+
+        // Then
+        assertThat(found).isPresent();
+        assertThat(found.get().getId()).isEqualTo(pending.getId());
+    }
+
+    @Test
+    @DisplayName("Should find a student's pending resolution by normalized code hash")
+    void shouldFindPendingResolutionByCodeHash() {
+        // Given
+        Resolution resolution = new Resolution();
+        resolution.setStudent(student);
+        resolution.setExercise(exercise);
+        resolution.setStatus("PENDING");
+        resolution.setAttemptNo(1);
+        resolution.setCode("  QR-Code-42 ");
+        resolution = entityManager.persistAndFlush(resolution);
+        String typedCodeHash = ResolutionCodeHash.of("qr-code-42");
+
+        // When
+        Optional<Resolution> found = resolutionRepository.findFirstByStudentIdAndCodeHashAndStatusOrderByIdAsc(
+                student.getId(), typedCodeHash, "PENDING");
+        Optional<Resolution> otherStudentLookup = resolutionRepository.findFirstByStudentIdAndCodeHashAndStatusOrderByIdAsc(
+                otherStudent.getId(), typedCodeHash, "PENDING");
+
+        // Then
+        assertThat(found).map(Resolution::getId).contains(resolution.getId());
+        assertThat(otherStudentLookup).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should preload pending resolutions for a batch of students and exercises")
+    void shouldFindPendingResolutionsForBatch() {
+        // Given
+        Resolution pending = createResolution(student, exercise, "PENDING", 1);
+        Resolution otherPending = createResolution(otherStudent, otherActivityExercise, "PENDING", 1);
+        createResolution(student, otherActivityExercise, "COMPLETED", 1);
+
+        // When
+        List<Resolution> resolutions = resolutionRepository.findByStatusAndStudentIdsAndExerciseIds(
+                "PENDING", List.of(student.getId(), otherStudent.getId()),
+                List.of(exercise.getId(), otherActivityExercise.getId()));
+
+        // Then
+        assertThat(resolutions).extracting(Resolution::getId)
+                .containsExactly(pending.getId(), otherPending.getId());
+    }
+
+    @Test
+    @DisplayName("Should list summaries without the code but flag whether one was assigned")
+    void shouldFindSummariesWithoutCode() {
+        // Given
+        Resolution withCode = createResolution(student, exercise, "PENDING", 1);
+        withCode.setCode("ABC123");
+        entityManager.persistAndFlush(withCode);
+        createResolution(student, otherActivityExercise, "PENDING", 1);
+
+        // When
+        List<ResolutionSummaryDto> summaries = resolutionRepository.findSummariesByStudentId(student.getId());
+
+        // Then
+        assertThat(summaries).hasSize(2);
+        assertThat(summaries).extracting(ResolutionSummaryDto::getHasCode).containsExactly(true, false);
+        assertThat(summaries).extracting(ResolutionSummaryDto::getActivityId)
+                .containsExactly(activity.getId(), otherActivityExercise.getActivity().getId());
+    }
+
+    @Test
+    @DisplayName("Should page through a student's resolutions by keyset without gaps or duplicates")
+    void shouldPageResolutionsByKeyset() {
+        // Given
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            createResolution(student, exercise, "PENDING", attempt);
+        }
+        createResolution(otherStudent, exercise, "PENDING", 1);
+        // Read back stored timestamps, as a real request would, rather than the in-memory ones
+        entityManager.clear();
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime submittedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+        Long id = 0L;
+        List<ResolutionSummaryDto> page;
+        do {
+            page = resolutionRepository.findSummariesByStudentIdAfter(student.getId(), submittedAt, id, Limit.of(2));
+            page.forEach(r -> seen.add(r.getId()));
+            if (!page.isEmpty()) {
+                ResolutionSummaryDto last = page.get(page.size() - 1);
+                submittedAt = last.getSubmittedAt();
+                id = last.getId();
+            }
+        } while (!page.isEmpty());
+
+        // Then
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.pensamientoComputacional.repository;
+
+import com.example.pensamientoComputacional.model.dto.GroupStandingView;
+import com.example.pensamientoComputacional.model.entities.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class StudentRepositoryTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Exercise exercise;
+    private Semester semester;
+
+    @BeforeEach
+    void setUp() {
+        User professorUser = new User();
+        professorUser.setName("Ranking Professor");
+        professorUser.setEmail("ranking-professor@example.com");
+        professorUser.setPasswordHash("hashedPassword123");
+        professorUser.setIsActive(true);
+        Professor professor = new Professor();
+        professor.setUser(entityManager.persist(professorUser));
+        professor = entityManager.persist(professor);
+
+        semester = new Semester();
+        semester.setCode("2024-1");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = entityManager.persist(semester);
+
+        Group group = new Group();
+        group.setName("G1");
+        group.setSemester(semester);
+        group = entityManager.persist(group);
+
+        Activity activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Activity");
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = entityManager.persist(activity);
+
+        exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Exercise");
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        exercise = entityManager.persist(exercise);
+    }
+
+    private Student createStudent(String email, String group) {
+        User user = new User();
+        user.setName("Ranking Student");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        user.setGroup(group);
+        Student student = new Student();
+        student.setUser(entityManager.persist(user));
+        return entityManager.persist(student);
+    }
+
+    private void createResolution(Student student, String status, int points) {
+        Resolution resolution = new Resolution();
+        resolution.setStudent(student);
+        resolution.setExercise(exercise);
+        resolution.setStatus(status);
+        resolution.setAttemptNo(1);
+        resolution.setPointsAwarded(points);
+        resolution.setCode("");
+        entityManager.persist(resolution);
+    }
+
+    private void createArchivedResolution(Long id, Student student, int points) {
+        ArchivedResolution archived = new ArchivedResolution();
+        archived.setId(id);
+        archived.setStudentId(student.getId());
+        archived.setExerciseId(exercise.getId());
+        archived.setActivityId(exercise.getActivity().getId());
+        archived.setSemesterId(semester.getId());
+        archived.setPointsAwarded(points);
+        archived.setStatus("COMPLETED");
+        archived.setAttemptNo(1);
+        archived.setSubmittedAt(LocalDateTime.now());
+        archived.setArchivedAt(LocalDateTime.now());
+        entityManager.persist(archived);
+    }
+
+    @Test
+    @DisplayName("Should rank every group's students in one query, counting only completed and archived points")
+    void shouldFindTopStandingsPerGroup() {
+        // Given
+        Student first = createStudent("first@example.com", "G1");
+        Student second = createStudent("second@example.com", "G1");
+        Student third = createStudent("third@example.com", "G1");
+        Student other = createStudent("other@example.com", "G2");
+        createStudent("nogroup@example.com", null);
+        createResolution(first, "COMPLETED", 50);
+        createArchivedResolution(1_000L, first, 40);
+        createResolution(second, "COMPLETED", 60);
+        createResolution(third, "PENDING", 500);
+        entityManager.flush();
+
+        // When
+        List<GroupStandingView> standings = studentRepository.findTopStandingsPerGroup(2);
+
+        // Then
+        assertThat(standings).extracting(GroupStandingView::getGroupName, GroupStandingView::getStudentId,
+                        GroupStandingView::getTotalPoints, GroupStandingView::getStudentRank)
+                .containsExactly(
+                        tuple("G1", first.getId(), 90, 1),
+                        tuple("G1", second.getId(), 60, 2),
+                        tuple("G2", other.getId(), 0, 1));
+        assertThat(studentRepository.findTopStandingsInGroup("G1", 5))
+                .extracting(GroupStandingView::getStudentId)
+                .containsExactly(first.getId(), second.getId(), third.getId());
+    }
+
+    @Test
+    @DisplayName("Should rank unarchived points from student_performance, like the group boards")
+    void shouldFindTopHotStandingsFromStudentPerformance() {
+        // Given: first's stored total has drifted 5 points above its resolutions
+        Student first = createStudent("first@example.com", "G1");
+        Student second = createStudent("second@example.com", "G1");
+        Student other = createStudent("other@example.com", "G2");
+        createResolution(first, "COMPLETED", 50);
+        createArchivedResolution(1_000L, first, 40);
+        createResolution(second, "COMPLETED", 60);
+        createPerformance(first, 95);
+        createPerformance(second, 60);
+        entityManager.flush();
+
+        // When
+        List<GroupStandingView> standings = studentRepository.findTopHotStandingsPerGroup(2);
+
+        // Then
+        assertThat(standings).extracting(GroupStandingView::getStudentId, GroupStandingView::getTotalPoints)
+                .containsExactly(tuple(second.getId(), 60), tuple(first.getId(), 55), tuple(other.getId(), 0));
+    }
+
+    private void createPerformance(Student student, int totalPoints) {
+        StudentPerformance performance = new StudentPerformance();
+        performance.setStudent(student);
+        performance.setTotalPoints(totalPoints);
+        performance.setCategory("principiante");
+        entityManager.persist(performance);
+    }
+}
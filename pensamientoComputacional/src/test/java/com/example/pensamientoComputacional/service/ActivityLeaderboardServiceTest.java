@@ -0,0 +1,232 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardDto;
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardEntryDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardSnapshotDto;
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.ActivityLeaderboardSnapshotRepository;
+import com.example.pensamientoComputacional.service.impl.LocalScoreboardFanout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import({ActivityLeaderboardService.class, ScoreboardPublisher.class, LocalScoreboardFanout.class,
+        ActivityLeaderboardServiceTest.Messaging.class})
+@ActiveProfiles("test")
+class ActivityLeaderboardServiceTest {
+
+    // No broker in the JPA slice; pushes go nowhere
+    @TestConfiguration
+    static class Messaging {
+        @Bean
+        SimpMessagingTemplate simpMessagingTemplate() {
+            return new SimpMessagingTemplate((message, timeout) -> true);
+        }
+    }
+
+    @Autowired
+    private ActivityLeaderboardService activityLeaderboardService;
+
+    @Autowired
+    private ActivityLeaderboardSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Activity activity;
+    private Exercise exercise;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        User professorUser = new User();
+        professorUser.setName("Activity Professor");
+        professorUser.setEmail("activity-professor@example.com");
+        professorUser.setPasswordHash("hashedPassword123");
+        professorUser.setIsActive(true);
+        Professor professor = new Professor();
+        professor.setUser(entityManager.persist(professorUser));
+        professor = entityManager.persist(professor);
+
+        Semester semester = new Semester();
+        semester.setCode("2024-1");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = entityManager.persist(semester);
+
+        Group group = new Group();
+        group.setName("G1");
+        group.setSemester(semester);
+        group = entityManager.persist(group);
+
+        start = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Timed Activity");
+        activity.setStartTime(start);
+        activity.setEndTime(LocalDateTime.now().plusHours(1));
+        activity.setStatus("ACTIVE");
+        activity = entityManager.persist(activity);
+
+        exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Exercise");
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        exercise = entityManager.persist(exercise);
+    }
+
+    private Student createStudent(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        Student student = new Student();
+        student.setUser(entityManager.persist(user));
+        return entityManager.persist(student);
+    }
+
+    private void createResolution(Student student, String status, int points, int minutesAfterStart) {
+        createResolution(student, status, points, minutesAfterStart, 1);
+    }
+
+    private void createResolution(Student student, String status, int points, int minutesAfterStart, int attemptNo) {
+        Resolution resolution = new Resolution();
+        resolution.setStudent(student);
+        resolution.setExercise(exercise);
+        resolution.setStatus(status);
+        resolution.setAttemptNo(attemptNo);
+        resolution.setPointsAwarded(points);
+        resolution.setCode("");
+        entityManager.persist(resolution);
+        // @PrePersist stamps the current time; move it to the simulated submission time
+        resolution.setSubmittedAt(start.plusMinutes(minutesAfterStart));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should rank a running activity by points, then by time since the activity started")
+    void shouldRankLiveActivityByPointsThenTime() {
+        // Given
+        Student slow = createStudent("slow");
+        Student fast = createStudent("fast");
+        Student best = createStudent("best");
+        createResolution(slow, "COMPLETED", 50, 30);
+        createResolution(fast, "COMPLETED", 50, 10);
+        createResolution(best, "COMPLETED", 80, 40);
+        createResolution(slow, "PENDING", 100, 5, 2);
+
+        // When
+        ActivityLeaderboardDto leaderboard = activityLeaderboardService.getLeaderboard(activity.getId()).orElseThrow();
+
+        // Then
+        assertThat(leaderboard.isLive()).isTrue();
+        assertThat(leaderboard.getEntries()).extracting(ActivityLeaderboardEntryDto::getStudentId)
+                .containsExactly(best.getId(), fast.getId(), slow.getId());
+        assertThat(leaderboard.getEntries().get(1).getElapsedMs()).isEqualTo(10 * 60_000L);
+        assertThat(snapshotRepository.existsByActivityId(activity.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should resync with the full board when the requested deltas are not buffered")
+    void shouldResyncWithFullBoard() {
+        // Given
+        Student student = createStudent("resync");
+        createResolution(student, "COMPLETED", 40, 15);
+
+        // When
+        ScoreboardSnapshotDto snapshot = activityLeaderboardService.getSnapshot(activity.getId(), 12L).orElseThrow();
+
+        // Then
+        assertThat(snapshot.isFull()).isTrue();
+        assertThat(snapshot.isLive()).isTrue();
+        assertThat(snapshot.getSeq()).isZero();
+        assertThat(snapshot.getEntries()).extracting(ActivityLeaderboardEntryDto::getStudentId)
+                .containsExactly(student.getId());
+        assertThat(activityLeaderboardService.getSnapshot(-1L, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should freeze the standings into the snapshot table when the activity ends")
+    void shouldFreezeEndedActivity() {
+        // Given
+        Student student = createStudent("finisher");
+        createResolution(student, "COMPLETED", 70, 20);
+        activityLeaderboardService.getLeaderboard(activity.getId());
+
+        // When
+        activity.setStatus("FINISHED");
+        activityLeaderboardService.onActivityUpdated(activity);
+        createResolution(createStudent("late"), "COMPLETED", 90, 70);
+        ActivityLeaderboardDto leaderboard = activityLeaderboardService.getLeaderboard(activity.getId()).orElseThrow();
+
+        // Then
+        assertThat(leaderboard.isLive()).isFalse();
+        assertThat(leaderboard.getFrozenAt()).isNotNull();
+        assertThat(leaderboard.getEntries()).singleElement().satisfies(entry -> {
+            assertThat(entry.getStudentId()).isEqualTo(student.getId());
+            assertThat(entry.getRank()).isEqualTo(1);
+            assertThat(entry.getPoints()).isEqualTo(70);
+        });
+    }
+
+    @Test
+    @DisplayName("Should freeze an activity that ended without completions only once")
+    void shouldFreezeEmptyActivityOnce() {
+        // Given
+        activity.setStatus("FINISHED");
+        entityManager.flush();
+
+        // When
+        ActivityLeaderboardDto first = activityLeaderboardService.getLeaderboard(activity.getId()).orElseThrow();
+        entityManager.flush();
+        entityManager.clear();
+        ActivityLeaderboardDto second = activityLeaderboardService.getLeaderboard(activity.getId()).orElseThrow();
+
+        // Then
+        assertThat(first.getEntries()).isEmpty();
+        assertThat(first.getFrozenAt()).isNotNull();
+        assertThat(second.getFrozenAt()).isEqualTo(first.getFrozenAt());
+        assertThat(entityManager.find(Activity.class, activity.getId()).getFrozenAt()).isEqualTo(first.getFrozenAt());
+    }
+
+    @Test
+    @DisplayName("Should freeze a board held in memory as soon as its end time passes")
+    void shouldFreezeInMemoryBoardPastEndTime() throws InterruptedException {
+        // Given: a live board whose activity ends in a moment
+        Student student = createStudent("punctual");
+        createResolution(student, "COMPLETED", 60, 20);
+        activity.setEndTime(LocalDateTime.now().plusNanos(300_000_000));
+        entityManager.flush();
+        activityLeaderboardService.evict(activity.getId());
+        assertThat(activityLeaderboardService.getLeaderboard(activity.getId()).orElseThrow().isLive()).isTrue();
+
+        // When
+        Thread.sleep(400);
+        ActivityLeaderboardDto leaderboard = activityLeaderboardService.getLeaderboard(activity.getId()).orElseThrow();
+
+        // Then
+        assertThat(leaderboard.isLive()).isFalse();
+        assertThat(leaderboard.getFrozenAt()).isNotNull();
+        assertThat(snapshotRepository.existsByActivityId(activity.getId())).isTrue();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ActivityLeaderboardEntryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ActivityLeaderboardTest {
+
+    @Test
+    @DisplayName("Should count a reported resolution once")
+    void shouldCountResolutionOnce() {
+        // Given
+        ActivityLeaderboard board = new ActivityLeaderboard();
+        board.record(10L, 1L, "Ana", 40, 5_000);
+
+        // When
+        boolean again = board.record(10L, 1L, "Ana", 40, 5_000);
+
+        // Then
+        assertThat(again).isFalse();
+        assertThat(board.entries()).singleElement().extracting(ActivityLeaderboardEntryDto::getPoints).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should move a student by the difference when a counted resolution is regraded")
+    void shouldAdjustRegradedResolution() {
+        // Given
+        ActivityLeaderboard board = new ActivityLeaderboard();
+        board.record(10L, 1L, "Ana", 40, 5_000);
+        board.record(11L, 1L, "Ana", 20, 9_000);
+        board.record(20L, 2L, "Luis", 70, 3_000);
+
+        // When
+        boolean regraded = board.adjust(10L, 1L, "Ana", 60, 5_000);
+        boolean unchanged = board.adjust(10L, 1L, "Ana", 60, 5_000);
+        boolean latecomer = board.record(10L, 1L, "Ana", 40, 5_000);
+
+        // Then
+        assertThat(regraded).isTrue();
+        assertThat(unchanged).isFalse();
+        assertThat(latecomer).isFalse();
+        assertThat(board.entries()).extracting(ActivityLeaderboardEntryDto::getStudentId,
+                        ActivityLeaderboardEntryDto::getPoints, ActivityLeaderboardEntryDto::getElapsedMs)
+                .containsExactly(tuple(1L, 80, 9_000L), tuple(2L, 70, 3_000L));
+    }
+
+    @Test
+    @DisplayName("Should count a resolution first seen through a grade")
+    void shouldCountResolutionFirstSeenThroughAdjust() {
+        // Given
+        ActivityLeaderboard board = new ActivityLeaderboard();
+
+        // When
+        board.adjust(30L, 3L, "Eva", 25, 1_000);
+
+        // Then
+        assertThat(board.contains(3L)).isTrue();
+        assertThat(board.entries()).singleElement().extracting(ActivityLeaderboardEntryDto::getPoints).isEqualTo(25);
+    }
+}
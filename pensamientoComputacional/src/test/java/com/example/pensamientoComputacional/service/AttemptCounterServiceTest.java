@@ -0,0 +1,193 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Not @Transactional: each submission must commit on its own thread for the race to be real
+@SpringBootTest
+@ActiveProfiles("test")
+class AttemptCounterServiceTest {
+
+    private static final int SUBMISSIONS = 200;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private IResolutionService resolutionService;
+
+    @Autowired
+    private AttemptCounterService attemptCounterService;
+
+    @Autowired
+    private ResolutionRepository resolutionRepository;
+
+    @Autowired
+    private ResolutionAttemptCounterRepository counterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Student student;
+    private Professor professor;
+    private Semester semester;
+    private Group group;
+    private Activity activity;
+    private Exercise exercise;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            student = new Student();
+            student.setUser(userRepository.save(createUser("attempts-student@example.com")));
+            student = studentRepository.save(student);
+
+            professor = new Professor();
+            professor.setUser(userRepository.save(createUser("attempts-professor@example.com")));
+            professor = professorRepository.save(professor);
+        });
+
+        semester = new Semester();
+        semester.setCode("ATTEMPTS-TEST");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = semesterRepository.save(semester);
+
+        group = new Group();
+        group.setName("ATTEMPTS-G1");
+        group.setSemester(semester);
+        group = groupRepository.save(group);
+
+        activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Attempts activity");
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = activityRepository.save(activity);
+
+        exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Attempts exercise");
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        exercise = exerciseRepository.save(exercise);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolutionRepository.deleteAll(resolutionRepository.findByStudentId(student.getId()));
+        counterRepository.deleteById(new ResolutionAttemptCounter.Key(student.getId(), exercise.getId()));
+        exerciseRepository.delete(exercise);
+        activityRepository.delete(activity);
+        groupRepository.delete(group);
+        semesterRepository.delete(semester);
+        studentRepository.delete(student);
+        professorRepository.delete(professor);
+        userRepository.deleteById(student.getId());
+        userRepository.deleteById(professor.getId());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setName("Attempts User");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        return user;
+    }
+
+    private Resolution newSubmission() {
+        Resolution resolution = new Resolution();
+        resolution.setStudent(student);
+        resolution.setExercise(exercise);
+        resolution.setStatus("PENDING");
+        return resolution;
+    }
+
+    @Test
+    @DisplayName("Should hand out distinct, gap-free attempt numbers under concurrent submissions")
+    void shouldAllocateDistinctAttemptNumbersUnderContention() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Resolution>> futures = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return resolutionService.createResolution(newSubmission());
+            }));
+        }
+
+        // When
+        start.countDown();
+        List<Integer> attemptNumbers = new ArrayList<>();
+        for (Future<Resolution> future : futures) {
+            attemptNumbers.add(future.get(60, TimeUnit.SECONDS).getAttemptNo());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(attemptNumbers).containsExactlyInAnyOrderElementsOf(
+                IntStream.rangeClosed(1, SUBMISSIONS).boxed().collect(Collectors.toList()));
+        assertThat(resolutionRepository.findByStudentId(student.getId())).hasSize(SUBMISSIONS);
+    }
+
+    @Test
+    @DisplayName("Should continue numbering after attempts recorded before the counter existed")
+    void shouldSeedCounterFromExistingAttempts() {
+        // Given
+        Resolution legacy = newSubmission();
+        legacy.setAttemptNo(3);
+        legacy.setCode("");
+        resolutionRepository.save(legacy);
+
+        // When
+        int first = attemptCounterService.nextAttemptNo(student.getId(), exercise.getId());
+        int second = attemptCounterService.nextAttemptNo(student.getId(), exercise.getId());
+
+        // Then
+        assertThat(first).isEqualTo(4);
+        assertThat(second).isEqualTo(5);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.pensamientoComputacional.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GroupLeaderboardTest {
+
+    @Test
+    @DisplayName("Should order by points descending and break ties by student id")
+    void shouldOrderByPointsThenStudentId() {
+        // Given
+        GroupLeaderboard board = new GroupLeaderboard();
+        board.put(3L, 50);
+        board.put(1L, 50);
+        board.put(2L, 80);
+
+        // When / Then
+        assertThat(board.top(5)).extracting(GroupLeaderboard.Standing::studentId).containsExactly(2L, 1L, 3L);
+        assertThat(board.rankOf(3L)).hasValue(3);
+        assertThat(board.rankOf(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a lower total when raising")
+    void shouldIgnoreLowerTotalOnRaise() {
+        // Given
+        GroupLeaderboard board = new GroupLeaderboard();
+        board.raise(1L, 40);
+
+        // When
+        board.raise(1L, 30);
+
+        // Then
+        assertThat(board.pointsOf(1L)).hasValue(40);
+        assertThat(board.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bump the version only when points actually change")
+    void shouldBumpVersionOnlyOnChange() {
+        // Given
+        GroupLeaderboard board = new GroupLeaderboard();
+        board.put(1L, 10);
+        long version = board.version();
+
+        // When
+        board.put(1L, 10);
+        board.raise(1L, 5);
+        long unchanged = board.version();
+        board.raise(1L, 20);
+
+        // Then
+        assertThat(unchanged).isEqualTo(version);
+        assertThat(board.version()).isGreaterThan(version);
+    }
+
+    @Test
+    @DisplayName("Should agree with a sorted list on ranks and ranges after random updates")
+    void shouldMatchSortedReference() {
+        // Given
+        Random random = new Random(42);
+        GroupLeaderboard board = new GroupLeaderboard();
+        Map<Long, Integer> reference = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            long studentId = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                board.remove(studentId);
+                reference.remove(studentId);
+            } else {
+                int points = random.nextInt(1_000);
+                board.put(studentId, points);
+                reference.put(studentId, points);
+            }
+        }
+
+        // Then
+        List<Long> expected = new ArrayList<>(reference.keySet());
+        expected.sort(Comparator.comparing((Long id) -> -reference.get(id)).thenComparing(id -> id));
+        assertThat(board.size()).isEqualTo(expected.size());
+        assertThat(board.range(0, expected.size())).extracting(GroupLeaderboard.Standing::studentId)
+                .containsExactlyElementsOf(expected);
+        assertThat(board.range(100, 7)).extracting(GroupLeaderboard.Standing::studentId)
+                .containsExactlyElementsOf(expected.subList(100, 107));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(board.rankOf(expected.get(i))).hasValue(i + 1);
+        }
+    }
+}
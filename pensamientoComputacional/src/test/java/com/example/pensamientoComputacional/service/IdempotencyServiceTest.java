@@ -0,0 +1,136 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.service.impl.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "POST /api/resolutions";
+    private static final Map<String, Object> BODY = Map.of("exerciseId", 1, "code", "ABC123");
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(60_000, 100);
+        idempotencyService = new IdempotencyService(store, new ObjectMapper(), 5_000);
+        executions = new AtomicInteger();
+    }
+
+    private ResponseEntity<Integer> create() {
+        return ResponseEntity.status(HttpStatus.CREATED).body(executions.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response for a repeated key")
+    void shouldReplayRepeatedKey() {
+        // When
+        ResponseEntity<Integer> first = idempotencyService.execute(SCOPE, "key-1", BODY, this::create);
+        ResponseEntity<Integer> retry = idempotencyService.execute(SCOPE, "key-1", BODY, this::create);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Should refuse a repeated key sent with a different body")
+    void shouldRejectKeyReusedWithOtherBody() {
+        // Given
+        idempotencyService.execute(SCOPE, "key-4", BODY, this::create);
+
+        // When
+        ResponseEntity<Integer> reused = idempotencyService.execute(SCOPE, "key-4",
+                Map.of("exerciseId", 2, "code", "ABC123"), this::create);
+
+        // Then
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should execute every request that carries no key")
+    void shouldExecuteWithoutKey() {
+        // When
+        idempotencyService.execute(SCOPE, null, BODY, this::create);
+        idempotencyService.execute(SCOPE, null, BODY, this::create);
+
+        // Then
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates of a key only once")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ResponseEntity<Integer>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> idempotencyService.execute(SCOPE, "key-2", BODY, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return create();
+            })));
+        }
+
+        // When
+        Thread.sleep(100);
+        release.countDown();
+        List<Integer> bodies = new ArrayList<>();
+        for (Future<ResponseEntity<Integer>> future : futures) {
+            bodies.add(future.get(10, TimeUnit.SECONDS).getBody());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(bodies).containsOnly(1);
+    }
+
+    @Test
+    @DisplayName("Should not store failed responses so the client can retry")
+    void shouldNotStoreFailures() {
+        // When
+        ResponseEntity<Integer> failed = idempotencyService.execute(SCOPE, "key-3", BODY,
+                () -> ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        ResponseEntity<Integer> retry = idempotencyService.execute(SCOPE, "key-3", BODY, this::create);
+
+        // Then
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used keys beyond the capacity")
+    void shouldBoundStoreSize() {
+        // When
+        for (int i = 0; i < 150; i++) {
+            idempotencyService.execute(SCOPE, "key-" + i, BODY, this::create);
+        }
+
+        // Then
+        assertThat(store.size()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.mapper.PermissionMapperImpl;
+import com.example.pensamientoComputacional.mapper.RoleMapperImpl;
+import com.example.pensamientoComputacional.mapper.StudentMapper;
+import com.example.pensamientoComputacional.mapper.StudentMapperImpl;
+import com.example.pensamientoComputacional.mapper.UserMapperImpl;
+import com.example.pensamientoComputacional.model.dto.LeaderboardEntryDto;
+import com.example.pensamientoComputacional.model.dto.StudentDto;
+import com.example.pensamientoComputacional.model.dto.StudentRankDto;
+import com.example.pensamientoComputacional.model.entities.ArchivedResolution;
+import com.example.pensamientoComputacional.model.entities.Student;
+import com.example.pensamientoComputacional.model.entities.StudentPerformance;
+import com.example.pensamientoComputacional.model.entities.User;
+import com.example.pensamientoComputacional.repository.ArchivedResolutionRepository;
+import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
+import com.example.pensamientoComputacional.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import({LeaderboardService.class, StudentMapperImpl.class, UserMapperImpl.class,
+        RoleMapperImpl.class, PermissionMapperImpl.class})
+@ActiveProfiles("test")
+class LeaderboardServiceTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentPerformanceRepository studentPerformanceRepository;
+
+    @Autowired
+    private ArchivedResolutionRepository archivedResolutionRepository;
+
+    @Autowired
+    private StudentMapper studentMapper;
+
+    private Student createStudent(String email, String group, Integer points) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        user.setGroup(group);
+        Student student = new Student();
+        student.setUser(entityManager.persist(user));
+        student = entityManager.persist(student);
+
+        if (points != null) {
+            StudentPerformance performance = new StudentPerformance();
+            performance.setStudent(student);
+            performance.setTotalPoints(points);
+            performance.setCategory("principiante");
+            entityManager.persist(performance);
+        }
+        entityManager.flush();
+        return student;
+    }
+
+    @Test
+    @DisplayName("Should warm up every group from stored totals, including students without points")
+    void shouldWarmUpFromStoredTotals() {
+        // Given
+        Student low = createStudent("low@example.com", "G1", 10);
+        Student high = createStudent("high@example.com", "G1", 90);
+        Student none = createStudent("none@example.com", "G1", null);
+        Student other = createStudent("other@example.com", "G2", 500);
+        createStudent("nogroup@example.com", null, 1000);
+
+        // When
+        leaderboardService.rebuild();
+
+        // Then
+        assertThat(leaderboardService.getGroupNames()).containsExactlyInAnyOrder("G1", "G2");
+        assertThat(leaderboardService.getTop("G1", 5)).extracting(StudentDto::getId)
+                .containsExactly(high.getId(), low.getId(), none.getId());
+        assertThat(leaderboardService.getTop("G2", 5)).extracting(StudentDto::getId).containsExactly(other.getId());
+        assertThat(leaderboardService.getTop("G1", 2)).hasSize(2);
+        assertThat(leaderboardService.getTop("missing", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cache response bodies only for known groups and fixed limits, until a rebuild drops the group")
+    void shouldBoundResponseCache() {
+        // Given
+        Student student = createStudent("cached@example.com", "G1", 10);
+        leaderboardService.rebuild();
+        LeaderboardResponseCache cache = new LeaderboardResponseCache(leaderboardService,
+                new ObjectMapper().findAndRegisterModules());
+
+        // When
+        LeaderboardResponseCache.CachedBody body = getTop(cache, "G1", LeaderboardService.DEFAULT_LIMIT);
+        LeaderboardResponseCache.CachedBody again = getTop(cache, "G1", LeaderboardService.DEFAULT_LIMIT);
+        for (int i = 0; i < 50; i++) {
+            getTop(cache, "missing-" + i, LeaderboardService.DEFAULT_LIMIT);
+            getTop(cache, "G1", 51 + i % 49); // between the cached 50 and 100
+        }
+
+        // Then
+        assertThat(again).isSameAs(body);
+        assertThat(new String(body.json())).contains(String.valueOf(student.getId()));
+        assertThat(getTop(cache, "missing-0", LeaderboardService.DEFAULT_LIMIT).json()).asString().isEqualTo("[]");
+        assertThat(cache.size()).isEqualTo(1);
+
+        // When: the only student leaves G1
+        student.getUser().setGroup("G2");
+        entityManager.flush();
+        leaderboardService.rebuild();
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    private LeaderboardResponseCache.CachedBody getTop(LeaderboardResponseCache cache, String groupName, int limit) {
+        return cache.getTop(groupName, limit, leaderboardService.getVersion(groupName));
+    }
+
+    @Test
+    @DisplayName("Should rank by points of semesters not yet archived")
+    void shouldRankByHotPoints() {
+        // Given: the veteran's total is mostly from an archived semester
+        Student veteran = createStudent("veteran@example.com", "G1", 100);
+        Student current = createStudent("current@example.com", "G1", 50);
+        ArchivedResolution archived = new ArchivedResolution();
+        archived.setId(-1L);
+        archived.setStudentId(veteran.getId());
+        archived.setExerciseId(-1L);
+        archived.setActivityId(-1L);
+        archived.setSemesterId(-1L);
+        archived.setPointsAwarded(80);
+        archived.setStatus("COMPLETED");
+        archived.setAttemptNo(1);
+        archived.setSubmittedAt(LocalDateTime.now());
+        archived.setArchivedAt(LocalDateTime.now());
+        entityManager.persist(archived);
+        entityManager.flush();
+
+        // When
+        leaderboardService.rebuild();
+        leaderboardService.recordPoints(veteran.getId(), 110);
+
+        // Then
+        assertThat(leaderboardService.getTop("G1", 5)).extracting(StudentDto::getId)
+                .containsExactly(current.getId(), veteran.getId());
+        assertThat(leaderboardService.getRank("G1", veteran.getId(), 0))
+                .hasValueSatisfying(rank -> assertThat(rank.getTotalPoints()).isEqualTo(30));
+        assertThat(leaderboardService.getLifetimeTop("G1", 5)).extracting(StudentDto::getId)
+                .containsExactly(veteran.getId(), current.getId());
+    }
+
+    @Test
+    @DisplayName("Should reorder on new totals and ignore totals older than the current one")
+    void shouldApplyOnlyNewerTotals() {
+        // Given
+        Student first = createStudent("first@example.com", "G1", 50);
+        Student second = createStudent("second@example.com", "G1", 40);
+        leaderboardService.rebuild();
+
+        // When
+        leaderboardService.recordPoints(second.getId(), 60);
+        leaderboardService.recordPoints(second.getId(), 45);
+
+        // Then
+        assertThat(leaderboardService.getTop("G1", 5)).extracting(StudentDto::getId)
+                .containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    @DisplayName("Should pick up a student registered after warm-up on their first credit")
+    void shouldLoadStudentRegisteredAfterWarmUp() {
+        // Given
+        Student existing = createStudent("existing@example.com", "G1", 20);
+        leaderboardService.rebuild();
+        Student newcomer = createStudent("newcomer@example.com", "G1", null);
+
+        // When
+        leaderboardService.recordPoints(newcomer.getId(), 30);
+
+        // Then
+        assertThat(leaderboardService.getTop("G1", 5)).extracting(StudentDto::getId)
+                .containsExactly(newcomer.getId(), existing.getId());
+    }
+
+    @Test
+    @DisplayName("Should return a student's rank with the neighbours on each side")
+    void shouldReturnRankNeighbourhood() {
+        // Given
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            students.add(createStudent("rank" + i + "@example.com", "G1", 100 - i * 10));
+        }
+        leaderboardService.rebuild();
+
+        // When
+        StudentRankDto rank = leaderboardService.getRank("G1", students.get(1).getId(), 2).orElseThrow();
+
+        // Then
+        assertThat(rank.getRank()).isEqualTo(2);
+        assertThat(rank.getTotalPoints()).isEqualTo(90);
+        assertThat(rank.getGroupSize()).isEqualTo(6);
+        assertThat(rank.getAbove()).extracting(LeaderboardEntryDto::getRank).containsExactly(1);
+        assertThat(rank.getBelow()).extracting(entry -> entry.getStudent().getId())
+                .containsExactly(students.get(2).getId(), students.get(3).getId());
+        assertThat(leaderboardService.getRank("G2", students.get(1).getId(), 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read group boards from the database and agree on versions across relay nodes")
+    void shouldReadSharedBoardsFromDatabase() {
+        // Given
+        Student first = createStudent("relay-first@example.com", "G1", 50);
+        Student second = createStudent("relay-second@example.com", "G1", 40);
+        LeaderboardService nodeA = new LeaderboardService(studentRepository, studentPerformanceRepository,
+                archivedResolutionRepository, studentMapper, ScoreboardFanout.RELAY_MODE);
+        LeaderboardService nodeB = new LeaderboardService(studentRepository, studentPerformanceRepository,
+                archivedResolutionRepository, studentMapper, ScoreboardFanout.RELAY_MODE);
+        nodeA.rebuild();
+        LeaderboardService.LeaderboardVersion before = nodeA.getVersion("G1");
+
+        // When: another node credits the second student
+        studentPerformanceRepository.addPoints(second.getId(), 30);
+        nodeB.recordPoints(second.getId(), 70);
+        entityManager.clear();
+
+        // Then
+        assertThat(nodeA.getTop("G1", 5)).extracting(StudentDto::getId).containsExactly(second.getId(), first.getId());
+        assertThat(nodeA.getTop("G1", 1)).extracting(StudentDto::getId).containsExactly(second.getId());
+        assertThat(nodeA.getRank("G1", first.getId(), 1)).hasValueSatisfying(rank -> {
+            assertThat(rank.getRank()).isEqualTo(2);
+            assertThat(rank.getTotalPoints()).isEqualTo(50);
+            assertThat(rank.getGroupSize()).isEqualTo(2);
+            assertThat(rank.getAbove()).extracting(LeaderboardEntryDto::getRank, LeaderboardEntryDto::getTotalPoints)
+                    .containsExactly(tuple(1, 70));
+            assertThat(rank.getBelow()).isEmpty();
+        });
+        assertThat(nodeA.getRank("G2", first.getId(), 1)).isEmpty();
+        assertThat(nodeA.getGroupNames()).contains("G1");
+        assertThat(nodeA.getVersion("G1")).isEqualTo(nodeB.getVersion("G1")).isNotEqualTo(before);
+    }
+}
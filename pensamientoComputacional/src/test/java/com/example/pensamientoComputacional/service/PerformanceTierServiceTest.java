@@ -0,0 +1,162 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.PerformanceTierDto;
+import com.example.pensamientoComputacional.model.dto.PerformanceTiersDto;
+import com.example.pensamientoComputacional.model.entities.Semester;
+import com.example.pensamientoComputacional.model.entities.Student;
+import com.example.pensamientoComputacional.model.entities.StudentPerformance;
+import com.example.pensamientoComputacional.model.entities.User;
+import com.example.pensamientoComputacional.repository.PerformanceTierRepository;
+import com.example.pensamientoComputacional.repository.SemesterRepository;
+import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(PerformanceTierService.class)
+@ActiveProfiles("test")
+class PerformanceTierServiceTest {
+
+    @Autowired
+    private PerformanceTierService performanceTierService;
+
+    @Autowired
+    private StudentPerformanceRepository studentPerformanceRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PerformanceTierRepository performanceTierRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private Student createStudent(String email, int points, String category) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        Student student = new Student();
+        student.setUser(entityManager.persist(user));
+        student = entityManager.persist(student);
+
+        StudentPerformance performance = new StudentPerformance();
+        performance.setStudent(student);
+        performance.setTotalPoints(points);
+        performance.setCategory(category);
+        entityManager.persist(performance);
+        entityManager.flush();
+        return student;
+    }
+
+    private String categoryOf(Student student) {
+        entityManager.clear();
+        return studentPerformanceRepository.findByStudent(student).getCategory();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the built-in thresholds and resolve boundaries by binary search")
+    void shouldUseBuiltInTiers() {
+        // When / Then
+        assertThat(performanceTierService.getEffectiveTiers().getTiers()).isEqualTo(PerformanceTierService.BUILT_IN_TIERS);
+        assertThat(performanceTierService.categoryFor(0)).isEqualTo("principiante");
+        assertThat(performanceTierService.categoryFor(249)).isEqualTo("principiante");
+        assertThat(performanceTierService.categoryFor(250)).isEqualTo("killer");
+        assertThat(performanceTierService.categoryFor(499)).isEqualTo("killer");
+        assertThat(performanceTierService.categoryFor(500)).isEqualTo("pro");
+        assertThat(performanceTierService.categoryFor(100_000)).isEqualTo("pro");
+    }
+
+    @Test
+    @DisplayName("Should re-tier every student in bulk when the default tiers change")
+    void shouldRetierOnNewDefaults() {
+        // Given
+        Student low = createStudent("tier-low@example.com", 100, "principiante");
+        Student mid = createStudent("tier-mid@example.com", 300, "killer");
+        Student high = createStudent("tier-high@example.com", 600, "pro");
+        performanceTierService.categoryFor(0);
+
+        // When
+        PerformanceTiersDto saved = performanceTierService.replaceTiers(null, List.of(
+                new PerformanceTierDto("oro", 400), new PerformanceTierDto("bronce", 0), new PerformanceTierDto("plata", 100)));
+
+        // Then
+        assertThat(saved.getTiers()).extracting(PerformanceTierDto::getName).containsExactly("bronce", "plata", "oro");
+        assertThat(saved.getStudentsRetiered()).isEqualTo(3);
+        assertThat(categoryOf(low)).isEqualTo("plata");
+        assertThat(categoryOf(mid)).isEqualTo("plata");
+        assertThat(categoryOf(high)).isEqualTo("oro");
+        assertThat(performanceTierService.categoryFor(99)).isEqualTo("bronce");
+    }
+
+    @Test
+    @DisplayName("Should pick up tiers replaced on another node on its next refresh")
+    void shouldPickUpTiersChangedElsewhere() {
+        // Given: a second service instance stands in for another node sharing the database
+        PerformanceTierService otherNode = new PerformanceTierService(performanceTierRepository,
+                semesterRepository, jdbcTemplate);
+        Student student = createStudent("tier-other-node@example.com", 100, "principiante");
+        assertThat(otherNode.categoryFor(100)).isEqualTo("principiante");
+
+        // When
+        performanceTierService.replaceTiers(null, List.of(
+                new PerformanceTierDto("bronce", 0), new PerformanceTierDto("plata", 100)));
+        otherNode.refresh();
+        otherNode.addPoints(student.getId(), 10);
+
+        // Then
+        assertThat(otherNode.getEffectiveTiers().getTiers()).extracting(PerformanceTierDto::getName)
+                .containsExactly("bronce", "plata");
+        assertThat(categoryOf(student)).isEqualTo("plata");
+    }
+
+    @Test
+    @DisplayName("Should prefer the active semester's tiers and fall back once they are removed")
+    void shouldPreferActiveSemesterTiers() {
+        // Given
+        Semester semester = new Semester();
+        semester.setCode("TIERS-2024");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = entityManager.persist(semester);
+        Student student = createStudent("tier-semester@example.com", 50, "principiante");
+
+        // When
+        performanceTierService.replaceTiers(semester.getId(), List.of(
+                new PerformanceTierDto("inicial", 0), new PerformanceTierDto("avanzado", 50)));
+        String withSemesterTiers = categoryOf(student);
+        int retiered = performanceTierService.deleteTiers(semester.getId());
+
+        // Then
+        assertThat(withSemesterTiers).isEqualTo("avanzado");
+        assertThat(retiered).isEqualTo(1);
+        assertThat(categoryOf(student)).isEqualTo("principiante");
+        assertThat(performanceTierService.getEffectiveTiers().getSemesterId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject tier sets with repeated thresholds")
+    void shouldRejectDuplicateThresholds() {
+        // When / Then
+        assertThatThrownBy(() -> performanceTierService.replaceTiers(null, List.of(
+                new PerformanceTierDto("a", 0), new PerformanceTierDto("b", 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
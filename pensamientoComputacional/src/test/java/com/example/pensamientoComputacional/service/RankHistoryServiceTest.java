@@ -0,0 +1,134 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.mapper.PermissionMapperImpl;
+import com.example.pensamientoComputacional.mapper.RoleMapperImpl;
+import com.example.pensamientoComputacional.mapper.StudentMapperImpl;
+import com.example.pensamientoComputacional.mapper.UserMapperImpl;
+import com.example.pensamientoComputacional.model.dto.RankHistoryDto;
+import com.example.pensamientoComputacional.model.dto.RankHistoryPointDto;
+import com.example.pensamientoComputacional.model.dto.RankHistorySeriesDto;
+import com.example.pensamientoComputacional.model.entities.RankHistoryEntry;
+import com.example.pensamientoComputacional.model.entities.Student;
+import com.example.pensamientoComputacional.model.entities.StudentPerformance;
+import com.example.pensamientoComputacional.model.entities.User;
+import com.example.pensamientoComputacional.repository.RankHistoryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import({RankHistoryService.class, LeaderboardService.class, StudentMapperImpl.class, UserMapperImpl.class,
+        RoleMapperImpl.class, PermissionMapperImpl.class})
+@ActiveProfiles("test")
+class RankHistoryServiceTest {
+
+    @Autowired
+    private RankHistoryService rankHistoryService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RankHistoryRepository rankHistoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Student createStudent(String email, String group, int points) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        user.setGroup(group);
+        Student student = new Student();
+        student.setUser(entityManager.persist(user));
+        student = entityManager.persist(student);
+
+        StudentPerformance performance = new StudentPerformance();
+        performance.setStudent(student);
+        performance.setTotalPoints(points);
+        performance.setCategory("principiante");
+        entityManager.persist(performance);
+        entityManager.flush();
+        return student;
+    }
+
+    private void record(String group, Long studentId, int points, int rank, LocalDateTime at) {
+        entityManager.persist(new RankHistoryEntry(null, group, studentId, points, rank, at));
+    }
+
+    @Test
+    @DisplayName("Should only record students whose points or rank changed")
+    void shouldRecordOnlyChanges() {
+        // Given
+        Student first = createStudent("history-first@example.com", "H1", 50);
+        Student second = createStudent("history-second@example.com", "H1", 40);
+        leaderboardService.rebuild();
+
+        // When
+        int initial = rankHistoryService.snapshot();
+        int unchanged = rankHistoryService.snapshot();
+        leaderboardService.recordPoints(second.getId(), 60);
+        int overtaken = rankHistoryService.snapshot();
+        leaderboardService.recordPoints(first.getId(), 55);
+        int pointsOnly = rankHistoryService.snapshot();
+
+        // Then
+        assertThat(initial).isEqualTo(2);
+        assertThat(unchanged).isZero();
+        assertThat(overtaken).isEqualTo(2);
+        assertThat(pointsOnly).isEqualTo(1);
+
+        assertThat(rankHistoryRepository.findAll(Sort.by("id"))).filteredOn(entry -> entry.getStudentId().equals(first.getId()))
+                .extracting(RankHistoryEntry::getPoints, RankHistoryEntry::getRankPosition)
+                .containsExactly(tuple(50, 1), tuple(50, 2), tuple(55, 2));
+    }
+
+    @Test
+    @DisplayName("Should keep the last change per bucket and the value in effect at the start")
+    void shouldDownsampleLongRanges() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 8, 0);
+        record("H2", 1L, 100, 1, from.minusHours(1));
+        for (int hour = 0; hour <= 12; hour++) {
+            record("H2", 1L, hour, 1, from.plusHours(hour));
+            record("H2", 2L, hour, 2, from.plusHours(hour));
+        }
+        record("H2", 1L, 999, 1, from.plusHours(13));
+        entityManager.flush();
+
+        // When
+        RankHistoryDto history = rankHistoryService.getHistory("H2", from, from.plusHours(12), null, 4);
+        RankHistoryDto single = rankHistoryService.getHistory("H2", from, from.plusHours(12), 2L, 4);
+
+        // Then
+        assertThat(history.getSeries()).extracting(RankHistorySeriesDto::getStudentId).containsExactly(1L, 2L);
+        assertThat(history.getSeries().get(0).getPoints()).extracting(RankHistoryPointDto::getPoints)
+                .containsExactly(100, 3, 6, 9, 12);
+        assertThat(history.getSeries().get(0).getPoints().get(0).getRecordedAt()).isEqualTo(from);
+        assertThat(history.getSeries().get(1).getPoints()).extracting(RankHistoryPointDto::getPoints)
+                .containsExactly(3, 6, 9, 12);
+        assertThat(single.getSeries()).extracting(RankHistorySeriesDto::getStudentId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should reject a range that ends before it starts")
+    void shouldRejectInvertedRange() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // When / Then
+        assertThatThrownBy(() -> rankHistoryService.getHistory("H1", now, now.minusHours(1), null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.SubmissionTicketDto;
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.*;
+import com.example.pensamientoComputacional.service.exception.IngestionQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Not @Transactional: the writer thread commits on its own connection
+@SpringBootTest
+@ActiveProfiles("test")
+class ResolutionIngestionServiceTest {
+
+    private static final int SUBMISSIONS = 50;
+
+    @Autowired
+    private ResolutionIngestionService ingestionService;
+
+    @Autowired
+    private AttemptCounterService attemptCounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ResolutionRepository resolutionRepository;
+
+    @Autowired
+    private ResolutionAttemptCounterRepository counterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Student student;
+    private Professor professor;
+    private Semester semester;
+    private Group group;
+    private Activity activity;
+    private Exercise exercise;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            student = new Student();
+            student.setUser(userRepository.save(createUser("ingestion-student@example.com")));
+            student = studentRepository.save(student);
+
+            professor = new Professor();
+            professor.setUser(userRepository.save(createUser("ingestion-professor@example.com")));
+            professor = professorRepository.save(professor);
+        });
+
+        semester = new Semester();
+        semester.setCode("INGESTION-TEST");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = semesterRepository.save(semester);
+
+        group = new Group();
+        group.setName("INGESTION-G1");
+        group.setSemester(semester);
+        group = groupRepository.save(group);
+
+        activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Ingestion activity");
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = activityRepository.save(activity);
+
+        exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Ingestion exercise");
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        exercise = exerciseRepository.save(exercise);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolutionRepository.deleteAll(resolutionRepository.findByStudentId(student.getId()));
+        counterRepository.deleteById(new ResolutionAttemptCounter.Key(student.getId(), exercise.getId()));
+        counterRepository.deleteById(new ResolutionAttemptCounter.Key(student.getId(), -1L));
+        exerciseRepository.delete(exercise);
+        activityRepository.delete(activity);
+        groupRepository.delete(group);
+        semesterRepository.delete(semester);
+        studentRepository.delete(student);
+        professorRepository.delete(professor);
+        userRepository.deleteById(student.getId());
+        userRepository.deleteById(professor.getId());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setName("Ingestion User");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        return user;
+    }
+
+    private SubmissionTicketDto awaitCompletion(String ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        SubmissionTicketDto ticket = ingestionService.getTicket(ticketId, student.getId()).orElseThrow();
+        while (SubmissionTicketDto.QUEUED.equals(ticket.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            ticket = ingestionService.getTicket(ticketId, student.getId()).orElseThrow();
+        }
+        return ticket;
+    }
+
+    @Test
+    @DisplayName("Should accept submissions with a ticket and store them in background batches")
+    void shouldStoreQueuedSubmissions() throws Exception {
+        // Given
+        List<SubmissionTicketDto> accepted = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            accepted.add(ingestionService.submit(student.getId(), exercise.getId(), "print(" + i + ")"));
+        }
+
+        // When
+        List<SubmissionTicketDto> completed = new ArrayList<>();
+        for (SubmissionTicketDto ticket : accepted) {
+            completed.add(awaitCompletion(ticket.getTicketId()));
+        }
+
+        // Then
+        assertThat(accepted).allMatch(ticket -> SubmissionTicketDto.QUEUED.equals(ticket.getStatus()));
+        assertThat(completed).allMatch(ticket -> SubmissionTicketDto.STORED.equals(ticket.getStatus()));
+        assertThat(completed).extracting(SubmissionTicketDto::getAttemptNo)
+                .containsExactlyInAnyOrderElementsOf(
+                        IntStream.rangeClosed(1, SUBMISSIONS).boxed().collect(Collectors.toList()));
+        assertThat(resolutionRepository.findByStudentId(student.getId())).hasSize(SUBMISSIONS);
+        assertThat(completed).allSatisfy(ticket -> assertThat(resolutionRepository.findById(ticket.getResolutionId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getAttemptNo()).isEqualTo(ticket.getAttemptNo())));
+        assertThat(ingestionService.getTicket(accepted.get(0).getTicketId(), professor.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fail only the offending row of a batch and keep database errors off the ticket")
+    void shouldIsolateFailingRow() throws Exception {
+        // Given: a writer that is never started, so stop() flushes everything as one batch
+        ResolutionIngestionService manual = new ResolutionIngestionService(
+                attemptCounterService, jdbcTemplate, transactionManager, 10, 10, 200, 3, 60_000, 2, 1);
+        SubmissionTicketDto first = manual.submit(student.getId(), exercise.getId(), "first");
+        // No such exercise: the foreign key rejects this row alone
+        SubmissionTicketDto orphan = manual.submit(student.getId(), -1L, "orphan");
+        SubmissionTicketDto last = manual.submit(student.getId(), exercise.getId(), "last");
+
+        // When
+        manual.stop();
+
+        // Then
+        SubmissionTicketDto failed = manual.getTicket(orphan.getTicketId()).orElseThrow();
+        assertThat(manual.getTicket(first.getTicketId()).orElseThrow().getStatus()).isEqualTo(SubmissionTicketDto.STORED);
+        assertThat(manual.getTicket(last.getTicketId()).orElseThrow().getStatus()).isEqualTo(SubmissionTicketDto.STORED);
+        assertThat(failed.getStatus()).isEqualTo(SubmissionTicketDto.FAILED);
+        assertThat(failed.getResolutionId()).isNull();
+        SubmissionTicketDto stored = manual.getTicket(last.getTicketId()).orElseThrow();
+        assertThat(resolutionRepository.findById(stored.getResolutionId()))
+                .hasValueSatisfying(resolution -> assertThat(resolution.getAttemptNo()).isEqualTo(stored.getAttemptNo()));
+        assertThat(failed.getError()).doesNotContainIgnoringCase("insert").doesNotContain("orphan");
+        assertThat(resolutionRepository.findByStudentId(student.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject submissions once the queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        // Given: a service whose writer never starts, so nothing drains the queue
+        ResolutionIngestionService stalled = new ResolutionIngestionService(
+                attemptCounterService, jdbcTemplate, transactionManager, 1, 10, 200, 3, 60_000, 2, 100);
+        stalled.submit(student.getId(), exercise.getId(), "first");
+
+        // When / Then
+        assertThatThrownBy(() -> stalled.submit(student.getId(), exercise.getId(), "second"))
+                .isInstanceOf(IngestionQueueFullException.class)
+                .satisfies(e -> assertThat(((IngestionQueueFullException) e).getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(stalled.getQueueSize()).isEqualTo(1);
+    }
+}
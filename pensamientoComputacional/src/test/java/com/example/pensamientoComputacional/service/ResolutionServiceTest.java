@@ -0,0 +1,236 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.BatchAssignResultDto;
+import com.example.pensamientoComputacional.model.dto.ResolutionDto;
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Not @Transactional: concurrent validations must commit independently
+@SpringBootTest
+@ActiveProfiles("test")
+class ResolutionServiceTest {
+
+    private static final int VALIDATIONS = 8;
+
+    @Autowired
+    private IResolutionService resolutionService;
+
+    @Autowired
+    private ResolutionRepository resolutionRepository;
+
+    @Autowired
+    private StudentPerformanceRepository studentPerformanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Student student;
+    private Professor professor;
+    private Semester semester;
+    private Group group;
+    private Activity activity;
+    private Exercise exercise;
+    private Resolution resolution;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            student = new Student();
+            student.setUser(userRepository.save(createUser("resolution-student@example.com")));
+            student = studentRepository.save(student);
+
+            professor = new Professor();
+            professor.setUser(userRepository.save(createUser("resolution-professor@example.com")));
+            professor = professorRepository.save(professor);
+        });
+
+        semester = new Semester();
+        semester.setCode("RESOLUTION-TEST");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = semesterRepository.save(semester);
+
+        group = new Group();
+        group.setName("RESOLUTION-G1");
+        group.setSemester(semester);
+        group = groupRepository.save(group);
+
+        activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Resolution activity");
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = activityRepository.save(activity);
+
+        exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Resolution exercise");
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        exercise = exerciseRepository.save(exercise);
+
+        resolution = new Resolution();
+        resolution.setStudent(student);
+        resolution.setExercise(exercise);
+        resolution.setPointsAwarded(30);
+        resolution.setStatus("PENDING");
+        resolution.setAttemptNo(1);
+        resolution.setSubmittedAt(LocalDateTime.now());
+        resolution.setCode("ABC123");
+        resolution = resolutionRepository.save(resolution);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // Completion events are written in the background; let them land before removing the activity
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (countEvents() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        jdbcTemplate.update("DELETE FROM scoreboard_events WHERE activity_id = ?", activity.getId());
+        jdbcTemplate.update("DELETE FROM student_performance WHERE student_id = ?", student.getId());
+        resolutionRepository.deleteById(resolution.getId());
+        exerciseRepository.delete(exercise);
+        activityRepository.delete(activity);
+        groupRepository.delete(group);
+        semesterRepository.delete(semester);
+        studentRepository.delete(student);
+        professorRepository.delete(professor);
+        userRepository.deleteById(student.getId());
+        userRepository.deleteById(professor.getId());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setName("Resolution User");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        return user;
+    }
+
+    private int countEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scoreboard_events WHERE activity_id = ?",
+                Integer.class, activity.getId());
+    }
+
+    @Test
+    @DisplayName("Should credit a resolution once however many times its code is validated")
+    void shouldCreditCompletionOnce() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(VALIDATIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Resolution>> futures = new ArrayList<>();
+        for (int i = 0; i < VALIDATIONS; i++) {
+            futures.add(executor.submit(() -> {
+                Resolution loaded = resolutionService.getResolution(resolution.getId()).orElseThrow();
+                start.await();
+                return resolutionService.completeResolution(loaded);
+            }));
+        }
+
+        // When
+        start.countDown();
+        List<String> statuses = new ArrayList<>();
+        for (Future<Resolution> future : futures) {
+            statuses.add(future.get(60, TimeUnit.SECONDS).getStatus());
+        }
+        executor.shutdown();
+        Resolution again = resolutionService.completeResolution(
+                resolutionService.getResolution(resolution.getId()).orElseThrow());
+
+        // Then
+        assertThat(statuses).containsOnly("COMPLETED");
+        assertThat(again.getStatus()).isEqualTo("COMPLETED");
+        assertThat(studentPerformanceRepository.findByStudent(student).getTotalPoints()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should create one attempt per new pair in a batch and update pending ones")
+    void shouldAssignPointsInBatch() {
+        // Given: a second exercise with no resolution yet
+        Exercise other = new Exercise();
+        other.setActivity(activity);
+        other.setTitle("Batch exercise");
+        other.setStatement("Statement");
+        other.setDifficulty(1);
+        other.setMaxPoints(100);
+        Exercise created = exerciseRepository.save(other);
+        List<ResolutionDto> items = List.of(
+                batchItem(student.getId(), exercise.getId(), 40),
+                batchItem(student.getId(), created.getId(), 10),
+                batchItem(student.getId(), created.getId(), 15),
+                batchItem(-1L, created.getId(), 5));
+
+        try {
+            // When
+            List<BatchAssignResultDto> results = resolutionService.assignPointsBatch(professor, items);
+
+            // Then
+            assertThat(results).extracting(BatchAssignResultDto::getOutcome).containsExactly(
+                    BatchAssignResultDto.UPDATED, BatchAssignResultDto.CREATED,
+                    BatchAssignResultDto.UPDATED, BatchAssignResultDto.FAILED);
+            assertThat(resolutionRepository.findById(resolution.getId()).orElseThrow().getPointsAwarded()).isEqualTo(40);
+            Resolution added = resolutionRepository.findById(results.get(1).getResolution().getId()).orElseThrow();
+            assertThat(added.getAttemptNo()).isEqualTo(1);
+            assertThat(added.getPointsAwarded()).isEqualTo(15);
+        } finally {
+            jdbcTemplate.update("DELETE FROM resolutions WHERE exercise_id = ?", created.getId());
+            jdbcTemplate.update("DELETE FROM resolution_attempt_counters WHERE exercise_id = ?", created.getId());
+            exerciseRepository.delete(created);
+        }
+    }
+
+    private ResolutionDto batchItem(Long studentId, Long exerciseId, int points) {
+        ResolutionDto item = new ResolutionDto();
+        item.setStudentId(studentId);
+        item.setExerciseId(exerciseId);
+        item.setPointsAwarded(points);
+        return item;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardDeltaDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardUpdateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Serializes one scoreboard update the way the broker does and writes it as a STOMP frame
+ * for every subscriber, once as JSON and once negotiated compact, reporting time and bytes
+ * per broadcast. Runs on demand; the benchmark group is excluded from the default surefire run:
+ * mvn test -Dtest=ScoreboardEncodingBenchmarkTest -DexcludedTestGroups=
+ */
+@Tag("benchmark")
+class ScoreboardEncodingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreboardEncodingBenchmarkTest.class);
+
+    private static final int SUBSCRIBERS = Integer.getInteger("benchmark.subscribers", 500);
+    private static final int CHANGES = Integer.getInteger("benchmark.changes", 20);
+    private static final int WARMUP = 200;
+    private static final int RUNS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MappingJackson2MessageConverter jsonConverter = new MappingJackson2MessageConverter(objectMapper);
+    private final ScoreboardEncoding encoding = new ScoreboardEncoding(objectMapper);
+    private final StompEncoder stompEncoder = new StompEncoder();
+
+    private record Result(long nanos, long payloadBytes, long wireBytes) {
+    }
+
+    private static ScoreboardUpdateDto update() {
+        List<ScoreboardDeltaDto> changes = new ArrayList<>(CHANGES);
+        for (int i = 0; i < CHANGES; i++) {
+            // A quarter of the changes are students joining the board, who carry their name
+            changes.add(new ScoreboardDeltaDto(10_000L + i, i % 4 == 0 ? "Estudiante " + i : null,
+                    i + 1, 1_000 - i * 10, 60_000L + i * 1_500));
+        }
+        return new ScoreboardUpdateDto(42L, 1_234, LocalDateTime.now(), changes);
+    }
+
+    // One broadcast: serialize once, then a MESSAGE copy per subscriber through the outbound path
+    private Result broadcast(ScoreboardUpdateDto update, boolean compact) {
+        long start = System.nanoTime();
+        Message<?> serialized = jsonConverter.toMessage(update, null);
+        byte[] json = (byte[]) serialized.getPayload();
+        long payloadBytes = 0;
+        long wireBytes = 0;
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId((compact ? "compact-" : "json-") + i);
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination(ScoreboardPublisher.TOPIC_PREFIX + update.getActivityId());
+            accessor.setContentType(jsonConverter.getSupportedMimeTypes().get(0));
+            Message<?> copy = encoding.encodeFor(MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+
+            StompHeaderAccessor stomp = StompHeaderAccessor.wrap(copy);
+            stomp.updateStompCommandAsServerMessage();
+            byte[] payload = (byte[]) copy.getPayload();
+            payloadBytes += payload.length;
+            wireBytes += stompEncoder.encode(stomp.getMessageHeaders(), payload).length;
+        }
+        return new Result(System.nanoTime() - start, payloadBytes, wireBytes);
+    }
+
+    private Result bestOfRuns(ScoreboardUpdateDto update, boolean compact) {
+        for (int i = 0; i < WARMUP; i++) {
+            broadcast(update, compact);
+        }
+        Result best = null;
+        for (int i = 0; i < RUNS; i++) {
+            Result result = broadcast(update, compact);
+            if (best == null || result.nanos() < best.nanos()) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    @DisplayName("Should put fewer bytes on the wire than JSON for a 500-subscriber broadcast")
+    void shouldCompareJsonAndCompactBroadcasts() {
+        // Given
+        ScoreboardUpdateDto update = update();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+            connect.setSessionId("compact-" + i);
+            connect.addNativeHeader(ScoreboardEncoding.FORMAT_HEADER, ScoreboardEncoding.COMPACT);
+            connect.setSessionAttributes(new HashMap<>(Map.of(ScoreboardEncoding.BINARY_FRAMES_ATTRIBUTE, true)));
+            encoding.inboundInterceptor().preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), null);
+        }
+
+        // When
+        Result json = bestOfRuns(update, false);
+        Result compact = bestOfRuns(update, true);
+        log.info(String.format("Broadcast of %d changes to %d subscribers: " +
+                        "JSON %.3f ms, payload %d B, wire %d B; compact %.3f ms, payload %d B, wire %d B",
+                CHANGES, SUBSCRIBERS,
+                json.nanos() / 1e6, json.payloadBytes(), json.wireBytes(),
+                compact.nanos() / 1e6, compact.payloadBytes(), compact.wireBytes()));
+
+        // Then
+        assertThat(compact.payloadBytes()).isLessThan(json.payloadBytes() / 2);
+        assertThat(compact.wireBytes()).isLessThan(json.wireBytes());
+    }
+}
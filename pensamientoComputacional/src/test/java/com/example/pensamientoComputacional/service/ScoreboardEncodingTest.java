@@ -0,0 +1,107 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardDeltaDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardUpdateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ScoreboardEncodingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ScoreboardEncoding encoding = new ScoreboardEncoding(objectMapper);
+
+    private static ScoreboardUpdateDto update() {
+        return new ScoreboardUpdateDto(7L, 42, LocalDateTime.of(2026, 3, 1, 10, 30, 15, 250_000_000), List.of(
+                new ScoreboardDeltaDto(1001L, "Ana Muñoz", 1, 350, 61_000),
+                new ScoreboardDeltaDto(1002L, null, 2, 300, 45_500),
+                new ScoreboardDeltaDto(1003L, null, 3, -5, 0)));
+    }
+
+    private void connect(String sessionId, String format) {
+        connect(sessionId, format, true);
+    }
+
+    private void connect(String sessionId, String format, boolean rawWebSocket) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        if (rawWebSocket) {
+            attributes.put(ScoreboardEncoding.BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+        }
+        accessor.setSessionAttributes(attributes);
+        if (format != null) {
+            accessor.addNativeHeader(ScoreboardEncoding.FORMAT_HEADER, format);
+        }
+        encoding.inboundInterceptor().preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+
+    private static Message<byte[]> broadcastCopy(byte[] payload, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(ScoreboardPublisher.TOPIC_PREFIX + 7);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    @Test
+    @DisplayName("Should round-trip an update through the compact layout in fewer bytes than JSON")
+    void shouldRoundTripCompactUpdates() throws Exception {
+        // Given
+        CompactScoreboardMessageConverter converter = encoding.getConverter();
+        ScoreboardUpdateDto update = update();
+
+        // When
+        byte[] compact = converter.encode(update);
+        ScoreboardUpdateDto decoded = converter.decode(compact);
+
+        // Then
+        assertThat(decoded).isEqualTo(update);
+        assertThat(compact.length).isLessThan(objectMapper.writeValueAsBytes(update).length / 3);
+        assertThatThrownBy(() -> converter.decode(new byte[]{1, (byte) 0x80})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should send compact frames only to raw WebSocket sessions that asked for them at CONNECT")
+    void shouldEncodePerNegotiatedSession() throws Exception {
+        // Given
+        connect("compact-1", ScoreboardEncoding.COMPACT);
+        connect("compact-2", ScoreboardEncoding.COMPACT);
+        connect("json-1", null);
+        connect("sockjs-1", ScoreboardEncoding.COMPACT, false);
+        byte[] json = objectMapper.writeValueAsBytes(update());
+        byte[] other = objectMapper.writeValueAsBytes(Map.of("probe", true));
+
+        // When
+        Message<?> first = encoding.encodeFor(broadcastCopy(json, "compact-1"));
+        Message<?> second = encoding.encodeFor(broadcastCopy(json, "compact-2"));
+        Message<?> plain = encoding.encodeFor(broadcastCopy(json, "json-1"));
+        Message<?> sockJs = encoding.encodeFor(broadcastCopy(json, "sockjs-1"));
+        Message<?> notAnUpdate = encoding.encodeFor(broadcastCopy(other, "compact-1"));
+
+        // Then
+        assertThat(first.getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(CompactScoreboardMessageConverter.MIME_TYPE);
+        assertThat(encoding.getConverter().decode((byte[]) first.getPayload())).isEqualTo(update());
+        assertThat(second.getPayload()).isSameAs(first.getPayload()); // Encoded once per broadcast
+        assertThat(SimpMessageHeaderAccessor.getSessionId(second.getHeaders())).isEqualTo("compact-2");
+        assertThat(plain.getPayload()).isSameAs(json);
+        assertThat(sockJs.getPayload()).isSameAs(json); // SockJS cannot carry binary frames
+        assertThat(notAnUpdate.getPayload()).isSameAs(other);
+    }
+}
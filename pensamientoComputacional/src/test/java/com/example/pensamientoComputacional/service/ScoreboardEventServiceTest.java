@@ -0,0 +1,255 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardEventDto;
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Not @Transactional: the writer thread commits on its own connection
+@SpringBootTest
+@ActiveProfiles("test")
+class ScoreboardEventServiceTest {
+
+    private static final int TAIL_SIZE = 5;
+
+    @Autowired
+    private ScoreboardEventRepository scoreboardEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ScoreboardEventService scoreboardEventService;
+    private Student student;
+    private Professor professor;
+    private Semester semester;
+    private Group group;
+    private Activity activity;
+    private Exercise exercise;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            student = new Student();
+            student.setUser(userRepository.save(createUser("events-student@example.com")));
+            student = studentRepository.save(student);
+
+            professor = new Professor();
+            professor.setUser(userRepository.save(createUser("events-professor@example.com")));
+            professor = professorRepository.save(professor);
+        });
+
+        semester = new Semester();
+        semester.setCode("EVENTS-TEST");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = semesterRepository.save(semester);
+
+        group = new Group();
+        group.setName("EVENTS-G1");
+        group.setSemester(semester);
+        group = groupRepository.save(group);
+
+        activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Events activity");
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = activityRepository.save(activity);
+
+        exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Events exercise");
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        exercise = exerciseRepository.save(exercise);
+
+        scoreboardEventService = new ScoreboardEventService(scoreboardEventRepository, activityRepository,
+                jdbcTemplate, transactionManager, 100, 3, 20, TAIL_SIZE, 10, "local");
+        scoreboardEventService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scoreboardEventService.stop();
+        jdbcTemplate.update("DELETE FROM scoreboard_events WHERE activity_id = ?", activity.getId());
+        exerciseRepository.delete(exercise);
+        activityRepository.delete(activity);
+        groupRepository.delete(group);
+        semesterRepository.delete(semester);
+        studentRepository.delete(student);
+        professorRepository.delete(professor);
+        userRepository.deleteById(student.getId());
+        userRepository.deleteById(professor.getId());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setName("Events User");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        return user;
+    }
+
+    private void recordCompletions(int count) throws InterruptedException {
+        long before = scoreboardEventRepository.count();
+        for (int i = 0; i < count; i++) {
+            Resolution resolution = new Resolution();
+            resolution.setStudent(student);
+            resolution.setExercise(exercise);
+            resolution.setPointsAwarded(10 + i);
+            scoreboardEventService.recordCompletion(resolution);
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (scoreboardEventRepository.count() < before + count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Should store queued events in background batches and replay them in id order")
+    void shouldStoreAndReplayEvents() throws Exception {
+        // When
+        recordCompletions(3);
+        List<ScoreboardEventDto> all = scoreboardEventService.getEvents(activity.getId(), 0, 100).orElseThrow();
+        List<ScoreboardEventDto> rest = scoreboardEventService
+                .getEvents(activity.getId(), all.get(0).getId(), 100).orElseThrow();
+
+        // Then
+        assertThat(all).extracting(ScoreboardEventDto::getMessage).containsExactly(
+                "Completó «Events exercise» (+10 puntos)",
+                "Completó «Events exercise» (+11 puntos)",
+                "Completó «Events exercise» (+12 puntos)");
+        assertThat(all).allSatisfy(event -> {
+            assertThat(event.getStudentId()).isEqualTo(student.getId());
+            assertThat(event.getStudentName()).isEqualTo("Events User");
+            assertThat(event.getExerciseId()).isEqualTo(exercise.getId());
+        });
+        assertThat(rest).extracting(ScoreboardEventDto::getId).containsExactly(all.get(1).getId(), all.get(2).getId());
+        assertThat(scoreboardEventService.getDroppedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record regrades with the change in points so the feed adds up to the board")
+    void shouldRecordRegrades() throws Exception {
+        // Given
+        recordCompletions(1);
+        Resolution regraded = new Resolution();
+        regraded.setStudent(student);
+        regraded.setExercise(exercise);
+        regraded.setPointsAwarded(7);
+
+        // When
+        scoreboardEventService.recordRegrade(regraded, -3);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (scoreboardEventRepository.count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        List<ScoreboardEventDto> all = scoreboardEventService.getEvents(activity.getId(), 0, 100).orElseThrow();
+
+        // Then
+        assertThat(all).extracting(ScoreboardEventDto::getMessage).containsExactly(
+                "Completó «Events exercise» (+10 puntos)",
+                "Recalificado «Events exercise» (-3 puntos)");
+    }
+
+    @Test
+    @DisplayName("Should read pages older than the in-memory tail from the database")
+    void shouldFallBackToDatabaseBeyondTail() throws Exception {
+        // Given: more events than the tail keeps
+        recordCompletions(TAIL_SIZE + 3);
+        List<Long> stored = scoreboardEventRepository
+                .findByActivityIdAfter(activity.getId(), 0L, Limit.of(100))
+                .stream().map(ScoreboardEventDto::getId).toList();
+
+        // When
+        List<ScoreboardEventDto> fromStart = scoreboardEventService.getEvents(activity.getId(), 0, 4).orElseThrow();
+        List<ScoreboardEventDto> head = scoreboardEventService
+                .getEvents(activity.getId(), stored.get(4), 100).orElseThrow();
+
+        // Then
+        assertThat(stored).hasSize(TAIL_SIZE + 3);
+        assertThat(fromStart).extracting(ScoreboardEventDto::getId).containsExactlyElementsOf(stored.subList(0, 4));
+        assertThat(head).extracting(ScoreboardEventDto::getId).containsExactlyElementsOf(stored.subList(5, stored.size()));
+    }
+
+    @Test
+    @DisplayName("Should report unknown activities and reject out-of-range limits")
+    void shouldValidateRequest() {
+        // When / Then
+        assertThat(scoreboardEventService.getEvents(-1L, 0, 10)).isEmpty();
+        assertThatThrownBy(() -> scoreboardEventService.getEvents(activity.getId(), 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scoreboardEventService.getEvents(activity.getId(), 0, ScoreboardEventService.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should read every page from the database when other nodes write the same feed")
+    void shouldSkipTailInRelayMode() throws Exception {
+        // Given
+        scoreboardEventService.stop();
+        scoreboardEventService = new ScoreboardEventService(scoreboardEventRepository, activityRepository,
+                jdbcTemplate, transactionManager, 100, 3, 20, TAIL_SIZE, 10, ScoreboardFanout.RELAY_MODE);
+        scoreboardEventService.start();
+        recordCompletions(1);
+
+        // When: another node stores an event, then this one stores another
+        jdbcTemplate.update("INSERT INTO scoreboard_events (activity_id, student_id, exercise_id, message, created_at, user_id) " +
+                "VALUES (?, ?, ?, 'Otro nodo', CURRENT_TIMESTAMP, ?)", activity.getId(), student.getId(),
+                exercise.getId(), student.getId());
+        recordCompletions(1);
+        List<ScoreboardEventDto> all = scoreboardEventService.getEvents(activity.getId(), 0, 100).orElseThrow();
+
+        // Then
+        assertThat(all).extracting(ScoreboardEventDto::getMessage).containsExactly(
+                "Completó «Events exercise» (+10 puntos)", "Otro nodo", "Completó «Events exercise» (+10 puntos)");
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ScoreboardDeltaDto;
+import com.example.pensamientoComputacional.model.dto.ScoreboardUpdateDto;
+import com.example.pensamientoComputacional.service.impl.LocalScoreboardFanout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ScoreboardPublisherTest {
+
+    private static final long COALESCE_MS = 100;
+
+    private List<Message<?>> sent;
+    private ScoreboardPublisher publisher;
+    private ActivityLeaderboard board;
+
+    @BeforeEach
+    void setUp() {
+        sent = new CopyOnWriteArrayList<>();
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        template.setMessageConverter(new SimpleMessageConverter());
+        publisher = new ScoreboardPublisher(new LocalScoreboardFanout(template), COALESCE_MS, 4, "local");
+        board = new ActivityLeaderboard();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+    }
+
+    private void validate(long resolutionId, long studentId, int points) {
+        boolean joined = !board.contains(studentId);
+        board.record(resolutionId, studentId, "student-" + studentId, points, resolutionId);
+        publisher.studentChanged(7L, board, studentId, joined);
+    }
+
+    private void awaitMessages(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sent.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of validations into one message per window")
+    void shouldCoalesceBurst() throws InterruptedException {
+        // When
+        for (int i = 0; i < 100; i++) {
+            validate(i, i % 10, 5);
+        }
+        awaitMessages(1);
+        Thread.sleep(COALESCE_MS * 2);
+
+        // Then
+        assertThat(sent).hasSize(1);
+        assertThat(SimpMessageHeaderAccessor.getDestination(sent.get(0).getHeaders()))
+                .isEqualTo(ScoreboardPublisher.TOPIC_PREFIX + 7);
+        ScoreboardUpdateDto update = (ScoreboardUpdateDto) sent.get(0).getPayload();
+        assertThat(update.getActivityId()).isEqualTo(7L);
+        assertThat(update.getSeq()).isEqualTo(1);
+        assertThat(update.getChanges()).hasSize(10)
+                .allSatisfy(entry -> assertThat(entry.getPoints()).isEqualTo(50));
+        assertThat(update.getChanges()).extracting(ScoreboardDeltaDto::getRank)
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    @DisplayName("Should open a new window for changes after a message was sent")
+    void shouldSendLaterChangesSeparately() throws InterruptedException {
+        // Given
+        validate(1, 1, 10);
+        awaitMessages(1);
+
+        // When
+        validate(2, 2, 20);
+        awaitMessages(2);
+
+        // Then
+        assertThat(sent).hasSize(2);
+        ScoreboardUpdateDto second = (ScoreboardUpdateDto) sent.get(1).getPayload();
+        assertThat(second.getSeq()).isEqualTo(2);
+        assertThat(second.getChanges()).singleElement().satisfies(entry -> {
+            assertThat(entry.getStudentId()).isEqualTo(2L);
+            assertThat(entry.getStudentName()).isEqualTo("student-2");
+            assertThat(entry.getRank()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Should only name students the first time they appear")
+    void shouldNameStudentsOnce() throws InterruptedException {
+        // Given
+        validate(1, 1, 10);
+        awaitMessages(1);
+
+        // When
+        validate(2, 1, 10);
+        awaitMessages(2);
+
+        // Then
+        ScoreboardUpdateDto second = (ScoreboardUpdateDto) sent.get(1).getPayload();
+        assertThat(second.getChanges()).singleElement().satisfies(entry -> {
+            assertThat(entry.getStudentName()).isNull();
+            assertThat(entry.getPoints()).isEqualTo(20);
+        });
+    }
+
+    @Test
+    @DisplayName("Should replay buffered updates after a sequence and report gaps beyond the buffer")
+    void shouldReplayFromRingBuffer() throws InterruptedException {
+        // Given
+        for (int i = 1; i <= 6; i++) {
+            validate(i, i, i);
+            awaitMessages(i);
+        }
+
+        // When / Then
+        assertThat(publisher.currentSeq(7L)).isEqualTo(6);
+        assertThat(publisher.updatesSince(7L, 3L)).hasValueSatisfying(missed ->
+                assertThat(missed).extracting(ScoreboardUpdateDto::getSeq).containsExactly(4L, 5L, 6L));
+        assertThat(publisher.updatesSince(7L, 2L)).hasValueSatisfying(missed -> assertThat(missed).hasSize(4));
+        assertThat(publisher.updatesSince(7L, 6L)).hasValueSatisfying(missed -> assertThat(missed).isEmpty());
+        assertThat(publisher.updatesSince(7L, 1L)).isEmpty();
+        assertThat(publisher.updatesSince(7L, 9L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should send unnumbered messages built from the board at flush time when nodes share topics")
+    void shouldSendUnnumberedMessagesInRelayMode() throws InterruptedException {
+        // Given
+        publisher.stop();
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        template.setMessageConverter(new SimpleMessageConverter());
+        publisher = new ScoreboardPublisher(new LocalScoreboardFanout(template), COALESCE_MS, 4,
+                ScoreboardFanout.RELAY_MODE);
+        int[] reads = {0};
+
+        // When
+        for (int i = 1; i <= 3; i++) {
+            board.record((long) i, 1L, "student-1", 10, i);
+            publisher.studentChanged(7L, () -> {
+                reads[0]++;
+                return board;
+            }, 1L, true);
+        }
+        awaitMessages(1);
+
+        // Then
+        ScoreboardUpdateDto update = (ScoreboardUpdateDto) sent.get(0).getPayload();
+        assertThat(update.getSeq()).isZero();
+        assertThat(update.getChanges()).singleElement().satisfies(entry -> {
+            assertThat(entry.getStudentName()).isEqualTo("student-1");
+            assertThat(entry.getPoints()).isEqualTo(30);
+        });
+        assertThat(reads[0]).isEqualTo(1);
+        assertThat(publisher.currentSeq(7L)).isZero();
+        assertThat(publisher.updatesSince(7L, 0L)).isEmpty();
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ResolutionSummaryDto;
+import com.example.pensamientoComputacional.model.dto.SemesterArchiveDto;
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.ArchivedResolutionRepository;
+import com.example.pensamientoComputacional.repository.ArchivedScoreboardEventRepository;
+import com.example.pensamientoComputacional.repository.ResolutionRepository;
+import com.example.pensamientoComputacional.repository.ScoreboardEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(SemesterArchiveService.class)
+@ActiveProfiles("test")
+class SemesterArchiveServiceTest {
+
+    @Autowired
+    private SemesterArchiveService semesterArchiveService;
+
+    @Autowired
+    private ResolutionRepository resolutionRepository;
+
+    @Autowired
+    private ArchivedResolutionRepository archivedResolutionRepository;
+
+    @Autowired
+    private ScoreboardEventRepository scoreboardEventRepository;
+
+    @Autowired
+    private ArchivedScoreboardEventRepository archivedScoreboardEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Student student;
+    private Semester closedSemester;
+    private Semester activeSemester;
+    private Exercise closedExercise;
+    private Exercise activeExercise;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Archive Student");
+        user.setEmail("archive-student@example.com");
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        user = entityManager.persist(user);
+        student = new Student();
+        student.setUser(user);
+        student = entityManager.persist(student);
+
+        User professorUser = new User();
+        professorUser.setName("Archive Professor");
+        professorUser.setEmail("archive-professor@example.com");
+        professorUser.setPasswordHash("hashedPassword123");
+        professorUser.setIsActive(true);
+        professorUser = entityManager.persist(professorUser);
+        Professor professor = new Professor();
+        professor.setUser(professorUser);
+        professor = entityManager.persist(professor);
+
+        closedSemester = entityManager.persist(createSemester("2023-2", false));
+        activeSemester = entityManager.persist(createSemester("2024-1", true));
+        closedExercise = createExercise(closedSemester, professor);
+        activeExercise = createExercise(activeSemester, professor);
+        entityManager.flush();
+    }
+
+    private Semester createSemester(String code, boolean active) {
+        Semester semester = new Semester();
+        semester.setCode(code);
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(active);
+        return semester;
+    }
+
+    private Exercise createExercise(Semester semester, Professor professor) {
+        Group group = new Group();
+        group.setName("G-" + semester.getCode());
+        group.setSemester(semester);
+        group = entityManager.persist(group);
+
+        Activity activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Activity " + semester.getCode());
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = entityManager.persist(activity);
+
+        Exercise exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Exercise " + semester.getCode());
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        return entityManager.persist(exercise);
+    }
+
+    private void createResolution(Exercise exercise, int points) {
+        Resolution resolution = new Resolution();
+        resolution.setStudent(student);
+        resolution.setExercise(exercise);
+        resolution.setStatus("COMPLETED");
+        resolution.setAttemptNo(resolutionRepository.findMaxAttemptNo(student.getId(), exercise.getId()) + 1);
+        resolution.setPointsAwarded(points);
+        resolution.setCode("CODE");
+        entityManager.persist(resolution);
+
+        ScoreboardEvent event = new ScoreboardEvent();
+        event.setActivity(exercise.getActivity());
+        event.setStudent(student);
+        event.setExercise(exercise);
+        event.setUser(student.getUser());
+        event.setMessage("Completed");
+        entityManager.persist(event);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should move a closed semester's rows out of the hot tables")
+    void shouldArchiveClosedSemester() {
+        // Given
+        createResolution(closedExercise, 30);
+        createResolution(activeExercise, 50);
+
+        // When
+        SemesterArchiveDto result = semesterArchiveService.archiveSemester(closedSemester);
+        entityManager.clear();
+
+        // Then
+        assertThat(result.getResolutionsArchived()).isEqualTo(1);
+        assertThat(result.getScoreboardEventsArchived()).isEqualTo(1);
+        assertThat(resolutionRepository.findSummariesByStudentId(student.getId()))
+                .extracting(ResolutionSummaryDto::getExerciseId).containsExactly(activeExercise.getId());
+        assertThat(scoreboardEventRepository.count()).isEqualTo(1);
+
+        List<ResolutionSummaryDto> archived = archivedResolutionRepository.findSummariesByStudentId(student.getId());
+        assertThat(archived).singleElement().satisfies(summary -> {
+            assertThat(summary.getExerciseId()).isEqualTo(closedExercise.getId());
+            assertThat(summary.getActivityId()).isEqualTo(closedExercise.getActivity().getId());
+            assertThat(summary.getPointsAwarded()).isEqualTo(30);
+            assertThat(summary.getHasCode()).isTrue();
+        });
+        assertThat(archivedScoreboardEventRepository.findAll()).singleElement()
+                .satisfies(event -> assertThat(event.getSemesterId()).isEqualTo(closedSemester.getId()));
+    }
+
+    @Test
+    @DisplayName("Should only delete the rows the archive run copied")
+    void shouldKeepRowsWrittenAfterTheCopy() {
+        // Given: a resolution lands between the copy and the delete of an archive run
+        createResolution(closedExercise, 30);
+        LocalDateTime archivedAt = LocalDateTime.now().withNano(0);
+        archivedResolutionRepository.copySemester(closedSemester.getId(), archivedAt);
+        archivedScoreboardEventRepository.copySemester(closedSemester.getId(), archivedAt);
+        createResolution(closedExercise, 20);
+
+        // When
+        int deletedResolutions = resolutionRepository.deleteArchived(closedSemester.getId(), archivedAt);
+        int deletedEvents = scoreboardEventRepository.deleteArchived(closedSemester.getId(), archivedAt);
+        entityManager.clear();
+
+        // Then
+        assertThat(deletedResolutions).isEqualTo(1);
+        assertThat(deletedEvents).isEqualTo(1);
+        assertThat(resolutionRepository.findSummariesByStudentId(student.getId()))
+                .extracting(ResolutionSummaryDto::getPointsAwarded).containsExactly(20);
+        assertThat(scoreboardEventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should page archived resolutions on the same (submittedAt, id) keyset as the hot table")
+    void shouldPageArchivedResolutionsByKeyset() {
+        // Given
+        createResolution(closedExercise, 30);
+        createResolution(closedExercise, 20);
+        semesterArchiveService.archiveSemester(closedSemester);
+        entityManager.clear();
+
+        // When
+        List<ResolutionSummaryDto> first = archivedResolutionRepository.findSummariesByStudentIdAfter(
+                student.getId(), LocalDateTime.of(1970, 1, 1, 0, 0), 0L, Limit.of(1));
+        ResolutionSummaryDto last = first.get(0);
+        List<ResolutionSummaryDto> second = archivedResolutionRepository.findSummariesByStudentIdAfter(
+                student.getId(), last.getSubmittedAt(), last.getId(), Limit.of(1));
+
+        // Then
+        assertThat(first).extracting(ResolutionSummaryDto::getPointsAwarded).containsExactly(30);
+        assertThat(second).extracting(ResolutionSummaryDto::getPointsAwarded).containsExactly(20);
+    }
+
+    @Test
+    @DisplayName("Should refuse to archive the active semester")
+    void shouldRejectActiveSemester() {
+        // Given
+        createResolution(activeExercise, 50);
+
+        // When / Then
+        assertThatThrownBy(() -> semesterArchiveService.archiveSemester(activeSemester))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(resolutionRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.*;
+import com.example.pensamientoComputacional.security.CustomUserDetails;
+import com.example.pensamientoComputacional.security.JwtPrincipal;
+import com.example.pensamientoComputacional.security.JwtTokenProvider;
+import com.example.pensamientoComputacional.security.StompAuthChannelInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StompAuthChannelInterceptorTest {
+
+    @Autowired
+    private StompAuthChannelInterceptor interceptor;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ActivityGroupCache activityGroupCache;
+
+    @Autowired
+    private ActivityAccessService activityAccessService;
+
+    @Autowired
+    private ProfessorAssignmentRepository professorAssignmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Professor professor;
+    private Semester semester;
+    private Group group;
+    private Activity activity;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setName("Stomp Professor");
+            user.setEmail("stomp-professor@example.com");
+            user.setPasswordHash("hashedPassword123");
+            user.setIsActive(true);
+            professor = new Professor();
+            professor.setUser(userRepository.save(user));
+            professor = professorRepository.save(professor);
+        });
+
+        semester = new Semester();
+        semester.setCode("STOMP-TEST");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = semesterRepository.save(semester);
+
+        group = new Group();
+        group.setName("STOMP-G1");
+        group.setSemester(semester);
+        group = groupRepository.save(group);
+
+        activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Stomp activity");
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = activityRepository.save(activity);
+    }
+
+    @AfterEach
+    void tearDown() {
+        professorAssignmentRepository.deleteByProfessorId(professor.getId());
+        activityGroupCache.evict(activity.getId());
+        activityRepository.deleteById(activity.getId());
+        groupRepository.delete(group);
+        semesterRepository.delete(semester);
+        professorRepository.delete(professor);
+        userRepository.deleteById(professor.getId());
+    }
+
+    // Tokens are issued for in-memory users: the interceptor never reads users from the database
+    private String tokenFor(String role, List<Long> groupIds) {
+        Role userRole = new Role();
+        userRole.setName(role);
+        User user = new User();
+        user.setId(900L);
+        user.setName("Stomp " + role);
+        user.setEmail(role.toLowerCase() + "@stomp.example.com");
+        user.getRoles().add(userRole);
+        return tokenProvider.generateToken(user, groupIds);
+    }
+
+    private Principal connect(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.addNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        interceptor.preSend(message, null);
+        return accessor.getUser();
+    }
+
+    private void subscribe(Principal user, String destination) {
+        frame(StompCommand.SUBSCRIBE, user, destination);
+    }
+
+    private void send(Principal user, String destination) {
+        frame(StompCommand.SEND, user, destination);
+    }
+
+    private void frame(StompCommand command, Principal user, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setUser(user);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+
+    @Test
+    @DisplayName("Should build the session principal from the token claims at CONNECT")
+    void shouldAuthenticateConnectFromClaims() {
+        // When
+        Principal user = connect("Bearer " + tokenFor("STUDENT", List.of(group.getId(), 77L)));
+
+        // Then
+        assertThat(user).isInstanceOf(UsernamePasswordAuthenticationToken.class);
+        UsernamePasswordAuthenticationToken authentication = (UsernamePasswordAuthenticationToken) user;
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(JwtPrincipal.class, principal -> {
+            assertThat(principal.userId()).isEqualTo(900L);
+            assertThat(principal.getName()).isEqualTo("student@stomp.example.com");
+            assertThat(principal.groupIds()).containsExactlyInAnyOrder(group.getId(), 77L);
+        });
+        assertThat(authentication.getAuthorities()).extracting("authority").contains("ROLE_STUDENT");
+    }
+
+    @Test
+    @DisplayName("Should reject CONNECT without a token, with a bad token or with a refresh token")
+    void shouldRejectInvalidConnect() {
+        // Given
+        User user = new User();
+        user.setId(900L);
+        user.setEmail("refresh@stomp.example.com");
+        String refreshToken = tokenProvider.generateRefreshToken(user);
+
+        // When / Then
+        assertThatThrownBy(() -> connect(null)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> connect("Bearer not-a-token")).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> connect("Bearer " + refreshToken)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("Should allow activity scoreboard subscriptions only to group members and admins")
+    void shouldAuthorizeSubscriptionsByGroup() {
+        // Given
+        String destination = "/topic/scoreboard/activity/" + activity.getId();
+        Principal member = connect("Bearer " + tokenFor("STUDENT", List.of(group.getId())));
+        Principal outsider = connect("Bearer " + tokenFor("STUDENT", List.of(group.getId() + 1000)));
+        Principal admin = connect("Bearer " + tokenFor("ADMIN", List.of()));
+
+        // When / Then
+        assertThatCode(() -> subscribe(member, destination)).doesNotThrowAnyException();
+        assertThatCode(() -> subscribe(admin, destination)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> subscribe(outsider, destination)).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> subscribe(null, destination)).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> subscribe(member, "/topic/scoreboard/activity/999999"))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatCode(() -> subscribe(null, "/topic/scoreboard")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should reject pattern subscriptions under the broker prefixes")
+    void shouldRejectPatternSubscriptions() {
+        // Given
+        Principal admin = connect("Bearer " + tokenFor("ADMIN", List.of()));
+        Principal member = connect("Bearer " + tokenFor("STUDENT", List.of(group.getId())));
+
+        // When / Then
+        assertThatThrownBy(() -> subscribe(member, "/topic/scoreboard/activity/*")).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> subscribe(member, "/topic/**")).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> subscribe(member, "/topic/scoreboard/activity/?")).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> subscribe(admin, "/queue/{name}")).isInstanceOf(AccessDeniedException.class);
+        assertThatCode(() -> subscribe(member, "/topic/scoreboard/activity/" + activity.getId())).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should let clients send only to application destinations")
+    void shouldDenySendToBrokerDestinations() {
+        // Given
+        Principal admin = connect("Bearer " + tokenFor("ADMIN", List.of()));
+        Principal member = connect("Bearer " + tokenFor("STUDENT", List.of(group.getId())));
+
+        // When / Then
+        assertThatThrownBy(() -> send(admin, "/topic/scoreboard/activity/" + activity.getId()))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> send(member, "/topic/scoreboard.activity." + activity.getId()))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> send(member, "/queue/anything")).isInstanceOf(AccessDeniedException.class);
+        assertThatCode(() -> send(member, "/app/anything")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should open the REST scoreboard views only to the activity's group and admins")
+    void shouldAuthorizeRestViewsByGroup() {
+        // Given
+        User professorUser = userRepository.findById(professor.getId()).orElseThrow();
+        CustomUserDetails details = new CustomUserDetails(professorUser);
+        UsernamePasswordAuthenticationToken staff =
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+        UsernamePasswordAuthenticationToken admin = new UsernamePasswordAuthenticationToken(details, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        // When
+        boolean beforeAssignment = activityAccessService.canView(staff, activity.getId());
+        ProfessorAssignment assignment = new ProfessorAssignment();
+        assignment.setProfessor(professor);
+        assignment.setGroup(group);
+        assignment.setSemester(semester);
+        professorAssignmentRepository.save(assignment);
+
+        // Then
+        assertThat(beforeAssignment).isFalse();
+        assertThat(activityAccessService.canView(staff, activity.getId())).isTrue();
+        assertThat(activityAccessService.canView(admin, activity.getId())).isTrue();
+        assertThat(activityAccessService.canView(null, activity.getId())).isFalse();
+        assertThat(activityAccessService.canView(staff, 999_999L)).isTrue(); // Left to the endpoint's 404
+    }
+
+    @Test
+    @DisplayName("Should serve the activity group from memory until the activity is evicted")
+    void shouldCacheActivityGroups() {
+        // Given
+        Long activityId = activity.getId();
+        assertThat(activityGroupCache.getGroupId(activityId)).contains(group.getId());
+
+        // When: the row goes away without going through the controller
+        activityRepository.deleteById(activityId);
+        boolean cached = activityGroupCache.getGroupId(activityId).isPresent();
+        activityGroupCache.evict(activityId);
+
+        // Then
+        assertThat(cached).isTrue();
+        assertThat(activityGroupCache.getGroupId(activityId)).isEmpty();
+    }
+}
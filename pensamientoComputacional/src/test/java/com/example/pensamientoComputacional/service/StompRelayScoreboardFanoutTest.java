@@ -0,0 +1,179 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.service.impl.StompRelayScoreboardFanout;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+// This application's own STOMP endpoint and simple broker stand in for the external broker,
+// which the relay connects to with broker credentials rather than a user token and sends to directly
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.websocket.allow-anonymous=true", "app.websocket.allow-broker-send=true"})
+@ActiveProfiles("test")
+class StompRelayScoreboardFanoutTest {
+
+    private static final String ACTIVITY_7 = "/topic/scoreboard/activity/7";
+    private static final String ACTIVITY_8 = "/topic/scoreboard/activity/8";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebSocketMetrics brokerMetrics;
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        String relayUrl = "ws://localhost:" + port + "/ws/websocket";
+        nodeA = new Node(relayUrl);
+        nodeB = new Node(relayUrl);
+        awaitConnected(nodeA.fanout);
+        awaitConnected(nodeB.fanout);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.fanout.stop();
+        nodeB.fanout.stop();
+    }
+
+    private final class Node {
+        private final List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+        private final WebSocketSubscriptionRegistry subscriptions = new WebSocketSubscriptionRegistry();
+        private final StompRelayScoreboardFanout fanout;
+
+        private Node(String relayUrl) {
+            SimpMessagingTemplate local = new SimpMessagingTemplate((message, timeout) -> delivered.add(message));
+            fanout = new StompRelayScoreboardFanout(local, subscriptions, objectMapper, relayUrl, "", "", 100);
+            fanout.start();
+        }
+
+        private List<String> bodiesFor(String destination) {
+            return delivered.stream()
+                    .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                    .map(message -> new String((byte[]) message.getPayload(), StandardCharsets.UTF_8))
+                    .toList();
+        }
+    }
+
+    private static void awaitConnected(StompRelayScoreboardFanout fanout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!fanout.isConnected() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(fanout.isConnected()).isTrue();
+    }
+
+    private static SessionSubscribeEvent subscribe(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return new SessionSubscribeEvent(StompRelayScoreboardFanoutTest.class,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        return new SessionDisconnectEvent(StompRelayScoreboardFanoutTest.class,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), sessionId, CloseStatus.NORMAL);
+    }
+
+    // The relay subscription is asynchronous: publish until the first message makes it through
+    private void awaitRelayed(String destination) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (nodeB.bodiesFor(destination).isEmpty() && System.currentTimeMillis() < deadline) {
+            nodeA.fanout.publish(destination, Map.of("probe", true));
+            Thread.sleep(100);
+        }
+        assertThat(nodeB.bodiesFor(destination)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Should deliver a message published on one node to subscribers on another")
+    void shouldFanOutAcrossNodes() throws InterruptedException {
+        // Given
+        nodeB.subscriptions.onSubscribe(subscribe("session-1", "sub-1", ACTIVITY_7));
+        awaitRelayed(ACTIVITY_7);
+
+        // When
+        nodeA.fanout.publish(ACTIVITY_7, Map.of("seq", 42));
+        Thread.sleep(300);
+
+        // Then
+        assertThat(nodeB.bodiesFor(ACTIVITY_7)).contains("{\"seq\":42}");
+        assertThat(nodeA.delivered).isEmpty(); // No local subscribers, so the broker sends nothing back
+        assertThat(brokerMetrics.getSnapshot()).satisfies(metrics -> {
+            assertThat(metrics.getActiveSessions()).isGreaterThanOrEqualTo(2);
+            assertThat(metrics.getSubscriptionsByDestination()).containsEntry("/topic/scoreboard.activity.7", 1);
+            assertThat(metrics.getMessagesDelivered()).isPositive();
+        });
+    }
+
+    @Test
+    @DisplayName("Should only receive topics that local sessions subscribe to")
+    void shouldForwardOnlySubscribedTopics() throws InterruptedException {
+        // Given
+        nodeB.subscriptions.onSubscribe(subscribe("session-1", "sub-1", ACTIVITY_7));
+        awaitRelayed(ACTIVITY_7);
+
+        // When
+        nodeA.fanout.publish(ACTIVITY_8, Map.of("seq", 1));
+        Thread.sleep(300);
+        nodeB.subscriptions.onDisconnect(disconnect("session-1"));
+        Thread.sleep(300);
+        int before = nodeB.delivered.size();
+        nodeA.fanout.publish(ACTIVITY_7, Map.of("seq", 2));
+        Thread.sleep(300);
+
+        // Then
+        assertThat(nodeB.bodiesFor(ACTIVITY_8)).isEmpty();
+        assertThat(nodeB.delivered).hasSize(before);
+    }
+
+    @Test
+    @DisplayName("Should deliver to local subscribers while the relay is unreachable")
+    void shouldDeliverLocallyWithoutRelay() {
+        // Given
+        Node isolated = new Node("ws://localhost:1/ws/websocket");
+
+        try {
+            // When
+            isolated.fanout.publish(ACTIVITY_7, Map.of("seq", 1));
+
+            // Then
+            assertThat(isolated.fanout.isConnected()).isFalse();
+            assertThat(isolated.bodiesFor(ACTIVITY_7)).containsExactly("{\"seq\":1}");
+        } finally {
+            isolated.fanout.stop();
+        }
+    }
+}
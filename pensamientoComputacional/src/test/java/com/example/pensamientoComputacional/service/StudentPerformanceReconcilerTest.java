@@ -0,0 +1,206 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.ReconciliationRunDto;
+import com.example.pensamientoComputacional.model.entities.*;
+import com.example.pensamientoComputacional.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Not @Transactional: rebuild chunks commit on pool threads; the scheduled pass is pushed out of the way
+@SpringBootTest(properties = {
+        "app.reconciler.settle-ms=0",
+        "app.reconciler.initial-delay-ms=3600000",
+        "app.reconciler.interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class StudentPerformanceReconcilerTest {
+
+    @Autowired
+    private StudentPerformanceReconciler reconciler;
+
+    @Autowired
+    private StudentPerformanceService studentPerformanceService;
+
+    @Autowired
+    private StudentPerformanceRepository studentPerformanceRepository;
+
+    @Autowired
+    private ResolutionRepository resolutionRepository;
+
+    @Autowired
+    private ReconciliationWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ProfessorRepository professorRepository;
+
+    @Autowired
+    private SemesterRepository semesterRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Student student;
+    private Professor professor;
+    private Semester semester;
+    private Group group;
+    private Activity activity;
+    private Exercise exercise;
+    private Resolution resolution;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            student = new Student();
+            student.setUser(userRepository.save(createUser("reconciler-student@example.com")));
+            student = studentRepository.save(student);
+
+            professor = new Professor();
+            professor.setUser(userRepository.save(createUser("reconciler-professor@example.com")));
+            professor = professorRepository.save(professor);
+        });
+
+        semester = new Semester();
+        semester.setCode("RECONCILER-TEST");
+        semester.setStartDate(LocalDate.now());
+        semester.setEndDate(LocalDate.now().plusMonths(4));
+        semester.setIsActive(true);
+        semester = semesterRepository.save(semester);
+
+        group = new Group();
+        group.setName("RECONCILER-G1");
+        group.setSemester(semester);
+        group = groupRepository.save(group);
+
+        activity = new Activity();
+        activity.setGroup(group);
+        activity.setProfessor(professor);
+        activity.setTitle("Reconciler activity");
+        activity.setStartTime(LocalDateTime.now());
+        activity.setEndTime(LocalDateTime.now().plusHours(2));
+        activity.setStatus("ACTIVE");
+        activity = activityRepository.save(activity);
+
+        exercise = new Exercise();
+        exercise.setActivity(activity);
+        exercise.setTitle("Reconciler exercise");
+        exercise.setStatement("Statement");
+        exercise.setDifficulty(1);
+        exercise.setMaxPoints(100);
+        exercise = exerciseRepository.save(exercise);
+
+        resolution = new Resolution();
+        resolution.setStudent(student);
+        resolution.setExercise(exercise);
+        resolution.setStatus("COMPLETED");
+        resolution.setAttemptNo(1);
+        resolution.setPointsAwarded(40);
+        resolution.setCode("CODE");
+        resolution = resolutionRepository.save(resolution);
+        studentPerformanceService.addPoints(student.getId(), 40);
+
+        // Start every test from a watermark past the rows above
+        reconciler.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            StudentPerformance performance = studentPerformanceRepository.findByStudent(student);
+            if (performance != null) {
+                studentPerformanceRepository.delete(performance);
+            }
+        });
+        resolutionRepository.deleteAll(resolutionRepository.findByStudentId(student.getId()));
+        watermarkRepository.deleteById(StudentPerformanceReconciler.WATERMARK);
+        exerciseRepository.delete(exercise);
+        activityRepository.delete(activity);
+        groupRepository.delete(group);
+        semesterRepository.delete(semester);
+        studentRepository.delete(student);
+        professorRepository.delete(professor);
+        userRepository.deleteById(student.getId());
+        userRepository.deleteById(professor.getId());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setName("Reconciler User");
+        user.setEmail(email);
+        user.setPasswordHash("hashedPassword123");
+        user.setIsActive(true);
+        return user;
+    }
+
+    private int storedTotal() {
+        return studentPerformanceRepository.findByStudent(student).getTotalPoints();
+    }
+
+    @Test
+    @DisplayName("Should repair only the students whose resolutions changed since the watermark")
+    void shouldRepairEditedResolution() {
+        // Given
+        resolution.setPointsAwarded(70);
+        resolution = resolutionRepository.save(resolution);
+
+        // When
+        ReconciliationRunDto run = reconciler.reconcile();
+        ReconciliationRunDto idle = reconciler.reconcile();
+
+        // Then
+        assertThat(run.getResolutionsScanned()).isEqualTo(1);
+        assertThat(run.getStudentsRepaired()).isEqualTo(1);
+        assertThat(run.getDriftPoints()).isEqualTo(30);
+        assertThat(idle.getResolutionsScanned()).isZero();
+        assertThat(storedTotal()).isEqualTo(70);
+        assertThat(reconciler.getStats().getWatermarkId()).isEqualTo(resolution.getId());
+    }
+
+    @Test
+    @DisplayName("Should fix drift the watermark cannot see with a full rebuild")
+    void shouldRepairDriftOnFullRebuild() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            StudentPerformance performance = studentPerformanceRepository.findByStudent(student);
+            performance.setTotalPoints(999);
+            performance.setCategory("pro");
+        });
+
+        // When
+        ReconciliationRunDto incremental = reconciler.reconcile();
+        ReconciliationRunDto full = reconciler.rebuildAll().orElseThrow();
+
+        // Then
+        assertThat(incremental.getStudentsRepaired()).isZero();
+        assertThat(full.getMode()).isEqualTo(ReconciliationRunDto.FULL);
+        assertThat(full.getStudentsRepaired()).isGreaterThanOrEqualTo(1);
+        StudentPerformance performance = studentPerformanceRepository.findByStudent(student);
+        assertThat(performance.getTotalPoints()).isEqualTo(40);
+        assertThat(performance.getCategory()).isEqualTo("principiante");
+    }
+}
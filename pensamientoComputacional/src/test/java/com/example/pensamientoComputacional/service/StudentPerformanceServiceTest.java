@@ -0,0 +1,117 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.entities.Student;
+import com.example.pensamientoComputacional.model.entities.StudentPerformance;
+import com.example.pensamientoComputacional.model.entities.User;
+import com.example.pensamientoComputacional.repository.StudentPerformanceRepository;
+import com.example.pensamientoComputacional.repository.StudentRepository;
+import com.example.pensamientoComputacional.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Not @Transactional: concurrent increments must commit independently
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentPerformanceServiceTest {
+
+    private static final int VALIDATIONS = 100;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private StudentPerformanceService studentPerformanceService;
+
+    @Autowired
+    private StudentPerformanceRepository studentPerformanceRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setName("Performance Student");
+            user.setEmail("performance-student@example.com");
+            user.setPasswordHash("hashedPassword123");
+            user.setIsActive(true);
+
+            student = new Student();
+            student.setUser(userRepository.save(user));
+            student = studentRepository.save(student);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            StudentPerformance performance = studentPerformanceRepository.findByStudent(student);
+            if (performance != null) {
+                studentPerformanceRepository.delete(performance);
+            }
+        });
+        studentRepository.deleteById(student.getId());
+        userRepository.deleteById(student.getId());
+    }
+
+    @Test
+    @DisplayName("Should not lose points when the same student is credited concurrently")
+    void shouldAccumulatePointsWithoutLostUpdates() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < VALIDATIONS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return studentPerformanceService.addPoints(student.getId(), 5);
+            }));
+        }
+
+        // When
+        start.countDown();
+        List<Integer> totals = new ArrayList<>();
+        for (Future<Integer> future : futures) {
+            totals.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(totals).doesNotHaveDuplicates().contains(VALIDATIONS * 5);
+        StudentPerformance performance = studentPerformanceRepository.findByStudent(student);
+        assertThat(performance.getTotalPoints()).isEqualTo(VALIDATIONS * 5);
+        assertThat(performance.getCategory()).isEqualTo("pro");
+    }
+
+    @Test
+    @DisplayName("Should create the performance row on first credit and re-tier on the way up")
+    void shouldCreateRowAndRecomputeCategory() {
+        // When
+        int first = studentPerformanceService.addPoints(student.getId(), 100);
+        int second = studentPerformanceService.addPoints(student.getId(), 200);
+
+        // Then
+        assertThat(first).isEqualTo(100);
+        assertThat(second).isEqualTo(300);
+        assertThat(studentPerformanceRepository.findByStudent(student).getCategory()).isEqualTo("killer");
+    }
+}
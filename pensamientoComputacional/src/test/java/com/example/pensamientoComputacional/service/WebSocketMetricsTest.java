@@ -0,0 +1,120 @@
+package com.example.pensamientoComputacional.service;
+
+import com.example.pensamientoComputacional.model.dto.WebSocketMetricsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WebSocketMetricsTest {
+
+    private WebSocketSubscriptionRegistry registry;
+    private WebSocketMetrics metrics;
+    private List<String> transitions;
+
+    @BeforeEach
+    void setUp() {
+        registry = new WebSocketSubscriptionRegistry();
+        metrics = new WebSocketMetrics(registry);
+        transitions = new ArrayList<>();
+        registry.addListener(new WebSocketSubscriptionRegistry.Listener() {
+            @Override
+            public void firstSubscribed(String destination) {
+                transitions.add("+" + destination);
+            }
+
+            @Override
+            public void lastUnsubscribed(String destination) {
+                transitions.add("-" + destination);
+            }
+        });
+    }
+
+    private static StompHeaderAccessor headers(StompCommand command, String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return accessor;
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = headers(StompCommand.SUBSCRIBE, sessionId, subscriptionId);
+        accessor.setDestination(destination);
+        registry.onSubscribe(new SessionSubscribeEvent(this,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+    }
+
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = headers(StompCommand.UNSUBSCRIBE, sessionId, subscriptionId);
+        registry.onUnsubscribe(new SessionUnsubscribeEvent(this,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+    }
+
+    private void disconnect(String sessionId) {
+        StompHeaderAccessor accessor = headers(StompCommand.DISCONNECT, sessionId, null);
+        registry.onDisconnect(new SessionDisconnectEvent(this,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), sessionId, CloseStatus.NORMAL));
+    }
+
+    @Test
+    @DisplayName("Should count subscriptions per destination and report the first and last subscriber")
+    void shouldTrackSubscriptions() {
+        // When
+        subscribe("s1", "a", "/topic/scoreboard/activity/1");
+        subscribe("s2", "a", "/topic/scoreboard/activity/1");
+        subscribe("s2", "b", "/topic/scoreboard/activity/2");
+        WebSocketMetricsDto during = metrics.getSnapshot();
+        unsubscribe("s1", "a");
+        disconnect("s2");
+
+        // Then
+        assertThat(during.getActiveSessions()).isEqualTo(2);
+        assertThat(during.getSubscriptionsByDestination())
+                .containsEntry("/topic/scoreboard/activity/1", 2)
+                .containsEntry("/topic/scoreboard/activity/2", 1);
+        assertThat(transitions).containsExactly("+/topic/scoreboard/activity/1", "+/topic/scoreboard/activity/2",
+                "-/topic/scoreboard/activity/1", "-/topic/scoreboard/activity/2");
+        assertThat(metrics.getSnapshot().getSubscriptionsByDestination()).isEmpty();
+        assertThat(metrics.getSnapshot().getActiveSessions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report messages waiting for the outbound executor and their delivery latency")
+    void shouldMeasureOutboundQueue() {
+        // Given: an executor that only runs tasks when told to
+        List<Runnable> pending = new ArrayList<>();
+        ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(pending::add);
+        outbound.addInterceptor(metrics.outboundInterceptor());
+        outbound.subscribe(message -> { });
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination("/topic/scoreboard/activity/1");
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            outbound.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+        long queued = metrics.getSnapshot().getOutboundExecutorQueued();
+        pending.forEach(Runnable::run);
+
+        // Then
+        assertThat(queued).isEqualTo(3);
+        WebSocketMetricsDto after = metrics.getSnapshot();
+        assertThat(after.getOutboundExecutorQueued()).isZero();
+        assertThat(after.getMessagesDelivered()).isEqualTo(3);
+        assertThat(after.getFanOutLatencyMaxMs()).isGreaterThanOrEqualTo(after.getFanOutLatencyAvgMs());
+    }
+}